@@ -17,18 +17,21 @@
 package org.cloudfoundry.reactor.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.netty.buffer.ByteBuf;
 import org.cloudfoundry.client.v2.CloudFoundryException;
+import org.cloudfoundry.reactor.util.HttpStatusException;
 import org.springframework.web.client.HttpStatusCodeException;
 import reactor.core.publisher.Mono;
 import reactor.core.util.Exceptions;
-import reactor.io.netty.http.HttpException;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Map;
 
 public final class CloudFoundryExceptionBuilder {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectReader READER = new ObjectMapper().readerFor(Map.class);
 
     private CloudFoundryExceptionBuilder() {
     }
@@ -42,7 +45,7 @@ public final class CloudFoundryExceptionBuilder {
     @SuppressWarnings("unchecked")
     public static CloudFoundryException build(HttpStatusCodeException cause) {  // TODO: Remove once Reactor migration complete
         try {
-            Map<String, ?> response = OBJECT_MAPPER.readValue(cause.getResponseBodyAsString(), Map.class);
+            Map<String, ?> response = READER.readValue(cause.getResponseBodyAsString());
             Integer code = (Integer) response.get("code");
             String description = (String) response.get("description");
             String errorCode = (String) response.get("error_code");
@@ -54,18 +57,19 @@ public final class CloudFoundryExceptionBuilder {
     }
 
     /**
-     * Build a {@link CloudFoundryException} from an {@link HttpException}
+     * Build a {@link CloudFoundryException} from an {@link HttpStatusException}
      *
      * @param cause the cause
      * @param <T>   The type of the {@link Mono}
      * @return a {@link Mono#error} with a properly configured {@link CloudFoundryException}
      */
     @SuppressWarnings("unchecked")
-    public static <T> Mono<T> build(HttpException cause) {
-        return cause.getChannel().receive().aggregate().toInputStream()
-            .then(in -> {
+    public static <T> Mono<T> build(HttpStatusException cause) {
+        return cause.getResponse().getBody()
+            .collect(ByteArrayOutputStream::new, CloudFoundryExceptionBuilder::addChunk)
+            .then(body -> {
                 try {
-                    Map<String, ?> response = OBJECT_MAPPER.readValue(in, Map.class);
+                    Map<String, ?> response = READER.readValue(body.toByteArray());
                     Integer code = (Integer) response.get("code");
                     String description = (String) response.get("description");
                     String errorCode = (String) response.get("error_code");
@@ -77,4 +81,10 @@ public final class CloudFoundryExceptionBuilder {
             });
     }
 
+    private static void addChunk(ByteArrayOutputStream body, ByteBuf chunk) {
+        byte[] bytes = new byte[chunk.readableBytes()];
+        chunk.getBytes(chunk.readerIndex(), bytes);
+        body.write(bytes, 0, bytes.length);
+    }
+
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.client;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * An accessor for a no-argument method, resolved once to a {@link MethodHandle} so that invoking it does not pay for access checks and argument boxing on every call
+ */
+public final class MethodAccessor {
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    private final MethodHandle handle;
+
+    private MethodAccessor(MethodHandle handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * Creates a new accessor for a method
+     *
+     * @param method the method to access.  Must not take any arguments.
+     * @return the accessor
+     */
+    public static MethodAccessor of(Method method) {
+        ReflectionUtils.makeAccessible(method);
+
+        try {
+            return new MethodAccessor(MethodHandles.lookup().unreflect(method).asType(GETTER));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(String.format("Unable to access method %s", method), e);
+        }
+    }
+
+    /**
+     * Invokes the method on an instance
+     *
+     * @param instance the instance to invoke the method on
+     * @return the value returned by the method
+     */
+    public Object invoke(Object instance) {
+        try {
+            return this.handle.invokeExact(instance);
+        } catch (Throwable t) {
+            ReflectionUtils.rethrowRuntimeException(t);
+            return null;
+        }
+    }
+
+}
@@ -21,70 +21,76 @@ import org.cloudfoundry.reactor.client.CloudFoundryExceptionBuilder;
 import org.cloudfoundry.reactor.client.QueryBuilder;
 import org.cloudfoundry.reactor.util.AbstractReactorOperations;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
+import org.cloudfoundry.reactor.util.HttpStatusException;
 import org.cloudfoundry.reactor.util.MultipartHttpClientRequest;
+import org.cloudfoundry.reactor.util.TransportRequest;
+import org.cloudfoundry.reactor.util.TransportResponse;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 import reactor.io.netty.http.HttpClient;
-import reactor.io.netty.http.HttpClientRequest;
-import reactor.io.netty.http.HttpClientResponse;
-import reactor.io.netty.http.HttpException;
 
 import java.util.function.Function;
 
 public abstract class AbstractClientV2Operations extends AbstractReactorOperations {
 
-    private final ObjectMapper objectMapper;
+    protected AbstractClientV2Operations(ConnectionContext connectionContext, Mono<String> root) {
+        super(connectionContext, root);
+    }
 
+    /**
+     * @deprecated use {@link #AbstractClientV2Operations(ConnectionContext, Mono)}
+     */
+    @Deprecated
     protected AbstractClientV2Operations(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
         super(authorizationProvider, httpClient, objectMapper, root);
-        this.objectMapper = objectMapper;
     }
 
     protected final <T> Mono<T> delete(Object request, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
         return doDelete(request, responseType, getUriAugmenter(request, uriTransformer), outbound -> outbound)
-            .otherwise(HttpException.class, CloudFoundryExceptionBuilder::build);
+            .otherwise(HttpStatusException.class, CloudFoundryExceptionBuilder::build);
     }
 
     protected final <T> Mono<T> get(Object request, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
         return doGet(responseType, getUriAugmenter(request, uriTransformer), outbound -> outbound)
-            .otherwise(HttpException.class, CloudFoundryExceptionBuilder::build);
+            .otherwise(HttpStatusException.class, CloudFoundryExceptionBuilder::build);
     }
 
-    protected final Mono<HttpClientResponse> get(Object request, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
+    protected final Mono<TransportResponse> get(Object request, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
         return get(request, uriTransformer, outbound -> outbound);
     }
 
-    protected final Mono<HttpClientResponse> get(Object request, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
-                                                 Function<HttpClientRequest, HttpClientRequest> requestTransformer) {
+    protected final Mono<TransportResponse> get(Object request, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
+                                                 Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
 
         return doGet(getUriAugmenter(request, uriTransformer), requestTransformer)
-            .otherwise(HttpException.class, CloudFoundryExceptionBuilder::build);
+            .otherwise(HttpStatusException.class, CloudFoundryExceptionBuilder::build);
     }
 
     protected final <T> Mono<T> post(Object request, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
         return doPost(request, responseType, getUriAugmenter(request, uriTransformer), outbound -> outbound)
-            .otherwise(HttpException.class, CloudFoundryExceptionBuilder::build);
+            .otherwise(HttpStatusException.class, CloudFoundryExceptionBuilder::build);
     }
 
     protected final <T> Mono<T> post(Object request, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
-                                     Function<MultipartHttpClientRequest, Mono<Void>> requestTransformer) {
+                                     Function<MultipartHttpClientRequest, TransportRequest.Builder> requestTransformer) {
 
         return doPost(responseType, getUriAugmenter(request, uriTransformer),
-            outbound -> requestTransformer.apply(new MultipartHttpClientRequest(this.objectMapper, outbound)))
-            .otherwise(HttpException.class, CloudFoundryExceptionBuilder::build);
+            outbound -> requestTransformer.apply(new MultipartHttpClientRequest(getCodecRegistry(), outbound)))
+            .otherwise(HttpStatusException.class, CloudFoundryExceptionBuilder::build);
     }
 
     protected final <T> Mono<T> put(Object request, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
         return doPut(request, responseType, getUriAugmenter(request, uriTransformer), outbound -> outbound)
-            .otherwise(HttpException.class, CloudFoundryExceptionBuilder::build);
+            .otherwise(HttpStatusException.class, CloudFoundryExceptionBuilder::build);
     }
 
     protected final <T> Mono<T> put(Object request, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
-                                    Function<MultipartHttpClientRequest, Mono<Void>> requestTransformer) {
+                                    Function<MultipartHttpClientRequest, TransportRequest.Builder> requestTransformer) {
 
         return doPut(responseType, getUriAugmenter(request, uriTransformer),
-            outbound -> requestTransformer.apply(new MultipartHttpClientRequest(this.objectMapper, outbound)))
-            .otherwise(HttpException.class, CloudFoundryExceptionBuilder::build);
+            outbound -> requestTransformer.apply(new MultipartHttpClientRequest(getCodecRegistry(), outbound)))
+            .otherwise(HttpStatusException.class, CloudFoundryExceptionBuilder::build);
     }
 
     private static Function<UriComponentsBuilder, UriComponentsBuilder> getUriAugmenter(Object request, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
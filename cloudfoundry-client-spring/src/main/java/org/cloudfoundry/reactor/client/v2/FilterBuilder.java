@@ -17,6 +17,7 @@
 package org.cloudfoundry.reactor.client.v2;
 
 import org.cloudfoundry.client.v2.FilterParameter;
+import org.cloudfoundry.reactor.client.MethodAccessor;
 import org.cloudfoundry.reactor.client.MethodNameComparator;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.util.ObjectUtils;
@@ -26,8 +27,10 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -36,6 +39,15 @@ import java.util.stream.Collectors;
  */
 final class FilterBuilder {
 
+    private static final ClassValue<List<Filter>> FILTERS = new ClassValue<List<Filter>>() {
+
+        @Override
+        protected List<Filter> computeValue(Class<?> type) {
+            return getFilters(type);
+        }
+
+    };
+
     private FilterBuilder() {
     }
 
@@ -46,33 +58,40 @@ final class FilterBuilder {
      * @param instance the instance to inspect and invoke
      */
     public static void augment(UriComponentsBuilder builder, Object instance) {
-        Method[] methods = ReflectionUtils.getAllDeclaredMethods(instance.getClass());
+        for (Filter filter : FILTERS.get(instance.getClass())) {
+            Object value = getValue(filter.accessor, instance);
+
+            if (value != null) {
+                builder.queryParam("q", filter.prefix + value);
+            }
+        }
+    }
+
+    private static List<Filter> getFilters(Class<?> type) {
+        Method[] methods = ReflectionUtils.getAllDeclaredMethods(type);
         Arrays.sort(methods, MethodNameComparator.INSTANCE);
 
+        List<Filter> filters = new ArrayList<>();
         for (Method method : methods) {
             for (Annotation annotation : AnnotationUtils.getAnnotations(method)) {
                 if (AnnotationUtils.isAnnotationMetaPresent(annotation.getClass(), FilterParameter.class)) {
-                    Object value = getValue(method, instance);
-
-                    if (value != null) {
-                        FilterParameter filterParameter = AnnotationUtils.getAnnotation(annotation, FilterParameter.class);
+                    FilterParameter filterParameter = AnnotationUtils.getAnnotation(annotation, FilterParameter.class);
 
-                        Object name = AnnotationUtils.getValue(annotation);
-                        String operation = filterParameter.operator();
-
-                        builder.queryParam("q", String.format("%s%s%s", name, operation, value));
-                    }
+                    Object name = AnnotationUtils.getValue(annotation);
+                    String operation = filterParameter.operator();
 
+                    filters.add(new Filter(MethodAccessor.of(method), String.valueOf(name) + operation));
                     break;
                 }
             }
         }
+
+        return Collections.unmodifiableList(filters);
     }
 
     @SuppressWarnings("unchecked")
-    private static Object getValue(Method method, Object instance) {
-        ReflectionUtils.makeAccessible(method);
-        Object value = ReflectionUtils.invokeMethod(method, instance);
+    private static Object getValue(MethodAccessor accessor, Object instance) {
+        Object value = accessor.invoke(instance);
 
         if (!(value instanceof Collection)) {
             return value;
@@ -89,4 +108,17 @@ final class FilterBuilder {
         return StringUtils.collectionToCommaDelimitedString(collection);
     }
 
+    private static final class Filter {
+
+        private final MethodAccessor accessor;
+
+        private final String prefix;
+
+        private Filter(MethodAccessor accessor, String prefix) {
+            this.accessor = accessor;
+            this.prefix = prefix;
+        }
+
+    }
+
 }
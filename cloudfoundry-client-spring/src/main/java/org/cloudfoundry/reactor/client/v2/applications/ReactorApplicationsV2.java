@@ -54,17 +54,27 @@ import org.cloudfoundry.client.v2.applications.UploadApplicationRequest;
 import org.cloudfoundry.client.v2.applications.UploadApplicationResponse;
 import org.cloudfoundry.reactor.client.v2.AbstractClientV2Operations;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
+import org.cloudfoundry.reactor.util.TransportResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.io.netty.http.HttpClient;
-import reactor.io.netty.http.HttpClientRequest;
-import reactor.io.netty.http.HttpClientResponse;
 
 /**
  * The Reactor-based implementation of {@link ApplicationsV2}
  */
 public final class ReactorApplicationsV2 extends AbstractClientV2Operations implements ApplicationsV2 {
 
+    /**
+     * Creates an instance
+     *
+     * @param connectionContext the {@link ConnectionContext} to use when communicating with the server
+     * @param root              the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     */
+    public ReactorApplicationsV2(ConnectionContext connectionContext, Mono<String> root) {
+        super(connectionContext, root);
+    }
+
     /**
      * Creates an instance
      *
@@ -72,7 +82,9 @@ public final class ReactorApplicationsV2 extends AbstractClientV2Operations impl
      * @param httpClient            the {@link HttpClient} to use when communicating with the server
      * @param objectMapper          the {@link ObjectMapper} to use when communicating with the server
      * @param root                  the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     * @deprecated use {@link #ReactorApplicationsV2(ConnectionContext, Mono)}
      */
+    @Deprecated
     public ReactorApplicationsV2(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
         super(authorizationProvider, httpClient, objectMapper, root);
     }
@@ -99,14 +111,14 @@ public final class ReactorApplicationsV2 extends AbstractClientV2Operations impl
 
     @Override
     public Flux<byte[]> download(DownloadApplicationRequest request) {
-        return get(request, builder -> builder.pathSegment("v2", "apps", request.getApplicationId(), "download"), HttpClientRequest::followRedirect)
-            .flatMap(HttpClientResponse::receiveByteArray);
+        return get(request, builder -> builder.pathSegment("v2", "apps", request.getApplicationId(), "download"), outbound -> outbound.followRedirect(true))
+            .flatMap(TransportResponse::getBodyAsByteArrays);
     }
 
     @Override
     public Flux<byte[]> downloadDroplet(DownloadApplicationDropletRequest request) {
-        return get(request, builder -> builder.pathSegment("v2", "apps", request.getApplicationId(), "droplet", "download"), HttpClientRequest::followRedirect)
-            .flatMap(HttpClientResponse::receiveByteArray);
+        return get(request, builder -> builder.pathSegment("v2", "apps", request.getApplicationId(), "droplet", "download"), outbound -> outbound.followRedirect(true))
+            .flatMap(TransportResponse::getBodyAsByteArrays);
     }
 
     @Override
@@ -25,6 +25,7 @@ import org.cloudfoundry.client.v2.applicationusageevents.ListApplicationUsageEve
 import org.cloudfoundry.client.v2.applicationusageevents.PurgeAndReseedApplicationUsageEventsRequest;
 import org.cloudfoundry.reactor.client.v2.AbstractClientV2Operations;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
 import reactor.core.publisher.Mono;
 import reactor.io.netty.http.HttpClient;
 
@@ -33,6 +34,16 @@ import reactor.io.netty.http.HttpClient;
  */
 public final class ReactorApplicationUsageEvents extends AbstractClientV2Operations implements ApplicationUsageEvents {
 
+    /**
+     * Creates an instance
+     *
+     * @param connectionContext the {@link ConnectionContext} to use when communicating with the server
+     * @param root              the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     */
+    public ReactorApplicationUsageEvents(ConnectionContext connectionContext, Mono<String> root) {
+        super(connectionContext, root);
+    }
+
     /**
      * Creates an instance
      *
@@ -40,7 +51,9 @@ public final class ReactorApplicationUsageEvents extends AbstractClientV2Operati
      * @param httpClient            the {@link HttpClient} to use when communicating with the server
      * @param objectMapper          the {@link ObjectMapper} to use when communicating with the server
      * @param root                  the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     * @deprecated use {@link #ReactorApplicationUsageEvents(ConnectionContext, Mono)}
      */
+    @Deprecated
     public ReactorApplicationUsageEvents(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
         super(authorizationProvider, httpClient, objectMapper, root);
     }
@@ -32,6 +32,7 @@ import org.cloudfoundry.client.v2.buildpacks.UploadBuildpackRequest;
 import org.cloudfoundry.client.v2.buildpacks.UploadBuildpackResponse;
 import org.cloudfoundry.reactor.client.v2.AbstractClientV2Operations;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
 import reactor.core.publisher.Mono;
 import reactor.io.netty.http.HttpClient;
 
@@ -40,6 +41,16 @@ import reactor.io.netty.http.HttpClient;
  */
 public final class ReactorBuildpacks extends AbstractClientV2Operations implements Buildpacks {
 
+    /**
+     * Creates an instance
+     *
+     * @param connectionContext the {@link ConnectionContext} to use when communicating with the server
+     * @param root              the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     */
+    public ReactorBuildpacks(ConnectionContext connectionContext, Mono<String> root) {
+        super(connectionContext, root);
+    }
+
     /**
      * Creates an instance
      *
@@ -47,7 +58,9 @@ public final class ReactorBuildpacks extends AbstractClientV2Operations implemen
      * @param httpClient            the {@link HttpClient} to use when communicating with the server
      * @param objectMapper          the {@link ObjectMapper} to use when communicating with the server
      * @param root                  the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     * @deprecated use {@link #ReactorBuildpacks(ConnectionContext, Mono)}
      */
+    @Deprecated
     public ReactorBuildpacks(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
         super(authorizationProvider, httpClient, objectMapper, root);
     }
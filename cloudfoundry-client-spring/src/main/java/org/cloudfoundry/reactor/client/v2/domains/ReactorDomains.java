@@ -30,6 +30,7 @@ import org.cloudfoundry.client.v2.domains.ListDomainsRequest;
 import org.cloudfoundry.client.v2.domains.ListDomainsResponse;
 import org.cloudfoundry.reactor.client.v2.AbstractClientV2Operations;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
 import reactor.core.publisher.Mono;
 import reactor.io.netty.http.HttpClient;
 
@@ -38,6 +39,16 @@ import reactor.io.netty.http.HttpClient;
  */
 public final class ReactorDomains extends AbstractClientV2Operations implements Domains {
 
+    /**
+     * Creates an instance
+     *
+     * @param connectionContext the {@link ConnectionContext} to use when communicating with the server
+     * @param root              the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     */
+    public ReactorDomains(ConnectionContext connectionContext, Mono<String> root) {
+        super(connectionContext, root);
+    }
+
     /**
      * Creates an instance
      *
@@ -45,7 +56,9 @@ public final class ReactorDomains extends AbstractClientV2Operations implements
      * @param httpClient            the {@link HttpClient} to use when communicating with the server
      * @param objectMapper          the {@link ObjectMapper} to use when communicating with the server
      * @param root                  the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     * @deprecated use {@link #ReactorDomains(ConnectionContext, Mono)}
      */
+    @Deprecated
     public ReactorDomains(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
         super(authorizationProvider, httpClient, objectMapper, root);
     }
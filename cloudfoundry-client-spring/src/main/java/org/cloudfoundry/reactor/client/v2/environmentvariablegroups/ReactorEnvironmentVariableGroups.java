@@ -28,6 +28,7 @@ import org.cloudfoundry.client.v2.environmentvariablegroups.UpdateStagingEnviron
 import org.cloudfoundry.client.v2.environmentvariablegroups.UpdateStagingEnvironmentVariablesResponse;
 import org.cloudfoundry.reactor.client.v2.AbstractClientV2Operations;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
 import reactor.core.publisher.Mono;
 import reactor.io.netty.http.HttpClient;
 
@@ -36,6 +37,16 @@ import reactor.io.netty.http.HttpClient;
  */
 public final class ReactorEnvironmentVariableGroups extends AbstractClientV2Operations implements EnvironmentVariableGroups {
 
+    /**
+     * Creates an instance
+     *
+     * @param connectionContext the {@link ConnectionContext} to use when communicating with the server
+     * @param root              the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     */
+    public ReactorEnvironmentVariableGroups(ConnectionContext connectionContext, Mono<String> root) {
+        super(connectionContext, root);
+    }
+
     /**
      * Creates an instance
      *
@@ -43,7 +54,9 @@ public final class ReactorEnvironmentVariableGroups extends AbstractClientV2Oper
      * @param httpClient            the {@link HttpClient} to use when communicating with the server
      * @param objectMapper          the {@link ObjectMapper} to use when communicating with the server
      * @param root                  the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     * @deprecated use {@link #ReactorEnvironmentVariableGroups(ConnectionContext, Mono)}
      */
+    @Deprecated
     public ReactorEnvironmentVariableGroups(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
         super(authorizationProvider, httpClient, objectMapper, root);
     }
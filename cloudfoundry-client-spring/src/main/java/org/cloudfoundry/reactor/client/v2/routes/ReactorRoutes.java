@@ -36,6 +36,7 @@ import org.cloudfoundry.client.v2.routes.UpdateRouteRequest;
 import org.cloudfoundry.client.v2.routes.UpdateRouteResponse;
 import org.cloudfoundry.reactor.client.v2.AbstractClientV2Operations;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
 import org.cloudfoundry.util.ExceptionUtils;
 import reactor.core.publisher.Mono;
 import reactor.io.netty.http.HttpClient;
@@ -47,6 +48,16 @@ public final class ReactorRoutes extends AbstractClientV2Operations implements R
 
     private static final int CF_NOT_FOUND = 10000;
 
+    /**
+     * Creates an instance
+     *
+     * @param connectionContext the {@link ConnectionContext} to use when communicating with the server
+     * @param root              the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     */
+    public ReactorRoutes(ConnectionContext connectionContext, Mono<String> root) {
+        super(connectionContext, root);
+    }
+
     /**
      * Creates an instance
      *
@@ -54,7 +65,9 @@ public final class ReactorRoutes extends AbstractClientV2Operations implements R
      * @param httpClient            the {@link HttpClient} to use when communicating with the server
      * @param objectMapper          the {@link ObjectMapper} to use when communicating with the server
      * @param root                  the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     * @deprecated use {@link #ReactorRoutes(ConnectionContext, Mono)}
      */
+    @Deprecated
     public ReactorRoutes(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
         super(authorizationProvider, httpClient, objectMapper, root);
     }
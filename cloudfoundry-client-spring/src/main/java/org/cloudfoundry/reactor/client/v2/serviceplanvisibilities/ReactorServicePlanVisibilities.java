@@ -31,6 +31,7 @@ import org.cloudfoundry.client.v2.serviceplanvisibilities.UpdateServicePlanVisib
 import org.cloudfoundry.client.v2.serviceplanvisibilities.UpdateServicePlanVisibilityResponse;
 import org.cloudfoundry.reactor.client.v2.AbstractClientV2Operations;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
 import reactor.core.publisher.Mono;
 import reactor.io.netty.http.HttpClient;
 
@@ -39,6 +40,16 @@ import reactor.io.netty.http.HttpClient;
  */
 public final class ReactorServicePlanVisibilities extends AbstractClientV2Operations implements ServicePlanVisibilities {
 
+    /**
+     * Creates an instance
+     *
+     * @param connectionContext the {@link ConnectionContext} to use when communicating with the server
+     * @param root              the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     */
+    public ReactorServicePlanVisibilities(ConnectionContext connectionContext, Mono<String> root) {
+        super(connectionContext, root);
+    }
+
     /**
      * Creates an instance
      *
@@ -46,7 +57,9 @@ public final class ReactorServicePlanVisibilities extends AbstractClientV2Operat
      * @param httpClient            the {@link HttpClient} to use when communicating with the server
      * @param objectMapper          the {@link ObjectMapper} to use when communicating with the server
      * @param root                  the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     * @deprecated use {@link #ReactorServicePlanVisibilities(ConnectionContext, Mono)}
      */
+    @Deprecated
     public ReactorServicePlanVisibilities(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
         super(authorizationProvider, httpClient, objectMapper, root);
     }
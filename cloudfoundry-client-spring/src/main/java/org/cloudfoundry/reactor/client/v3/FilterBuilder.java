@@ -17,6 +17,7 @@
 package org.cloudfoundry.reactor.client.v3;
 
 import org.cloudfoundry.client.v3.FilterParameter;
+import org.cloudfoundry.reactor.client.MethodAccessor;
 import org.cloudfoundry.reactor.client.MethodNameComparator;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.util.ObjectUtils;
@@ -25,13 +26,24 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 final class FilterBuilder {
 
+    private static final ClassValue<List<Filter>> FILTERS = new ClassValue<List<Filter>>() {
+
+        @Override
+        protected List<Filter> computeValue(Class<?> type) {
+            return getFilters(type);
+        }
+
+    };
+
     private FilterBuilder() {
     }
 
@@ -41,28 +53,33 @@ final class FilterBuilder {
      * @param builder  the builder to augment
      * @param instance the instance to inspect and invoke
      */
-    @SuppressWarnings("unchecked")
     public static void augment(UriComponentsBuilder builder, Object instance) {
-        Method[] methods = ReflectionUtils.getAllDeclaredMethods(instance.getClass());
+        for (Filter filter : FILTERS.get(instance.getClass())) {
+            String value = getValue(filter.accessor, instance);
+            if (StringUtils.hasText(value)) {
+                builder.queryParam(filter.name, value);
+            }
+        }
+    }
+
+    private static List<Filter> getFilters(Class<?> type) {
+        Method[] methods = ReflectionUtils.getAllDeclaredMethods(type);
         Arrays.sort(methods, MethodNameComparator.INSTANCE);
 
+        List<Filter> filters = new ArrayList<>();
         for (Method method : methods) {
             FilterParameter filterParameter = AnnotationUtils.getAnnotation(method, FilterParameter.class);
-            if (filterParameter == null) {
-                continue;
-            }
-
-            String value = getValue(method, instance);
-            if (StringUtils.hasText(value)) {
-                builder.queryParam(filterParameter.value(), value);
+            if (filterParameter != null) {
+                filters.add(new Filter(MethodAccessor.of(method), filterParameter.value()));
             }
         }
+
+        return Collections.unmodifiableList(filters);
     }
 
     @SuppressWarnings("unchecked")
-    private static String getValue(Method method, Object instance) {
-        ReflectionUtils.makeAccessible(method);
-        Object value = ReflectionUtils.invokeMethod(method, instance);
+    private static String getValue(MethodAccessor accessor, Object instance) {
+        Object value = accessor.invoke(instance);
 
         if (value == null) {
             return "";
@@ -77,4 +94,17 @@ final class FilterBuilder {
         }
     }
 
+    private static final class Filter {
+
+        private final MethodAccessor accessor;
+
+        private final String name;
+
+        private Filter(MethodAccessor accessor, String name) {
+            this.accessor = accessor;
+            this.name = name;
+        }
+
+    }
+
 }
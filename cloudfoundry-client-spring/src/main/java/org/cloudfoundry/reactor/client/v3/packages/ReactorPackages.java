@@ -34,16 +34,27 @@ import org.cloudfoundry.client.v3.packages.UploadPackageRequest;
 import org.cloudfoundry.client.v3.packages.UploadPackageResponse;
 import org.cloudfoundry.reactor.client.v3.AbstractClientV3Operations;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
+import org.cloudfoundry.reactor.util.TransportResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.io.netty.http.HttpClient;
-import reactor.io.netty.http.HttpClientResponse;
 
 /**
  * The Reactor-based implementation of {@link Packages}
  */
 public final class ReactorPackages extends AbstractClientV3Operations implements Packages {
 
+    /**
+     * Creates an instance
+     *
+     * @param connectionContext the {@link ConnectionContext} to use when communicating with the server
+     * @param root              the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     */
+    public ReactorPackages(ConnectionContext connectionContext, Mono<String> root) {
+        super(connectionContext, root);
+    }
+
     /**
      * Creates an instance
      *
@@ -51,7 +62,9 @@ public final class ReactorPackages extends AbstractClientV3Operations implements
      * @param httpClient            the {@link HttpClient} to use when communicating with the server
      * @param objectMapper          the {@link ObjectMapper} to use when communicating with the server
      * @param root                  the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     * @deprecated use {@link #ReactorPackages(ConnectionContext, Mono)}
      */
+    @Deprecated
     public ReactorPackages(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
         super(authorizationProvider, httpClient, objectMapper, root);
     }
@@ -74,7 +87,7 @@ public final class ReactorPackages extends AbstractClientV3Operations implements
     @Override
     public Flux<byte[]> download(DownloadPackageRequest request) {
         return get(request, builder -> builder.pathSegment("v3", "packages", request.getPackageId(), "download"))
-            .flatMap(HttpClientResponse::receiveByteArray);
+            .flatMap(TransportResponse::getBodyAsByteArrays);
     }
 
     @Override
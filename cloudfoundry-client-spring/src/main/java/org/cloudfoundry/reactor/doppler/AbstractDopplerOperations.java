@@ -19,15 +19,24 @@ package org.cloudfoundry.reactor.doppler;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.cloudfoundry.reactor.util.AbstractReactorOperations;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
+import org.cloudfoundry.reactor.util.TransportResponse;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 import reactor.io.netty.http.HttpClient;
-import reactor.io.netty.http.HttpClientResponse;
 
 import java.util.function.Function;
 
 abstract class AbstractDopplerOperations extends AbstractReactorOperations {
 
+    AbstractDopplerOperations(ConnectionContext connectionContext, Mono<String> root) {
+        super(connectionContext, root);
+    }
+
+    /**
+     * @deprecated use {@link #AbstractDopplerOperations(ConnectionContext, Mono)}
+     */
+    @Deprecated
     AbstractDopplerOperations(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
         super(authorizationProvider, httpClient, objectMapper, root);
     }
@@ -40,7 +49,7 @@ abstract class AbstractDopplerOperations extends AbstractReactorOperations {
         return doGet(responseType, uriTransformer, outbound -> outbound);
     }
 
-    final Mono<HttpClientResponse> get(Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
+    final Mono<TransportResponse> get(Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
         return doGet(uriTransformer, outbound -> outbound);
     }
 
@@ -52,7 +61,7 @@ abstract class AbstractDopplerOperations extends AbstractReactorOperations {
         return doPut(request, responseType, uriTransformer, outbound -> outbound);
     }
 
-    final Mono<HttpClientResponse> ws(Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
+    final Mono<TransportResponse> ws(Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
         return doWs(uriTransformer, outbound -> outbound);
     }
 
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.doppler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import org.cloudfoundry.reactor.util.TransportResponse;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits a {@code multipart} response into its parts as it is received.  Received buffers are retained only until the parts they hold are complete, and each part is decoded from those buffers
+ * without being copied.
+ *
+ * @param <T> the type the parts are decoded to
+ */
+final class MultipartDecoder<T> {
+
+    private static final Pattern BOUNDARY = Pattern.compile("boundary=\"?([^\";]+)\"?");
+
+    private static final String CONTENT_TYPE = "Content-Type";
+
+    private static final byte[] CRLF = new byte[]{'\r', '\n'};
+
+    private static final byte[] DOUBLE_CRLF = new byte[]{'\r', '\n', '\r', '\n'};
+
+    private static final byte[] DOUBLE_DASH = new byte[]{'-', '-'};
+
+    private final CompositeByteBuf buffer = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+
+    private final byte[] delimiter;
+
+    private final Function<ByteBuf, T> partDecoder;
+
+    private boolean closed;
+
+    private MultipartDecoder(byte[] delimiter, Function<ByteBuf, T> partDecoder) {
+        this.delimiter = delimiter;
+        this.partDecoder = partDecoder;
+    }
+
+    /**
+     * Decodes the parts of a response
+     *
+     * @param response    the response
+     * @param partDecoder decodes the body of a part.  The body must be read before the decoder returns.
+     * @param <T>         the type the parts are decoded to
+     * @return the decoded parts
+     */
+    static <T> Flux<T> decode(TransportResponse response, Function<ByteBuf, T> partDecoder) {
+        String contentType = response.getHeader(CONTENT_TYPE);
+        Matcher matcher = BOUNDARY.matcher(contentType != null ? contentType : "");
+
+        if (!matcher.find()) {
+            return Flux.error(new IllegalStateException(String.format("Content-Type %s does not specify a multipart boundary", contentType)));
+        }
+
+        MultipartDecoder<T> decoder = new MultipartDecoder<>(("--" + matcher.group(1)).getBytes(StandardCharsets.US_ASCII), partDecoder);
+
+        return response.getBody()
+            .map(decoder::add)
+            .doOnCancel(decoder::release)
+            .doOnComplete(decoder::release)
+            .doOnError(t -> decoder.release())
+            .flatMapIterable(Function.identity());
+    }
+
+    private static int indexOf(ByteBuf source, byte[] target, int from) {
+        outer:
+        for (int i = from; i <= source.writerIndex() - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (source.getByte(i + j) != target[j]) {
+                    continue outer;
+                }
+            }
+
+            return i;
+        }
+
+        return -1;
+    }
+
+    private static boolean startsWith(ByteBuf source, byte[] target, int from) {
+        return from + target.length <= source.writerIndex() && indexOf(source, target, from) == from;
+    }
+
+    private synchronized List<T> add(ByteBuf chunk) {
+        if (this.closed || !chunk.isReadable()) {
+            return Collections.emptyList();
+        }
+
+        this.buffer.addComponent(chunk.retain());
+        this.buffer.writerIndex(this.buffer.capacity());
+
+        List<T> parts = new ArrayList<>();
+        for (int position = indexOf(this.buffer, this.delimiter, this.buffer.readerIndex()); position != -1; ) {
+            int headersStart = position + this.delimiter.length;
+            if (headersStart + DOUBLE_DASH.length > this.buffer.writerIndex()) {
+                break;
+            }
+
+            if (startsWith(this.buffer, DOUBLE_DASH, headersStart)) {
+                this.closed = true;
+                break;
+            }
+
+            int headersEnd = indexOf(this.buffer, DOUBLE_CRLF, headersStart);
+            if (headersEnd == -1) {
+                break;
+            }
+
+            int start = headersEnd + DOUBLE_CRLF.length;
+            int next = indexOf(this.buffer, this.delimiter, start);
+            if (next == -1) {
+                break;
+            }
+
+            int end = next - CRLF.length;
+            if (end > start) {
+                parts.add(this.partDecoder.apply(this.buffer.slice(start, end - start)));
+            }
+
+            this.buffer.readerIndex(next);
+            position = next;
+        }
+
+        if (this.closed) {
+            release();
+        } else {
+            this.buffer.discardReadComponents();
+        }
+
+        return parts;
+    }
+
+    private synchronized void release() {
+        if (this.buffer.refCnt() > 0) {
+            this.buffer.release();
+        }
+    }
+
+}
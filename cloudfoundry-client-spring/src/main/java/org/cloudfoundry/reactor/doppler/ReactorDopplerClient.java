@@ -17,6 +17,8 @@
 package org.cloudfoundry.reactor.doppler;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import lombok.Builder;
 import org.cloudfoundry.doppler.ContainerMetric;
 import org.cloudfoundry.doppler.ContainerMetricsRequest;
@@ -34,12 +36,12 @@ import org.cloudfoundry.doppler.StreamRequest;
 import org.cloudfoundry.doppler.ValueMetric;
 import org.cloudfoundry.dropsonde.events.Envelope;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
 import org.cloudfoundry.reactor.util.ConnectionContextSupplier;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.util.Exceptions;
 import reactor.io.netty.http.HttpClient;
-import reactor.io.netty.http.HttpClientResponse;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -51,10 +53,17 @@ public final class ReactorDopplerClient extends AbstractDopplerOperations implem
 
     @Builder
     ReactorDopplerClient(ConnectionContextSupplier cloudFoundryClient) {
-        this(cloudFoundryClient.getConnectionContext().getAuthorizationProvider(), cloudFoundryClient.getConnectionContext().getHttpClient(),
-            cloudFoundryClient.getConnectionContext().getObjectMapper(), cloudFoundryClient.getConnectionContext().getRoot("doppler_logging_endpoint"));
+        this(cloudFoundryClient.getConnectionContext(), cloudFoundryClient.getConnectionContext().getRoot("doppler_logging_endpoint"));
     }
 
+    ReactorDopplerClient(ConnectionContext connectionContext, Mono<String> root) {
+        super(connectionContext, root);
+    }
+
+    /**
+     * @deprecated use {@link #ReactorDopplerClient(ConnectionContext, Mono)}
+     */
+    @Deprecated
     ReactorDopplerClient(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
         super(authorizationProvider, httpClient, objectMapper, root);
     }
@@ -62,37 +71,33 @@ public final class ReactorDopplerClient extends AbstractDopplerOperations implem
     @Override
     public Flux<ContainerMetric> containerMetrics(ContainerMetricsRequest request) {
         return get(builder -> builder.pathSegment("apps", request.getApplicationId(), "containermetrics"))
-            .flatMap(inbound -> inbound.receiveMultipart().receiveInputStream())
-            .map(ReactorDopplerClient::toEnvelope)
+            .flatMap(response -> MultipartDecoder.decode(response, ReactorDopplerClient::toEnvelope))
             .map(ReactorDopplerClient::toEvent);
     }
 
     @Override
     public Flux<Event> firehose(FirehoseRequest request) {
         return ws(builder -> builder.pathSegment("firehose", request.getSubscriptionId()))
-            .flatMap(HttpClientResponse::receiveInputStream)
-            .map(ReactorDopplerClient::toEnvelope)
+            .flatMap(response -> response.getBody().map(ReactorDopplerClient::toEnvelope))
             .map(ReactorDopplerClient::toEvent);
     }
 
     @Override
     public Flux<LogMessage> recentLogs(RecentLogsRequest request) {
         return get(builder -> builder.pathSegment("apps", request.getApplicationId(), "recentlogs"))
-            .flatMap(inbound -> inbound.receiveMultipart().receiveInputStream())
-            .map(ReactorDopplerClient::toEnvelope)
+            .flatMap(response -> MultipartDecoder.decode(response, ReactorDopplerClient::toEnvelope))
             .map(ReactorDopplerClient::toEvent);
     }
 
     @Override
     public Flux<Event> stream(StreamRequest request) {
         return ws(builder -> builder.pathSegment("apps", request.getApplicationId(), "stream"))
-            .flatMap(HttpClientResponse::receiveInputStream)
-            .map(ReactorDopplerClient::toEnvelope)
+            .flatMap(response -> response.getBody().map(ReactorDopplerClient::toEnvelope))
             .map(ReactorDopplerClient::toEvent);
     }
 
-    private static Envelope toEnvelope(InputStream inputStream) {
-        try (InputStream in = inputStream) {
+    private static Envelope toEnvelope(ByteBuf byteBuf) {
+        try (InputStream in = new ByteBufInputStream(byteBuf)) {
             return Envelope.ADAPTER.decode(in);
         } catch (IOException e) {
             throw Exceptions.propagate(e);
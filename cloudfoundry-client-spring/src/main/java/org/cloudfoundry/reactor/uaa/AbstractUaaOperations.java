@@ -20,16 +20,25 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.cloudfoundry.reactor.client.QueryBuilder;
 import org.cloudfoundry.reactor.util.AbstractReactorOperations;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
+import org.cloudfoundry.reactor.util.TransportRequest;
+import org.cloudfoundry.reactor.util.TransportResponse;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 import reactor.io.netty.http.HttpClient;
-import reactor.io.netty.http.HttpClientRequest;
-import reactor.io.netty.http.HttpClientResponse;
 
 import java.util.function.Function;
 
 public abstract class AbstractUaaOperations extends AbstractReactorOperations {
 
+    protected AbstractUaaOperations(ConnectionContext connectionContext, Mono<String> root) {
+        super(connectionContext, root);
+    }
+
+    /**
+     * @deprecated use {@link #AbstractUaaOperations(ConnectionContext, Mono)}
+     */
+    @Deprecated
     protected AbstractUaaOperations(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
         super(authorizationProvider, httpClient, objectMapper, root);
     }
@@ -46,7 +55,7 @@ public abstract class AbstractUaaOperations extends AbstractReactorOperations {
     }
 
     protected final <T> Mono<T> delete(Object request, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
-                                       Function<HttpClientRequest, HttpClientRequest> requestTransformer) {
+                                       Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
 
         return doDelete(request, responseType, getUriAugmenter(request, uriTransformer), outbound -> {
             getRequestTransformer(request).apply(outbound);
@@ -54,7 +63,7 @@ public abstract class AbstractUaaOperations extends AbstractReactorOperations {
         });
     }
 
-    protected final Mono<HttpClientResponse> get(Object request, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
+    protected final Mono<TransportResponse> get(Object request, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
         return doGet(getUriAugmenter(request, uriTransformer), getRequestTransformer(request));
     }
 
@@ -63,7 +72,7 @@ public abstract class AbstractUaaOperations extends AbstractReactorOperations {
     }
 
     protected final <T> Mono<T> get(Object request, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
-                                    Function<HttpClientRequest, HttpClientRequest> requestTransformer) {
+                                    Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
 
         return doGet(responseType, getUriAugmenter(request, uriTransformer), outbound -> {
             getRequestTransformer(request).apply(outbound);
@@ -71,12 +80,12 @@ public abstract class AbstractUaaOperations extends AbstractReactorOperations {
         });
     }
 
-    protected final Mono<HttpClientResponse> getNoAuth(Object request, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
+    protected final Mono<TransportResponse> getNoAuth(Object request, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
         return doGetNoAuth(getUriAugmenter(request, uriTransformer), getRequestTransformer(request));
     }
 
     protected final <T> Mono<T> post(Object request, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
-                                     Function<HttpClientRequest, HttpClientRequest> requestTransformer) {
+                                     Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
 
         return doPost(request, responseType, getUriAugmenter(request, uriTransformer), outbound -> {
             getRequestTransformer(request).apply(outbound);
@@ -93,15 +102,12 @@ public abstract class AbstractUaaOperations extends AbstractReactorOperations {
     }
 
     protected final <T> Mono<T> postForm(Object request, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
-                                         Function<HttpClientRequest, HttpClientRequest> requestTransformer) {
+                                         Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
 
-        return doPost(responseType, getUriAugmenter(request, uriTransformer), outbound -> {
-            outbound.headers().remove(AUTHORIZATION);
+        return doPostNoAuth(responseType, getUriAugmenter(request, uriTransformer), outbound -> {
             getRequestTransformer(request).apply(outbound);
             return requestTransformer.apply(outbound)
-                .addHeader(CONTENT_TYPE, APPLICATION_X_WWW_FORM_URLENCODED)
-                .removeTransferEncodingChunked()
-                .sendHeaders();
+                .header(CONTENT_TYPE, APPLICATION_X_WWW_FORM_URLENCODED);
         });
     }
 
@@ -109,7 +115,7 @@ public abstract class AbstractUaaOperations extends AbstractReactorOperations {
         return doPut(request, responseType, getUriAugmenter(request, uriTransformer), getRequestTransformer(request));
     }
 
-    private static Function<HttpClientRequest, HttpClientRequest> getRequestTransformer(Object request) {
+    private static Function<TransportRequest.Builder, TransportRequest.Builder> getRequestTransformer(Object request) {
         return outbound -> {
             BasicAuthorizationBuilder.augment(outbound, request);
             IdentityZoneBuilder.augment(outbound, request);
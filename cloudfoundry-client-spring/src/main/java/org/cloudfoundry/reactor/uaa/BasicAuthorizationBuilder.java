@@ -16,25 +16,25 @@
 
 package org.cloudfoundry.reactor.uaa;
 
-import io.netty.util.AsciiString;
+import org.cloudfoundry.reactor.util.TransportRequest;
 import org.cloudfoundry.uaa.BasicAuthorized;
-import reactor.io.netty.http.HttpClientRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
 final class BasicAuthorizationBuilder {
 
-    private static final AsciiString AUTHORIZATION = new AsciiString("Authorization");
+    private static final String AUTHORIZATION = "Authorization";
 
-    private static final AsciiString BASIC_PREAMBLE = new AsciiString("Basic ");
+    private static final String BASIC_PREAMBLE = "Basic ";
 
     private BasicAuthorizationBuilder(){}
 
-    static void augment(HttpClientRequest outbound, Object request) {
+    static void augment(TransportRequest.Builder outbound, Object request) {
         if(request instanceof BasicAuthorized) {
             BasicAuthorized basicAuthorized = (BasicAuthorized)request;
-            String encoded = Base64.getEncoder().encodeToString(new AsciiString(basicAuthorized.getClientId()).concat(":").concat(basicAuthorized.getClientSecret()).toByteArray());
-            outbound.headers().set(AUTHORIZATION, BASIC_PREAMBLE + encoded);
+            String encoded = Base64.getEncoder().encodeToString((basicAuthorized.getClientId() + ":" + basicAuthorized.getClientSecret()).getBytes(StandardCharsets.ISO_8859_1));
+            outbound.header(AUTHORIZATION, BASIC_PREAMBLE + encoded);
         }
     }
 
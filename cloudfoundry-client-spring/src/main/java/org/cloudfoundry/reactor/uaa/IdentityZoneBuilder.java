@@ -16,18 +16,18 @@
 
 package org.cloudfoundry.reactor.uaa;
 
+import org.cloudfoundry.reactor.util.TransportRequest;
 import org.cloudfoundry.uaa.IdentityZoned;
-import reactor.io.netty.http.HttpClientRequest;
 
 final class IdentityZoneBuilder {
 
     private IdentityZoneBuilder() {
     }
 
-    static void augment(HttpClientRequest outbound, Object request) {
+    static void augment(TransportRequest.Builder outbound, Object request) {
         if (request instanceof IdentityZoned) {
             IdentityZoned identityZoned = (IdentityZoned) request;
-            outbound.addHeader("X-Identity-Zone-Id", identityZoned.getIdentityZoneId());
+            outbound.header("X-Identity-Zone-Id", identityZoned.getIdentityZoneId());
         }
     }
 
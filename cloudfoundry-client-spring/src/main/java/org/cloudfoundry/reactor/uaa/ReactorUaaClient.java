@@ -25,6 +25,7 @@ import org.cloudfoundry.reactor.uaa.identityzones.ReactorIdentityZones;
 import org.cloudfoundry.reactor.uaa.tokens.ReactorTokens;
 import org.cloudfoundry.reactor.uaa.users.ReactorUsers;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
 import org.cloudfoundry.reactor.util.ConnectionContextSupplier;
 import org.cloudfoundry.uaa.UaaClient;
 import org.cloudfoundry.uaa.authorizations.Authorizations;
@@ -55,10 +56,22 @@ public final class ReactorUaaClient implements UaaClient {
 
     @Builder
     ReactorUaaClient(ConnectionContextSupplier cloudFoundryClient) {
-        this(cloudFoundryClient.getConnectionContext().getAuthorizationProvider(), cloudFoundryClient.getConnectionContext().getHttpClient(),
-            cloudFoundryClient.getConnectionContext().getObjectMapper(), cloudFoundryClient.getConnectionContext().getRoot("token_endpoint"));
+        this(cloudFoundryClient.getConnectionContext(), cloudFoundryClient.getConnectionContext().getRoot("token_endpoint"));
     }
 
+    ReactorUaaClient(ConnectionContext connectionContext, Mono<String> root) {
+        this.authorizations = new ReactorAuthorizations(connectionContext, root);
+        this.groups = new ReactorGroups(connectionContext, root);
+        this.identityProviders = new ReactorIdentityProviders(connectionContext, root);
+        this.identityZones = new ReactorIdentityZones(connectionContext, root);
+        this.tokens = new ReactorTokens(connectionContext, root);
+        this.users = new ReactorUsers(connectionContext, root);
+    }
+
+    /**
+     * @deprecated use {@link #ReactorUaaClient(ConnectionContext, Mono)}
+     */
+    @Deprecated
     ReactorUaaClient(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
         this.authorizations = new ReactorAuthorizations(authorizationProvider, httpClient, objectMapper, root);
         this.groups = new ReactorGroups(authorizationProvider, httpClient, objectMapper, root);
@@ -16,21 +16,21 @@
 
 package org.cloudfoundry.reactor.uaa;
 
+import org.cloudfoundry.reactor.util.TransportRequest;
 import org.cloudfoundry.uaa.Versioned;
-import reactor.io.netty.http.HttpClientRequest;
 
 final class VersionBuilder {
 
     private VersionBuilder() {
     }
 
-    static void augment(HttpClientRequest outbound, Object request) {
+    static void augment(TransportRequest.Builder outbound, Object request) {
         if (request instanceof Versioned) {
             Versioned versioned = (Versioned) request;
             String version = versioned.getVersion();
 
             if (version != null) {
-                outbound.addHeader("If-Match", version);
+                outbound.header("If-Match", version);
             }
         }
     }
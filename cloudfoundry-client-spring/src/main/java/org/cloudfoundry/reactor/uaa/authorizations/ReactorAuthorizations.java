@@ -17,9 +17,9 @@
 package org.cloudfoundry.reactor.uaa.authorizations;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.netty.util.AsciiString;
 import org.cloudfoundry.reactor.uaa.AbstractUaaOperations;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
 import org.cloudfoundry.uaa.ResponseType;
 import org.cloudfoundry.uaa.authorizations.Authorizations;
 import org.cloudfoundry.uaa.authorizations.AuthorizeByAuthorizationCodeGrantApiRequest;
@@ -40,7 +40,17 @@ import java.util.Optional;
  */
 public final class ReactorAuthorizations extends AbstractUaaOperations implements Authorizations {
 
-    private static final AsciiString LOCATION = new AsciiString("Location");
+    private static final String LOCATION = "Location";
+
+    /**
+     * Creates an instance
+     *
+     * @param connectionContext the {@link ConnectionContext} to use when communicating with the server
+     * @param root              the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     */
+    public ReactorAuthorizations(ConnectionContext connectionContext, Mono<String> root) {
+        super(connectionContext, root);
+    }
 
     /**
      * Creates an instance
@@ -49,7 +59,9 @@ public final class ReactorAuthorizations extends AbstractUaaOperations implement
      * @param httpClient            the {@link HttpClient} to use when communicating with the server
      * @param objectMapper          the {@link ObjectMapper} to use when communicating with the server
      * @param root                  the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     * @deprecated use {@link #ReactorAuthorizations(ConnectionContext, Mono)}
      */
+    @Deprecated
     public ReactorAuthorizations(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
         super(authorizationProvider, httpClient, objectMapper, root);
     }
@@ -57,38 +69,38 @@ public final class ReactorAuthorizations extends AbstractUaaOperations implement
     @Override
     public Mono<String> authorizationCodeGrantApi(AuthorizeByAuthorizationCodeGrantApiRequest request) {
         return get(request, builder -> builder.pathSegment("oauth", "authorize").queryParam("response_type", ResponseType.CODE))
-            .map(inbound -> inbound.responseHeaders().get(LOCATION))
+            .map(inbound -> inbound.getHeader(LOCATION))
             .then(location -> uriParameterValue(location, "code"));
     }
 
     @Override
     public Mono<String> authorizationCodeGrantBrowser(AuthorizeByAuthorizationCodeGrantBrowserRequest request) {
         return getNoAuth(request, builder -> builder.pathSegment("oauth", "authorize").queryParam("response_type", ResponseType.CODE))
-            .map(inbound -> inbound.responseHeaders().get(LOCATION));
+            .map(inbound -> inbound.getHeader(LOCATION));
     }
 
     @Override
     public Mono<String> implicitGrantBrowser(AuthorizeByImplicitGrantBrowserRequest request) {
         return getNoAuth(request, builder -> builder.pathSegment("oauth", "authorize").queryParam("response_type", ResponseType.TOKEN))
-            .map(inbound -> inbound.responseHeaders().get(LOCATION));
+            .map(inbound -> inbound.getHeader(LOCATION));
     }
 
     @Override
     public Mono<String> openIdWithAuthorizationCodeGrant(AuthorizeByOpenIdWithAuthorizationCodeGrantRequest request) {
         return getNoAuth(request, builder -> builder.pathSegment("oauth", "authorize").queryParam("response_type", ResponseType.ID_TOKEN_CODE))
-            .map(inbound -> inbound.responseHeaders().get(LOCATION));
+            .map(inbound -> inbound.getHeader(LOCATION));
     }
 
     @Override
     public Mono<String> openIdWithIdToken(AuthorizeByOpenIdWithIdTokenRequest request) {
         return get(request, builder -> builder.pathSegment("oauth", "authorize").queryParam("response_type", ResponseType.ID_TOKEN))
-            .map(inbound -> inbound.responseHeaders().get(LOCATION));
+            .map(inbound -> inbound.getHeader(LOCATION));
     }
 
     @Override
     public Mono<String> openIdWithImplicitGrant(AuthorizeByOpenIdWithImplicitGrantRequest request) {
         return get(request, builder -> builder.pathSegment("oauth", "authorize").queryParam("response_type", ResponseType.ID_TOKEN_TOKEN))
-            .map(inbound -> inbound.responseHeaders().get(LOCATION));
+            .map(inbound -> inbound.getHeader(LOCATION));
     }
 
     private static Mono<String> uriParameterValue(String uriString, String parameter) {
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.uaa.tokens;
+
+import org.cloudfoundry.uaa.tokens.CheckTokenRequest;
+import org.cloudfoundry.uaa.tokens.CheckTokenResponse;
+import org.cloudfoundry.uaa.tokens.Tokens;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of {@link Tokens#check(CheckTokenRequest)} results.  A result is reused for the same request until the token expires, after which the token is checked with the UAA again.  Failed
+ * checks are not cached.  When the cache is full, the least recently used entry is evicted.
+ */
+public final class CheckTokenCache {
+
+    private final Clock clock;
+
+    private final Map<CheckTokenRequest, CheckTokenResponse> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final int maximumEntries;
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final Tokens tokens;
+
+    /**
+     * Creates an instance
+     *
+     * @param tokens         the {@link Tokens} client used to check tokens that are not cached
+     * @param maximumEntries the maximum number of entries the cache holds
+     */
+    public CheckTokenCache(Tokens tokens, int maximumEntries) {
+        this(tokens, maximumEntries, Clock.systemUTC());
+    }
+
+    CheckTokenCache(Tokens tokens, int maximumEntries, Clock clock) {
+        this.clock = clock;
+        this.maximumEntries = maximumEntries;
+        this.tokens = tokens;
+        this.entries = new LinkedHashMap<CheckTokenRequest, CheckTokenResponse>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CheckTokenRequest, CheckTokenResponse> eldest) {
+                return size() > CheckTokenCache.this.maximumEntries;
+            }
+
+        };
+    }
+
+    /**
+     * Checks a token, reusing the result of an earlier check of the same request if the token has not expired
+     *
+     * @param request the Check Token request
+     * @return the Check Token response
+     */
+    public Mono<CheckTokenResponse> check(CheckTokenRequest request) {
+        return Mono.defer(() -> {
+            CheckTokenResponse cached = get(request);
+
+            if (cached != null) {
+                this.hits.incrementAndGet();
+                return Mono.just(cached);
+            }
+
+            this.misses.incrementAndGet();
+            return this.tokens.check(request)
+                .doOnSuccess(response -> put(request, response));
+        });
+    }
+
+    /**
+     * Returns the number of checks that were answered from the cache
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * Returns the maximum number of entries the cache holds
+     *
+     * @return the maximum number of entries
+     */
+    public int getMaximumEntries() {
+        return this.maximumEntries;
+    }
+
+    /**
+     * Returns the number of checks that were sent to the UAA
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * Returns the number of entries currently held
+     *
+     * @return the number of entries
+     */
+    public int getSize() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    private CheckTokenResponse get(CheckTokenRequest request) {
+        synchronized (this.entries) {
+            CheckTokenResponse response = this.entries.get(request);
+
+            if (response != null && isExpired(response)) {
+                this.entries.remove(request);
+                return null;
+            }
+
+            return response;
+        }
+    }
+
+    private boolean isExpired(CheckTokenResponse response) {
+        return !Instant.ofEpochSecond(response.getExpirationTime()).isAfter(this.clock.instant());
+    }
+
+    private void put(CheckTokenRequest request, CheckTokenResponse response) {
+        if (response == null || isExpired(response)) {
+            return;
+        }
+
+        synchronized (this.entries) {
+            this.entries.put(request, response);
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.uaa.tokens;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cloudfoundry.uaa.tokens.CheckTokenRequest;
+import org.cloudfoundry.uaa.tokens.CheckTokenResponse;
+import org.cloudfoundry.uaa.tokens.Tokens;
+import org.cloudfoundry.util.ExceptionUtils;
+import org.cloudfoundry.util.TokenKeyCache;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static com.fasterxml.jackson.databind.DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY;
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+
+/**
+ * Validates UAA tokens locally instead of with a {@code /check_token} request.  The signature of a token is verified against the UAA's token signing keys, which are kept in a {@link
+ * TokenKeyCache} and reloaded when a token is signed with a key that is not known.  The claims of a valid token are returned in the same shape as {@link
+ * Tokens#check(CheckTokenRequest)}.  Only {@code RS256} tokens can be validated locally.
+ */
+public final class LocalTokenValidator {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .disable(FAIL_ON_UNKNOWN_PROPERTIES)
+        .enable(ACCEPT_SINGLE_VALUE_AS_ARRAY);
+
+    private final String audience;
+
+    private final Clock clock;
+
+    private final String issuer;
+
+    private final TokenKeyCache tokenKeyCache;
+
+    private final Tokens tokens;
+
+    /**
+     * Creates an instance
+     *
+     * @param tokens   the {@link Tokens} client used to load the token signing keys
+     * @param issuer   the issuer that tokens must have been issued by, or {@code null} if the issuer should not be checked
+     * @param audience the audience that tokens must have been issued for, or {@code null} if the audience should not be checked
+     */
+    public LocalTokenValidator(Tokens tokens, String issuer, String audience) {
+        this(tokens, issuer, audience, Clock.systemUTC());
+    }
+
+    LocalTokenValidator(Tokens tokens, String issuer, String audience, Clock clock) {
+        this.audience = audience;
+        this.clock = clock;
+        this.issuer = issuer;
+        this.tokenKeyCache = new TokenKeyCache(clock);
+        this.tokens = tokens;
+    }
+
+    /**
+     * Validates a token.  The token is valid if its signature is verified by one of the UAA's keys, it has not expired, it has the configured issuer and audience, and it has all of the scopes in
+     * the request.
+     *
+     * @param request the Check Token request
+     * @return the claims of the token, or an {@link IllegalArgumentException} if the token is not valid
+     */
+    public Mono<CheckTokenResponse> check(CheckTokenRequest request) {
+        return Mono.defer(() -> {
+            String[] parts = request.getToken().split("\\.");
+            if (parts.length != 3) {
+                return ExceptionUtils.illegalArgument("Token is not a signed JWT");
+            }
+
+            JsonNode header = read(parts[0], JsonNode.class);
+            String algorithm = header.path("alg").asText();
+            if (!"RS256".equals(algorithm)) {
+                return ExceptionUtils.illegalArgument("Token signing algorithm %s is not supported", algorithm);
+            }
+
+            String keyId = header.hasNonNull("kid") ? header.get("kid").asText() : null;
+
+            return this.tokenKeyCache.get(this.tokens, keyId)
+                .otherwiseIfEmpty(ExceptionUtils.illegalArgument("Token signing key %s is not known", keyId))
+                .then(key -> verify(key, parts) ? Mono.just(read(parts[1], CheckTokenResponse.class)) : ExceptionUtils.illegalArgument("Token signature is not valid"))
+                .then(response -> validate(response, request.getScopes()));
+        });
+    }
+
+    private static byte[] decode(String encoded) {
+        return Base64.getUrlDecoder().decode(encoded);
+    }
+
+    private static <T> T read(String encoded, Class<T> type) {
+        try {
+            return OBJECT_MAPPER.readValue(decode(encoded), type);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Token is not a valid JWT", e);
+        }
+    }
+
+    private static boolean verify(PublicKey key, String[] parts) {
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initVerify(key);
+            signature.update(String.format("%s.%s", parts[0], parts[1]).getBytes(StandardCharsets.US_ASCII));
+
+            return signature.verify(decode(parts[2]));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Mono<CheckTokenResponse> validate(CheckTokenResponse response, List<String> scopes) {
+        if (!Instant.ofEpochSecond(response.getExpirationTime()).isAfter(this.clock.instant())) {
+            return ExceptionUtils.illegalArgument("Token expired at %s", Instant.ofEpochSecond(response.getExpirationTime()));
+        }
+
+        if (this.issuer != null && !this.issuer.equals(response.getIssuer())) {
+            return ExceptionUtils.illegalArgument("Token issuer %s is not %s", response.getIssuer(), this.issuer);
+        }
+
+        if (this.audience != null && !response.getAudiences().contains(this.audience)) {
+            return ExceptionUtils.illegalArgument("Token audiences %s do not include %s", response.getAudiences(), this.audience);
+        }
+
+        if (scopes != null && !response.getScopes().containsAll(scopes)) {
+            return ExceptionUtils.illegalArgument("Token scopes %s do not include %s", response.getScopes(), scopes);
+        }
+
+        return Mono.just(response);
+    }
+
+}
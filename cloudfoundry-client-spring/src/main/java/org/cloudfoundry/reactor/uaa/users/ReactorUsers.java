@@ -19,6 +19,7 @@ package org.cloudfoundry.reactor.uaa.users;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.cloudfoundry.reactor.uaa.AbstractUaaOperations;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
 import org.cloudfoundry.uaa.users.ChangeUserPasswordRequest;
 import org.cloudfoundry.uaa.users.ChangeUserPasswordResponse;
 import org.cloudfoundry.uaa.users.CreateUserRequest;
@@ -46,6 +47,16 @@ import reactor.io.netty.http.HttpClient;
  */
 public final class ReactorUsers extends AbstractUaaOperations implements Users {
 
+    /**
+     * Creates an instance
+     *
+     * @param connectionContext the {@link ConnectionContext} to use when communicating with the server
+     * @param root              the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     */
+    public ReactorUsers(ConnectionContext connectionContext, Mono<String> root) {
+        super(connectionContext, root);
+    }
+
     /**
      * Creates an instance
      *
@@ -53,7 +64,9 @@ public final class ReactorUsers extends AbstractUaaOperations implements Users {
      * @param httpClient            the {@link HttpClient} to use when communicating with the server
      * @param objectMapper          the {@link ObjectMapper} to use when communicating with the server
      * @param root                  the root URI of the server.  Typically something like {@code https://uaa.run.pivotal.io}.
+     * @deprecated use {@link #ReactorUsers(ConnectionContext, Mono)}
      */
+    @Deprecated
     public ReactorUsers(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
         super(authorizationProvider, httpClient, objectMapper, root);
     }
@@ -18,195 +18,391 @@ package org.cloudfoundry.reactor.util;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.netty.buffer.ByteBuf;
-import io.netty.util.AsciiString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
 import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 import reactor.io.netty.http.HttpClient;
-import reactor.io.netty.http.HttpClientRequest;
-import reactor.io.netty.http.HttpClientResponse;
-import reactor.io.netty.http.HttpException;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 public abstract class AbstractReactorOperations {
 
-    protected static final AsciiString APPLICATION_JSON = new AsciiString("application/json");
+    protected static final String APPLICATION_JSON = "application/json";
 
-    protected static final AsciiString APPLICATION_X_WWW_FORM_URLENCODED = new AsciiString("application/x-www-form-urlencoded");
+    protected static final String APPLICATION_X_WWW_FORM_URLENCODED = "application/x-www-form-urlencoded";
 
-    protected static final AsciiString APPLICATION_ZIP = new AsciiString("application/zip");
+    protected static final String APPLICATION_ZIP = "application/zip";
 
-    protected static final AsciiString AUTHORIZATION = new AsciiString("Authorization");
+    protected static final String AUTHORIZATION = "Authorization";
 
-    protected static final AsciiString CONTENT_TYPE = new AsciiString("Content-Type");
+    protected static final String CONTENT_TYPE = "Content-Type";
+
+    private static final int BAD_REQUEST = 400;
 
     private static final String CF_WARNINGS = "X-Cf-Warnings";
 
+    private static final Runnable NO_OP = () -> {
+    };
+
+    private static final int UNAUTHORIZED = 401;
+
     private final AuthorizationProvider authorizationProvider;
 
-    private final HttpClient httpClient;
+    private final Optional<CircuitBreakerPolicy> circuitBreakerPolicy;
+
+    private final CodecRegistry codecRegistry;
+
+    private final Optional<ConcurrencyLimit> concurrencyLimit;
 
-    private final ObjectMapper objectMapper;
+    private final Optional<EndpointBalancer> endpointBalancer;
+
+    private final ExchangeQueues exchangeQueues;
+
+    private final Optional<HedgePolicy> hedgePolicy;
+
+    private final HttpTransport httpTransport;
+
+    private final MetricsListener metricsListener;
 
     private final Logger requestLogger = LoggerFactory.getLogger("cloudfoundry-client.request");
 
     private final Logger responseLogger = LoggerFactory.getLogger("cloudfoundry-client.response");
 
+    private final Priority priority;
+
+    private final Optional<RateLimiter> rateLimiter;
+
+    private final Optional<RequestCoalescer> requestCoalescer;
+
+    private final Optional<ResponseCache> responseCache;
+
+    private final Optional<RetryPolicy> retryPolicy;
+
     private final Mono<String> root;
 
-    protected AbstractReactorOperations(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
-        this.authorizationProvider = authorizationProvider;
-        this.httpClient = httpClient;
-        this.objectMapper = objectMapper;
+    private final ConcurrentMap<String, UriComponents> roots = new ConcurrentHashMap<>();
+
+    private final Timeouts timeouts;
+
+    protected AbstractReactorOperations(ConnectionContext connectionContext, Mono<String> root) {
+        this.authorizationProvider = connectionContext.getAuthorizationProvider();
+        this.circuitBreakerPolicy = connectionContext.getCircuitBreakerPolicy();
+        this.codecRegistry = connectionContext.getCodecRegistry();
+        this.concurrencyLimit = connectionContext.getConcurrencyLimit();
+        this.endpointBalancer = connectionContext.getEndpointBalancer();
+        this.exchangeQueues = connectionContext.getExchangeQueues();
+        this.hedgePolicy = connectionContext.getHedgePolicy();
+        this.httpTransport = connectionContext.getHttpTransport();
+        this.metricsListener = connectionContext.getMetricsListener();
+        this.priority = connectionContext.getPriority();
+        this.rateLimiter = connectionContext.getRateLimiter();
+        this.requestCoalescer = connectionContext.getRequestCoalescer();
+        this.responseCache = connectionContext.getResponseCache();
+        this.retryPolicy = connectionContext.getRetryPolicy();
         this.root = root;
+        this.timeouts = connectionContext.getTimeouts();
+    }
+
+    /**
+     * @deprecated use {@link #AbstractReactorOperations(ConnectionContext, Mono)}
+     */
+    @Deprecated
+    protected AbstractReactorOperations(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper, Mono<String> root) {
+        this(new LegacyConnectionContext(authorizationProvider, httpClient, objectMapper), root);
     }
 
     protected final <T> Mono<T> doDelete(Object request, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
-                                         Function<HttpClientRequest, HttpClientRequest> requestTransformer) {
-        return this.root
-            .map(root -> buildUri(root, uriTransformer))
-            .then(uri -> this.httpClient
-                .delete(uri, outbound -> this.authorizationProvider.addAuthorization(outbound)
-                    .map(requestTransformer)
-                    .then(o -> o.send(serializedRequest(o, request))))
-                .doOnSubscribe(s -> this.requestLogger.debug("DELETE {}", uri))
-                .compose(logResponse(uri)))
-            .compose(deserializedResponse(responseType));
+                                         Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
+        return exchange(HttpMethod.DELETE, ConnectionRole.API, uriTransformer, outbound -> serializedRequest(requestTransformer.apply(outbound), request), true,
+            deserializedResponse(responseType));
     }
 
-    protected final <T> Mono<T> doGet(Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer, Function<HttpClientRequest, HttpClientRequest> requestTransformer) {
-        return doGet(uriTransformer, requestTransformer)
-            .compose(deserializedResponse(responseType));
+    protected final <T> Mono<T> doGet(Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
+                                      Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
+        return exchange(HttpMethod.GET, ConnectionRole.API, uriTransformer, requestTransformer, true, deserializedResponse(responseType), true);
     }
 
-    protected final Mono<HttpClientResponse> doGet(Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer, Function<HttpClientRequest, HttpClientRequest> requestTransformer) {
-        return this.root
-            .map(root -> buildUri(root, uriTransformer))
-            .then(uri -> this.httpClient
-                .get(uri, outbound -> this.authorizationProvider.addAuthorization(outbound)
-                    .map(requestTransformer)
-                    .then(HttpClientRequest::sendHeaders))
-                .doOnSubscribe(s -> this.requestLogger.debug("GET    {}", uri))
-                .compose(logResponse(uri)));
+    protected final Mono<TransportResponse> doGet(Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer, Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
+        return exchange(HttpMethod.GET, ConnectionRole.TRANSFER, uriTransformer, requestTransformer, true, Function.identity());
     }
 
-    protected final Mono<HttpClientResponse> doGetNoAuth(Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer, Function<HttpClientRequest, HttpClientRequest> requestTransformer) {
-        return this.root
-            .map(root -> buildUri(root, uriTransformer))
-            .then(uri -> this.httpClient
-                .get(uri, outbound -> Mono.just(outbound)
-                    .map(requestTransformer)
-                    .then(HttpClientRequest::sendHeaders))
-                .doOnSubscribe(s -> this.requestLogger.debug("GET    {}", uri))
-                .compose(logResponse(uri)));
+    protected final Mono<TransportResponse> doGetNoAuth(Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
+                                                        Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
+        return exchange(HttpMethod.GET, ConnectionRole.API, uriTransformer, requestTransformer, false, Function.identity());
     }
 
     protected final <T> Mono<T> doPatch(Object request, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
-                                        Function<HttpClientRequest, HttpClientRequest> requestTransformer) {
-        return this.root
-            .map(root -> buildUri(root, uriTransformer))
-            .then(uri -> this.httpClient
-                .patch(uri, outbound -> this.authorizationProvider.addAuthorization(outbound)
-                    .map(requestTransformer)
-                    .then(o -> o.send(serializedRequest(o, request))))
-                .doOnSubscribe(s -> this.requestLogger.debug("PATCH  {}", uri))
-                .compose(logResponse(uri)))
-            .compose(deserializedResponse(responseType));
+                                        Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
+        return exchange(HttpMethod.PATCH, ConnectionRole.API, uriTransformer, outbound -> serializedRequest(requestTransformer.apply(outbound), request), true,
+            deserializedResponse(responseType));
     }
 
     protected final <T> Mono<T> doPost(Object request, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
-                                       Function<HttpClientRequest, HttpClientRequest> requestTransformer) {
+                                       Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
+        return exchange(HttpMethod.POST, ConnectionRole.API, uriTransformer, outbound -> serializedRequest(requestTransformer.apply(outbound), request), true,
+            deserializedResponse(responseType));
+    }
 
-        return doPost(responseType, uriTransformer, outbound -> requestTransformer.apply(outbound)
-            .send(serializedRequest(outbound, request)));
+    protected final <T> Mono<T> doPost(Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
+                                       Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
+        return exchange(HttpMethod.POST, ConnectionRole.TRANSFER, uriTransformer, requestTransformer, true, deserializedResponse(responseType));
     }
 
-    protected final <T> Mono<T> doPost(Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer, Function<HttpClientRequest, Mono<Void>> requestTransformer) {
-        return this.root
-            .map(root -> buildUri(root, uriTransformer))
-            .then(uri -> this.httpClient
-                .post(uri, outbound -> this.authorizationProvider.addAuthorization(outbound)
-                    .then(requestTransformer))
-                .doOnSubscribe(s -> this.requestLogger.debug("POST   {}", uri))
-                .compose(logResponse(uri)))
-            .compose(deserializedResponse(responseType));
+    protected final <T> Mono<T> doPostNoAuth(Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
+                                             Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
+        return exchange(HttpMethod.POST, ConnectionRole.TRANSFER, uriTransformer, requestTransformer, false, deserializedResponse(responseType));
     }
 
     protected final <T> Mono<T> doPut(Object request, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
-                                      Function<HttpClientRequest, HttpClientRequest> requestTransformer) {
-        return this.root
-            .map(root -> buildUri(root, uriTransformer))
-            .then(uri -> this.httpClient
-                .put(uri, outbound -> this.authorizationProvider.addAuthorization(outbound)
-                    .map(requestTransformer)
-                    .then(o -> o.send(serializedRequest(o, request))))
-                .doOnSubscribe(s -> this.requestLogger.debug("PUT    {}", uri))
-                .compose(logResponse(uri)))
-            .compose(deserializedResponse(responseType));
+                                      Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
+        return exchange(HttpMethod.PUT, ConnectionRole.API, uriTransformer, outbound -> serializedRequest(requestTransformer.apply(outbound), request), true,
+            deserializedResponse(responseType));
     }
 
-    protected final <T> Mono<T> doPut(Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer, Function<HttpClientRequest, Mono<Void>> requestTransformer) {
-        return this.root
-            .map(root -> buildUri(root, uriTransformer))
-            .then(uri -> this.httpClient
-                .put(uri, outbound -> this.authorizationProvider.addAuthorization(outbound)
-                    .then(requestTransformer))
-                .doOnSubscribe(s -> this.requestLogger.debug("PUT    {}", uri))
-                .compose(logResponse(uri)))
-            .compose(deserializedResponse(responseType));
+    protected final <T> Mono<T> doPut(Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
+                                      Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
+        return exchange(HttpMethod.PUT, ConnectionRole.TRANSFER, uriTransformer, requestTransformer, true, deserializedResponse(responseType));
     }
 
-    protected final Mono<HttpClientResponse> doWs(Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer, Function<HttpClientRequest, HttpClientRequest> requestTransformer) {
-        return this.root
-            .map(root -> buildUri(root, uriTransformer))
-            .then(uri -> this.httpClient
-                .get(uri, outbound -> this.authorizationProvider.addAuthorization(outbound)
-                    .map(requestTransformer)
-                    .then(HttpClientRequest::upgradeToTextWebsocket))
-                .doOnSubscribe(s -> this.requestLogger.debug("WS     {}", uri))
-                .compose(logResponse(uri)));
+    protected final Mono<TransportResponse> doWs(Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer, Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer) {
+        return exchange(HttpMethod.GET, ConnectionRole.WEBSOCKET, uriTransformer, requestTransformer, true, Function.identity());
     }
 
-    private static String buildUri(String root, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
+    protected final CodecRegistry getCodecRegistry() {
+        return this.codecRegistry;
+    }
+
+    private static Mono<TransportResponse> checkStatus(TransportResponse response) {
+        if (response.getStatus() >= BAD_REQUEST) {
+            return Mono.error(new HttpStatusException(response));
+        }
+
+        return Mono.just(response);
+    }
+
+    private static String getEndpoint(String method, ConnectionRole role, String uri) {
+        return getMethod(method, role) + " " + UriTemplates.normalize(uri);
+    }
+
+    private static String getLabel(String method, ConnectionRole role) {
+        return String.format("%-6s", getMethod(method, role));
+    }
+
+    private static String getMethod(String method, ConnectionRole role) {
+        return role == ConnectionRole.WEBSOCKET ? "WS" : method;
+    }
+
+    private static boolean isIdempotent(HttpMethod method, ConnectionRole role) {
+        if (role == ConnectionRole.WEBSOCKET) {
+            return false;
+        }
+
+        return HttpMethod.GET == method || (role == ConnectionRole.API && (HttpMethod.PUT == method || HttpMethod.DELETE == method));
+    }
+
+    private static boolean isUnauthorized(Throwable t) {
+        return t instanceof HttpStatusException && ((HttpStatusException) t).getStatus() == UNAUTHORIZED;
+    }
+
+    private static <T> Function<Mono<T>, Mono<T>> timeout(Duration timeout) {
+        return publisher -> timeout != null ? publisher.timeout(timeout) : publisher;
+    }
+
+    private <T> Mono<T> attempt(String root, String uri, TransportRequest request, Function<Mono<TransportResponse>, Mono<T>> responseTransformer, boolean shareable, Runnable onHeaders) {
+        return this.endpointBalancer
+            .filter(balancer -> balancer.isBalanced(root))
+            .map(balancer -> Mono.defer(() -> {
+                BalancedEndpoint endpoint = balancer.select();
+
+                return send(root, uri, endpoint.addHost(request.withUri(balancer.rewrite(endpoint, uri))), responseTransformer, shareable, onHeaders, Optional.of(endpoint));
+            }))
+            .orElseGet(() -> send(root, uri, request, responseTransformer, shareable, onHeaders, Optional.empty()));
+    }
+
+    private Mono<TransportRequest> authorize(TransportRequest request) {
+        if (request.getHeaders().containsKey(AUTHORIZATION)) {
+            return Mono.just(request);
+        }
+
+        return this.authorizationProvider.getAuthorization()
+            .map(authorization -> request.withHeader(AUTHORIZATION, authorization))
+            .defaultIfEmpty(request);
+    }
+
+    private String buildUri(String root, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
+        UriComponents parsedRoot = this.roots.computeIfAbsent(root, key -> UriComponentsBuilder.fromUriString(key).build());
+
         return uriTransformer
-            .apply(UriComponentsBuilder.fromUriString(root))
+            .apply(UriComponentsBuilder.newInstance().uriComponents(parsedRoot))
             .build().encode().toUriString();
     }
 
-    private <T> Function<Mono<HttpClientResponse>, Mono<T>> deserializedResponse(Class<T> responseType) {
+    private <T> Function<Mono<TransportResponse>, Mono<T>> deserializedResponse(Class<T> responseType) {
         return inbound -> inbound
-            .then(i -> i.receive().aggregate().toInputStream())
-            .map(JsonCodec.decode(this.objectMapper, responseType, Optional.of(responseLogger)));
+            .then(JsonCodec.decode(this.codecRegistry, responseType, Optional.of(this.responseLogger)));
+    }
+
+    private <T> Mono<T> exchange(HttpMethod method, ConnectionRole role, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
+                                 Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer, boolean authorized, Function<Mono<TransportResponse>, Mono<T>> responseTransformer) {
+
+        return exchange(method, role, uriTransformer, requestTransformer, authorized, responseTransformer, false);
+    }
+
+    private <T> Mono<T> exchange(HttpMethod method, ConnectionRole role, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
+                                 Function<TransportRequest.Builder, TransportRequest.Builder> requestTransformer, boolean authorized, Function<Mono<TransportResponse>, Mono<T>> responseTransformer,
+                                 boolean shareable) {
+
+        return this.root
+            .then(root -> {
+                String uri = buildUri(root, uriTransformer);
+                TransportRequest request = requestTransformer.apply(TransportRequest.builder().method(method.name()).role(role).uri(uri)).build();
+
+                Mono<T> authenticated = reauthenticate(request, authorized, authorizedRequest -> {
+                    Mono<T> exchange = this.hedgePolicy
+                        .filter(policy -> shareable)
+                        .map(policy -> policy.hedge(getEndpoint(method.name(), role, uri), onHeaders -> attempt(root, uri, authorizedRequest, responseTransformer, shareable, onHeaders)))
+                        .orElseGet(() -> attempt(root, uri, authorizedRequest, responseTransformer, shareable, NO_OP));
+
+                    return this.retryPolicy
+                        .filter(policy -> isIdempotent(method, role))
+                        .map(policy -> policy.retry(exchange))
+                        .orElse(exchange);
+                });
+
+                return this.requestCoalescer
+                    .filter(coalescer -> shareable)
+                    .map(coalescer -> coalescer.coalesce(this.authorizationProvider, uri, authenticated))
+                    .orElse(authenticated)
+                    .compose(invalidate(method, uri));
+            });
     }
 
-    private Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> logResponse(String uri) {
+    private <T> Function<Mono<T>, Mono<T>> invalidate(HttpMethod method, String uri) {
+        return publisher -> this.responseCache
+            .filter(cache -> HttpMethod.GET != method)
+            .map(cache -> publisher
+                .doOnSuccess(response -> cache.invalidate(uri))
+                .doOnError(t -> cache.invalidate(uri)))
+            .orElse(publisher);
+    }
+
+    private Function<Mono<TransportResponse>, Mono<TransportResponse>> logResponse(String uri, ExchangeRecorder recorder) {
         return inbound -> inbound
-            .doOnSuccess(i -> {
-                List<String> warnings = i.responseHeaders().getAll(CF_WARNINGS);
+            .doOnSuccess(response -> {
+                List<String> warnings = response.getHeaderValues(CF_WARNINGS);
+                recorder.response(response.getStatus(), warnings.size());
 
                 if (warnings.isEmpty()) {
-                    this.responseLogger.debug("{}    {}", i.status().code(), uri);
+                    this.responseLogger.debug("{}    {}", response.getStatus(), uri);
                 } else {
-                    this.responseLogger.warn("{}    {} ({})", i.status().code(), uri, StringUtils.collectionToCommaDelimitedString(warnings));
+                    this.responseLogger.warn("{}    {} ({})", response.getStatus(), uri, StringUtils.collectionToCommaDelimitedString(warnings));
                 }
-            })
-            .doOnError(t -> {
-                if (t instanceof HttpException) {
-                    this.responseLogger.debug("{}    {}", ((HttpException) t).getResponseStatus().code(), uri);
+            });
+    }
+
+    private Function<Mono<TransportResponse>, Mono<TransportResponse>> observeRateLimit() {
+        return inbound -> this.rateLimiter
+            .map(limiter -> inbound.doOnSuccess(response -> limiter.observe(response, this.authorizationProvider)))
+            .orElse(inbound);
+    }
+
+    private <T> Mono<T> reauthenticate(TransportRequest request, boolean authorized, Function<TransportRequest, Mono<T>> exchange) {
+        if (!authorized) {
+            return exchange.apply(request);
+        }
+
+        return authorize(request)
+            .then(authorizedRequest -> {
+                String authorization = authorizedRequest.getHeaders().get(AUTHORIZATION);
+
+                if (!(this.authorizationProvider instanceof RefreshableAuthorizationProvider) || authorization == null) {
+                    return exchange.apply(authorizedRequest);
                 }
+
+                RefreshableAuthorizationProvider provider = (RefreshableAuthorizationProvider) this.authorizationProvider;
+
+                return exchange.apply(authorizedRequest)
+                    .otherwise(t -> {
+                        if (!isUnauthorized(t)) {
+                            return Mono.error(t);
+                        }
+
+                        this.responseLogger.debug("Re-authenticating after rejected authorization");
+                        return provider.invalidate(authorization)
+                            .then(replay -> replay ? authorize(request).then(exchange) : Mono.error(t));
+                    });
             });
     }
 
-    private Mono<ByteBuf> serializedRequest(HttpClientRequest outbound, Object request) {
-        return Mono.just(request)
-            .filter(req -> this.objectMapper.canSerialize(req.getClass()))
-            .map(JsonCodec.encode(this.objectMapper, outbound));
+    private <T> TransportRequest revalidate(TransportRequest request, Optional<ResponseCache.Exchange<T>> cached) {
+        return cached
+            .map(exchange -> exchange.request(request))
+            .orElse(request);
+    }
+
+    private <T> Mono<T> send(String root, String uri, TransportRequest request, Function<Mono<TransportResponse>, Mono<T>> responseTransformer, boolean shareable, Runnable onHeaders,
+                             Optional<BalancedEndpoint> balancedEndpoint) {
+        ConnectionRole role = request.getRole();
+        Optional<ConcurrencyLimiter> concurrencyLimiter = this.concurrencyLimit
+            .filter(limit -> ConnectionRole.API == role)
+            .map(limit -> limit.getLimiters().get(root));
+
+        Mono<T> queued = this.exchangeQueues.get(root)
+            .acquire(Mono.defer(() -> {
+                ExchangeRecorder recorder = new ExchangeRecorder(request.getMethod(), uri);
+                Optional<ResponseCache.Exchange<T>> cached = this.responseCache
+                    .filter(cache -> shareable)
+                    .map(cache -> cache.exchange(this.authorizationProvider, uri));
+
+                String endpoint = getEndpoint(request.getMethod(), role, uri);
+
+                Mono<TransportResponse> transported = this.httpTransport
+                    .exchange(recorder.attach(revalidate(request, cached)))
+                    .doOnSubscribe(s -> this.requestLogger.debug("{} {}", getLabel(request.getMethod(), role), request.getUri()))
+                    .compose(timeout(role != ConnectionRole.TRANSFER ? this.timeouts.getResponse() : null));
+
+                Mono<TransportResponse> exchange = balancedEndpoint
+                    .map(balanced -> balanced.track(transported))
+                    .orElse(transported)
+                    .map(recorder::attach)
+                    .compose(logResponse(uri, recorder))
+                    .compose(observeRateLimit())
+                    .then(AbstractReactorOperations::checkStatus);
+
+                Mono<TransportResponse> protectedExchange = this.circuitBreakerPolicy
+                    .map(policy -> policy.getBreakers().get(endpoint).protect(exchange))
+                    .orElse(exchange);
+
+                return concurrencyLimiter
+                    .map(limiter -> limiter.sample(protectedExchange, endpoint))
+                    .orElse(protectedExchange)
+                    .doOnSuccess(response -> onHeaders.run())
+                    .compose(cached.map(cachedExchange -> cachedExchange.response(responseTransformer)).orElse(responseTransformer))
+                    .compose(timeout(role == ConnectionRole.API ? this.timeouts.getTotal() : null))
+                    .doOnSuccess(response -> this.metricsListener.onExchange(recorder.complete()))
+                    .doOnError(t -> this.metricsListener.onExchange(recorder.complete()));
+            }), this.priority, concurrencyLimiter);
+
+        return this.rateLimiter
+            .map(limiter -> limiter.limit(queued, this.priority, this.authorizationProvider))
+            .orElse(queued);
+    }
+
+    private TransportRequest.Builder serializedRequest(TransportRequest.Builder builder, Object request) {
+        if (!this.codecRegistry.getObjectMapper().canSerialize(request.getClass())) {
+            return builder;
+        }
+
+        return JsonCodec.encode(this.codecRegistry, builder, request);
     }
 
 }
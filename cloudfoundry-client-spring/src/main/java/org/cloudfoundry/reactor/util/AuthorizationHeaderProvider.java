@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import reactor.core.publisher.Mono;
+import reactor.io.netty.http.HttpClientRequest;
+
+/**
+ * An {@link AuthorizationProvider} that provides the value of the {@code Authorization} header rather than adding it to a request
+ */
+@FunctionalInterface
+public interface AuthorizationHeaderProvider extends AuthorizationProvider {
+
+    @Override
+    default Mono<HttpClientRequest> addAuthorization(HttpClientRequest outbound) {
+        return getAuthorization()
+            .map(authorization -> outbound.addHeader(ReactorNettyAdapters.AUTHORIZATION, authorization))
+            .defaultIfEmpty(outbound);
+    }
+
+    /**
+     * Returns the value of the {@code Authorization} header
+     *
+     * @return the value of the header, or empty if requests should not be authorized
+     */
+    @Override
+    Mono<String> getAuthorization();
+
+}
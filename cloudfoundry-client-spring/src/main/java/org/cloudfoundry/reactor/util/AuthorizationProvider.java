@@ -20,7 +20,8 @@ import reactor.core.publisher.Mono;
 import reactor.io.netty.http.HttpClientRequest;
 
 /**
- * A provider that adds the {@code Authorization} header to requests
+ * A provider that adds the {@code Authorization} header to requests.  Exchanges are no longer written through an {@link HttpClientRequest}, so operations ask for the value of the header with
+ * {@link #getAuthorization()}.  New providers should implement {@link AuthorizationHeaderProvider} instead.
  */
 public interface AuthorizationProvider {
 
@@ -32,4 +33,14 @@ public interface AuthorizationProvider {
      */
     Mono<HttpClientRequest> addAuthorization(HttpClientRequest outbound);
 
+    /**
+     * Returns the value of the {@code Authorization} header.  The default implementation passes a request that records its headers to {@link #addAuthorization(HttpClientRequest)}, so that
+     * providers written before operations were sent through an {@link HttpTransport} keep working.  Such a request supports setting headers only.
+     *
+     * @return the value of the header, or empty if requests should not be authorized
+     */
+    default Mono<String> getAuthorization() {
+        return ReactorNettyAdapters.getAuthorization(this);
+    }
+
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+/**
+ * A view of a {@link ConnectionContext} whose exchanges are authorized by a different {@link AuthorizationProvider}.  The view shares all of the state of the context it wraps, so many identities
+ * can send requests over the same connections, event loops, and TLS sessions.  Circuit breakers and concurrency limits, which protect the server, are shared with the wrapped context, while rate
+ * limits, cached responses, and coalesced responses are kept separately for each identity.
+ */
+public final class AuthorizedConnectionContext extends DelegatingConnectionContext {
+
+    private final AuthorizationProvider authorizationProvider;
+
+    /**
+     * Creates a new instance
+     *
+     * @param delegate              the context to share state with
+     * @param authorizationProvider the {@link AuthorizationProvider} for exchanges sent through this view
+     */
+    public AuthorizedConnectionContext(ConnectionContext delegate, AuthorizationProvider authorizationProvider) {
+        super(delegate);
+        this.authorizationProvider = authorizationProvider;
+    }
+
+    @Override
+    public AuthorizationProvider getAuthorizationProvider() {
+        return this.authorizationProvider;
+    }
+
+}
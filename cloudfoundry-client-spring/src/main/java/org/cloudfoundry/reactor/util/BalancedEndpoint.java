@@ -0,0 +1,195 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A single API endpoint of an {@link EndpointBalancer}.  The endpoint tracks the exchanges in flight to it and a moving average of their latency.  It is ejected from selection for a while after
+ * a run of consecutive failures.
+ */
+public final class BalancedEndpoint {
+
+    private static final double LATENCY_DECAY = 0.2;
+
+    private static final int SERVER_ERROR = 500;
+
+    private final String address;
+
+    private final Duration ejectionDuration;
+
+    private final int ejectionThreshold;
+
+    private final AtomicLong ejections = new AtomicLong();
+
+    private long ejectedUntil;
+
+    private int failures;
+
+    private final String host;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private double latency;
+
+    private final String root;
+
+    BalancedEndpoint(String address, String host, String root, _LoadBalancingPolicy policy) {
+        this.address = address;
+        this.ejectionDuration = policy.getEjectionDuration();
+        this.ejectionThreshold = policy.getEjectionThreshold();
+        this.host = host;
+        this.root = root;
+    }
+
+    /**
+     * Returns the address that connections to this endpoint are made to
+     *
+     * @return the address
+     */
+    public String getAddress() {
+        return this.address;
+    }
+
+    /**
+     * Returns the number of times this endpoint has been ejected
+     *
+     * @return the number of ejections
+     */
+    public long getEjections() {
+        return this.ejections.get();
+    }
+
+    /**
+     * Returns the host sent in the {@code Host} header of requests to this endpoint
+     *
+     * @return the host
+     */
+    public String getHost() {
+        return this.host;
+    }
+
+    /**
+     * Returns the number of exchanges currently in flight to this endpoint
+     *
+     * @return the number of exchanges in flight
+     */
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    /**
+     * Returns the moving average of the latency of exchanges with this endpoint
+     *
+     * @return the average latency
+     */
+    public synchronized Duration getLatency() {
+        return Duration.ofNanos((long) this.latency);
+    }
+
+    /**
+     * Returns the root that exchanges with this endpoint are sent to
+     *
+     * @return the root
+     */
+    public String getRoot() {
+        return this.root;
+    }
+
+    /**
+     * Returns whether this endpoint is currently ejected from selection
+     *
+     * @return {@code true} if the endpoint is ejected, otherwise {@code false}
+     */
+    public boolean isEjected() {
+        return !isAvailable(System.nanoTime());
+    }
+
+    TransportRequest addHost(TransportRequest request) {
+        if (!this.host.equals(this.address)) {
+            return request.withHeader("Host", this.host);
+        }
+
+        return request;
+    }
+
+    synchronized double getScore() {
+        return (this.inFlight.get() + 1) * Math.max(1, this.latency);
+    }
+
+    synchronized boolean isAvailable(long now) {
+        return this.ejectedUntil == 0 || now - this.ejectedUntil >= 0;
+    }
+
+    synchronized void onFailure() {
+        if (++this.failures >= this.ejectionThreshold) {
+            this.ejectedUntil = System.nanoTime() + this.ejectionDuration.toNanos();
+            this.ejections.incrementAndGet();
+            this.failures = 0;
+        }
+    }
+
+    synchronized void onSuccess(long latency) {
+        this.failures = 0;
+        this.latency = this.latency == 0 ? latency : this.latency + (latency - this.latency) * LATENCY_DECAY;
+    }
+
+    /**
+     * Tracks a single transport exchange with this endpoint.  Only the failures of the endpoint itself count towards ejection: errors raised by the transport, such as connection failures and
+     * timeouts, and responses with a server error status.  Every other response is a success, and a cancelled exchange is neither.
+     *
+     * @param exchange the exchange
+     * @return the tracked exchange
+     */
+    Mono<TransportResponse> track(Mono<TransportResponse> exchange) {
+        return Mono.defer(() -> {
+            AtomicBoolean complete = new AtomicBoolean();
+            long start = System.nanoTime();
+            this.inFlight.incrementAndGet();
+
+            return exchange
+                .doOnSuccess(response -> {
+                    if (complete.compareAndSet(false, true)) {
+                        this.inFlight.decrementAndGet();
+
+                        if (response != null && response.getStatus() >= SERVER_ERROR) {
+                            onFailure();
+                        } else {
+                            onSuccess(System.nanoTime() - start);
+                        }
+                    }
+                })
+                .doOnError(t -> {
+                    if (complete.compareAndSet(false, true)) {
+                        this.inFlight.decrementAndGet();
+                        onFailure();
+                    }
+                })
+                .doOnCancel(() -> {
+                    if (complete.compareAndSet(false, true)) {
+                        this.inFlight.decrementAndGet();
+                    }
+                });
+        });
+    }
+
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.cloudfoundry.util.CircuitBreakerOpenException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A circuit breaker for a single endpoint.  The breaker records the outcome of the most recent exchanges.  It opens when the failure rate or the slow call rate of those exchanges reaches its
+ * threshold.  While open, exchanges are rejected immediately with a {@link CircuitBreakerOpenException}.  After the open duration, a limited number of probe exchanges are let through.  The breaker
+ * closes if they all succeed and opens again if any of them fails.  A breaker wraps only the transport exchange, inside the rate and concurrency limits, so time spent waiting for a limit is
+ * never recorded as a slow call.
+ */
+public final class CircuitBreaker {
+
+    private static final byte FAILURE = 1;
+
+    private static final byte SLOW = 2;
+
+    private static final byte SUCCESS = 0;
+
+    private final String endpoint;
+
+    private int failures;
+
+    private int index;
+
+    private long openedAt;
+
+    private final byte[] outcomes;
+
+    private final _CircuitBreakerPolicy policy;
+
+    private int probes;
+
+    private int probeSuccesses;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private int size;
+
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+
+    private final LongSupplier ticker;
+
+    CircuitBreaker(String endpoint, _CircuitBreakerPolicy policy) {
+        this(endpoint, policy, System::nanoTime);
+    }
+
+    CircuitBreaker(String endpoint, _CircuitBreakerPolicy policy, LongSupplier ticker) {
+        this.endpoint = endpoint;
+        this.outcomes = new byte[policy.getWindowSize()];
+        this.policy = policy;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Returns the endpoint that this breaker protects
+     *
+     * @return the endpoint
+     */
+    public String getEndpoint() {
+        return this.endpoint;
+    }
+
+    /**
+     * Returns the fraction of recorded exchanges that failed
+     *
+     * @return the failure rate
+     */
+    public synchronized double getFailureRate() {
+        return this.size == 0 ? 0 : (double) this.failures / this.size;
+    }
+
+    /**
+     * Returns the number of exchanges rejected while the breaker was open
+     *
+     * @return the number of rejected exchanges
+     */
+    public long getRejected() {
+        return this.rejected.get();
+    }
+
+    /**
+     * Returns the fraction of recorded exchanges that were slower than the slow call duration
+     *
+     * @return the slow call rate
+     */
+    public synchronized double getSlowCallRate() {
+        return this.size == 0 ? 0 : (double) this.slowCalls / this.size;
+    }
+
+    /**
+     * Returns the current state of the breaker
+     *
+     * @return the current state
+     */
+    public synchronized State getState() {
+        if (this.state == State.OPEN && isOpenElapsed()) {
+            return State.HALF_OPEN;
+        }
+
+        return this.state;
+    }
+
+    <T> Mono<T> protect(Mono<T> exchange) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                this.rejected.incrementAndGet();
+                return Mono.error(new CircuitBreakerOpenException(this.endpoint));
+            }
+
+            long start = this.ticker.getAsLong();
+            AtomicBoolean recorded = new AtomicBoolean();
+
+            return exchange
+                .doOnSuccess(response -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        record(isSlow(start) ? SLOW : SUCCESS);
+                    }
+                })
+                .doOnError(t -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        record(isFailure(t) ? FAILURE : isSlow(start) ? SLOW : SUCCESS);
+                    }
+                })
+                .doOnCancel(() -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        releaseProbe();
+                    }
+                });
+        });
+    }
+
+    synchronized void record(byte outcome) {
+        if (this.state == State.HALF_OPEN) {
+            recordProbe(outcome);
+            return;
+        }
+
+        if (this.size == this.outcomes.length) {
+            forget(this.outcomes[this.index]);
+        } else {
+            this.size++;
+        }
+
+        this.outcomes[this.index] = outcome;
+        this.index = (this.index + 1) % this.outcomes.length;
+        remember(outcome);
+
+        if (this.state == State.CLOSED && this.size >= this.policy.getMinimumCalls() &&
+            (getFailureRate() >= this.policy.getFailureRateThreshold() || getSlowCallRate() >= this.policy.getSlowCallRateThreshold())) {
+            open();
+        }
+    }
+
+    synchronized boolean tryAcquire() {
+        if (this.state == State.CLOSED) {
+            return true;
+        }
+
+        if (this.state == State.OPEN) {
+            if (!isOpenElapsed()) {
+                return false;
+            }
+
+            this.state = State.HALF_OPEN;
+            this.probes = 0;
+            this.probeSuccesses = 0;
+        }
+
+        if (this.probes >= this.policy.getProbes()) {
+            return false;
+        }
+
+        this.probes++;
+        return true;
+    }
+
+    private static boolean isFailure(Throwable t) {
+        if (t instanceof IOException || t instanceof TimeoutException) {
+            return true;
+        }
+
+        return t instanceof HttpStatusException && ((HttpStatusException) t).getStatus() >= 500;
+    }
+
+    private void close() {
+        this.failures = 0;
+        this.index = 0;
+        this.size = 0;
+        this.slowCalls = 0;
+        this.state = State.CLOSED;
+    }
+
+    private void forget(byte outcome) {
+        if (outcome == FAILURE) {
+            this.failures--;
+        } else if (outcome == SLOW) {
+            this.slowCalls--;
+        }
+    }
+
+    private boolean isOpenElapsed() {
+        return this.ticker.getAsLong() - this.openedAt >= this.policy.getOpenDuration().toNanos();
+    }
+
+    private boolean isSlow(long start) {
+        return this.ticker.getAsLong() - start >= this.policy.getSlowCallDuration().toNanos();
+    }
+
+    private void open() {
+        this.openedAt = this.ticker.getAsLong();
+        this.state = State.OPEN;
+    }
+
+    private void recordProbe(byte outcome) {
+        if (outcome != SUCCESS) {
+            open();
+            return;
+        }
+
+        if (++this.probeSuccesses >= this.policy.getProbes()) {
+            close();
+        }
+    }
+
+    private synchronized void releaseProbe() {
+        if (this.state == State.HALF_OPEN && this.probes > 0) {
+            this.probes--;
+        }
+    }
+
+    private void remember(byte outcome) {
+        if (outcome == FAILURE) {
+            this.failures++;
+        } else if (outcome == SLOW) {
+            this.slowCalls++;
+        }
+    }
+
+    /**
+     * The states of a {@link CircuitBreaker}
+     */
+    public enum State {
+
+        /**
+         * Exchanges are let through and their outcomes recorded
+         */
+        CLOSED,
+
+        /**
+         * A limited number of probe exchanges are let through to test whether the endpoint has recovered
+         */
+        HALF_OPEN,
+
+        /**
+         * Exchanges are rejected without being sent
+         */
+        OPEN
+
+    }
+
+}
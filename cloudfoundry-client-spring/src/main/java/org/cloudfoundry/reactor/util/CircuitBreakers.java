@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@link CircuitBreaker}s of a {@link CircuitBreakerPolicy}, one per endpoint.  Endpoints are keyed by method and URI template (e.g. {@code GET /v2/apps/{guid}/stats}) so that a degraded
+ * subsystem only trips the endpoints that depend on it.  Breakers are not keyed by identity, so an open breaker rejects the exchanges of every identity sharing a {@link ConnectionContext}.
+ */
+public final class CircuitBreakers {
+
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private final _CircuitBreakerPolicy policy;
+
+    CircuitBreakers(_CircuitBreakerPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Returns the {@link CircuitBreaker} for an endpoint, creating it if needed
+     *
+     * @param endpoint the endpoint
+     * @return the {@link CircuitBreaker} for the endpoint
+     */
+    public CircuitBreaker get(String endpoint) {
+        return this.breakers.computeIfAbsent(endpoint, key -> new CircuitBreaker(key, this.policy));
+    }
+
+    /**
+     * Returns all of the {@link CircuitBreaker}s that have been created
+     *
+     * @return the {@link CircuitBreaker}s
+     */
+    public Collection<CircuitBreaker> getAll() {
+        return Collections.unmodifiableCollection(this.breakers.values());
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.util.ClassUtils;
+import reactor.core.util.Exceptions;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@link ObjectReader}s and {@link ObjectWriter}s used to decode responses and encode requests.  Each reader and writer is created once per type, resolving its root deserializer or serializer
+ * when it is created, so that steady-state exchanges never look them up again.
+ */
+public final class CodecRegistry {
+
+    private static final String AFTERBURNER_MODULE = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
+    private static final String[] DEFAULT_PACKAGES = {"org.cloudfoundry.client", "org.cloudfoundry.uaa"};
+
+    private final Logger logger = LoggerFactory.getLogger("cloudfoundry-client.codec");
+
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    CodecRegistry(ObjectMapper objectMapper, boolean afterburner) {
+        this.objectMapper = afterburner ? withAfterburner(objectMapper, this.logger) : objectMapper;
+    }
+
+    /**
+     * Returns the {@link ObjectMapper} that readers and writers are created from
+     *
+     * @return the {@link ObjectMapper}
+     */
+    public ObjectMapper getObjectMapper() {
+        return this.objectMapper;
+    }
+
+    /**
+     * Returns the {@link ObjectReader} for a type, creating it if needed
+     *
+     * @param type the type to read
+     * @return the {@link ObjectReader} for the type
+     */
+    public ObjectReader getReader(Class<?> type) {
+        return this.readers.computeIfAbsent(type, this.objectMapper::readerFor);
+    }
+
+    /**
+     * Returns the {@link ObjectWriter} for a type, creating it if needed
+     *
+     * @param type the type to write
+     * @return the {@link ObjectWriter} for the type
+     */
+    public ObjectWriter getWriter(Class<?> type) {
+        return this.writers.computeIfAbsent(type, this.objectMapper::writerFor);
+    }
+
+    /**
+     * Creates the readers for every {@code *Response} type and the writers for every {@code *Request} type in the Cloud Foundry and UAA client APIs
+     *
+     * @return the number of types warmed
+     */
+    public int warmUp() {
+        return warmUp(DEFAULT_PACKAGES);
+    }
+
+    /**
+     * Creates the readers for every concrete {@code *Response} type and the writers for every concrete {@code *Request} type in a collection of packages
+     *
+     * @param basePackages the packages to scan, including their sub-packages
+     * @return the number of types warmed
+     */
+    public int warmUp(String... basePackages) {
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+        MetadataReaderFactory metadataReaderFactory = new CachingMetadataReaderFactory(resolver);
+
+        int count = 0;
+        for (String basePackage : basePackages) {
+            for (Resource resource : getResources(resolver, basePackage)) {
+                if (warmUp(classLoader, metadataReaderFactory, resource)) {
+                    count++;
+                }
+            }
+        }
+
+        this.logger.debug("Warmed codecs for {} types", count);
+        return count;
+    }
+
+    private static Resource[] getResources(ResourcePatternResolver resolver, String basePackage) {
+        try {
+            return resolver.getResources(String.format("classpath*:%s/**/*.class", ClassUtils.convertClassNameToResourcePath(basePackage)));
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    private static ObjectMapper withAfterburner(ObjectMapper objectMapper, Logger logger) {
+        if (!ClassUtils.isPresent(AFTERBURNER_MODULE, CodecRegistry.class.getClassLoader())) {
+            logger.warn("Afterburner requested but {} is not on the classpath", AFTERBURNER_MODULE);
+            return objectMapper;
+        }
+
+        return Afterburner.register(objectMapper.copy());
+    }
+
+    private boolean warmUp(ClassLoader classLoader, MetadataReaderFactory metadataReaderFactory, Resource resource) {
+        try {
+            ClassMetadata metadata = metadataReaderFactory.getMetadataReader(resource).getClassMetadata();
+            if (!metadata.isConcrete() || metadata.hasEnclosingClass()) {
+                return false;
+            }
+
+            String className = metadata.getClassName();
+            if (className.endsWith("Response")) {
+                getReader(ClassUtils.forName(className, classLoader));
+                return true;
+            } else if (className.endsWith("Request")) {
+                getWriter(ClassUtils.forName(className, classLoader));
+                return true;
+            } else {
+                return false;
+            }
+        } catch (Exception | LinkageError e) {
+            this.logger.debug("Unable to warm codec for {}", resource, e);
+            return false;
+        }
+    }
+
+    /**
+     * Refers to the Afterburner module on behalf of {@link CodecRegistry}, so that the module's classes are only loaded once they are known to be on the classpath
+     */
+    private static final class Afterburner {
+
+        private Afterburner() {
+        }
+
+        private static ObjectMapper register(ObjectMapper objectMapper) {
+            return objectMapper.registerModule(new AfterburnerModule());
+        }
+
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.cloudfoundry.util.CircuitBreakerOpenException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An adaptive limit on the number of API exchanges in flight to a single root.  The limit grows by one for each round of exchanges that complete within the latency tolerance while the limit is in
+ * use.  It shrinks multiplicatively when latency rises above the tolerance or an exchange fails with a connection error, a timeout, or a {@code 5xx} response, but at most once per round: samples
+ * from exchanges that started before the last decrease do not shrink it again.  Latency is measured from the moment an exchange is sent until its response headers arrive, and is compared with a
+ * slowly decaying minimum kept for each endpoint template, so that a mix of fast and slow endpoints is not mistaken for congestion.  The limit is enforced by the {@link ExchangeQueue} of the root,
+ * so exchanges over the limit wait in its {@link Priority} lanes and are subject to its acquire timeout.  When more than the maximum queue size are waiting, further exchanges are rejected with a
+ * {@link java.util.concurrent.RejectedExecutionException}.
+ */
+public final class ConcurrencyLimiter {
+
+    private static final double BASELINE_DECAY = 0.01;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final double backoffRatio;
+
+    private final Map<String, Double> baselines = new HashMap<>();
+
+    private Long decreasedAt;
+
+    private double limit;
+
+    private final double latencyTolerance;
+
+    private final int maximumLimit;
+
+    private final int maximumQueueSize;
+
+    private final int minimumLimit;
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final String root;
+
+    ConcurrencyLimiter(String root, _ConcurrencyLimit configuration) {
+        this.backoffRatio = configuration.getBackoffRatio();
+        this.latencyTolerance = configuration.getLatencyTolerance();
+        this.limit = configuration.getInitialLimit();
+        this.maximumLimit = configuration.getMaximumLimit();
+        this.maximumQueueSize = configuration.getMaximumQueueSize();
+        this.minimumLimit = configuration.getMinimumLimit();
+        this.root = root;
+    }
+
+    /**
+     * Returns the number of exchanges currently in flight
+     *
+     * @return the number of active exchanges
+     */
+    public int getActive() {
+        return this.active.get();
+    }
+
+    /**
+     * Returns the current limit on the number of exchanges in flight
+     *
+     * @return the current limit
+     */
+    public synchronized int getLimit() {
+        return (int) this.limit;
+    }
+
+    /**
+     * Returns the number of exchanges waiting for the limit
+     *
+     * @return the number of pending exchanges
+     */
+    public int getPending() {
+        return this.pending.get();
+    }
+
+    /**
+     * Returns the number of exchanges rejected because the queue was full
+     *
+     * @return the number of rejected exchanges
+     */
+    public long getRejected() {
+        return this.rejected.get();
+    }
+
+    /**
+     * Returns the root that this limiter serves
+     *
+     * @return the root
+     */
+    public String getRoot() {
+        return this.root;
+    }
+
+    void dequeue() {
+        this.pending.decrementAndGet();
+    }
+
+    boolean enqueue() {
+        for (; ; ) {
+            int current = this.pending.get();
+            if (current >= this.maximumQueueSize) {
+                this.rejected.incrementAndGet();
+                return false;
+            }
+
+            if (this.pending.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    synchronized void onSample(String endpoint, long start, long end, boolean dropped, int inFlight) {
+        long latency = end - start;
+        Double previous = this.baselines.get(endpoint);
+        double baseline = previous == null || latency < previous ? latency : previous + (latency - previous) * BASELINE_DECAY;
+        this.baselines.put(endpoint, baseline);
+
+        if (dropped || latency > baseline * this.latencyTolerance) {
+            if (this.decreasedAt == null || start - this.decreasedAt >= 0) {
+                this.limit = Math.max(this.minimumLimit, this.limit * this.backoffRatio);
+                this.decreasedAt = end;
+            }
+        } else if (inFlight * 2 >= this.limit) {
+            this.limit = Math.min(this.maximumLimit, this.limit + 1 / this.limit);
+        }
+    }
+
+    void release() {
+        this.active.decrementAndGet();
+    }
+
+    <T> Mono<T> sample(Mono<T> exchange, String endpoint) {
+        return Mono.defer(() -> {
+            AtomicBoolean complete = new AtomicBoolean();
+            long start = System.nanoTime();
+
+            return exchange
+                .doOnSuccess(response -> {
+                    if (complete.compareAndSet(false, true)) {
+                        onSample(endpoint, start, System.nanoTime(), false, this.active.get());
+                    }
+                })
+                .doOnError(t -> {
+                    if (complete.compareAndSet(false, true) && !(t instanceof CircuitBreakerOpenException)) {
+                        onSample(endpoint, start, System.nanoTime(), isDropped(t), this.active.get());
+                    }
+                });
+        });
+    }
+
+    boolean tryAcquire() {
+        for (; ; ) {
+            int current = this.active.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+
+            if (this.active.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static boolean isDropped(Throwable t) {
+        if (t instanceof IOException || t instanceof TimeoutException) {
+            return true;
+        }
+
+        return t instanceof HttpStatusException && ((HttpStatusException) t).getStatus() >= 500;
+    }
+
+}
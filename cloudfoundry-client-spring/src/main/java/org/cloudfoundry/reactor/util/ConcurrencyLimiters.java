@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@link ConcurrencyLimiter}s of a {@link ConcurrencyLimit}, one per root, so that latency observed on one root cannot shrink the limit of another
+ */
+public final class ConcurrencyLimiters {
+
+    private final _ConcurrencyLimit configuration;
+
+    private final ConcurrentMap<String, ConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    ConcurrencyLimiters(_ConcurrencyLimit configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Returns the {@link ConcurrencyLimiter} for a root, creating it if needed
+     *
+     * @param root the root
+     * @return the {@link ConcurrencyLimiter} for the root
+     */
+    public ConcurrencyLimiter get(String root) {
+        return this.limiters.computeIfAbsent(root, key -> new ConcurrencyLimiter(key, this.configuration));
+    }
+
+    /**
+     * Returns all of the {@link ConcurrencyLimiter}s that have been created
+     *
+     * @return the {@link ConcurrencyLimiter}s
+     */
+    public Collection<ConcurrencyLimiter> getAll() {
+        return Collections.unmodifiableCollection(this.limiters.values());
+    }
+
+}
@@ -20,6 +20,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import reactor.core.publisher.Mono;
 import reactor.io.netty.http.HttpClient;
 
+import java.util.Optional;
+
+/**
+ * The settings and shared state that operations communicate with a Cloud Foundry instance through.  Only the methods of the original interface are abstract; the rest have defaults that disable the
+ * feature they configure, so that existing implementations keep working.  Those defaults create new state on every call, so an implementation whose operations should share queues, codecs or a
+ * transport must override them.
+ */
 public interface ConnectionContext {
 
     AuthorizationProvider getAuthorizationProvider();
@@ -28,12 +35,81 @@ public interface ConnectionContext {
 
     String getClientSecret();
 
+    default Optional<CircuitBreakerPolicy> getCircuitBreakerPolicy() {
+        return Optional.empty();
+    }
+
+    default CodecRegistry getCodecRegistry() {
+        return new CodecRegistry(getObjectMapper(), false);
+    }
+
+    default Optional<ConcurrencyLimit> getConcurrencyLimit() {
+        return Optional.empty();
+    }
+
+    default Optional<EndpointBalancer> getEndpointBalancer() {
+        return Optional.empty();
+    }
+
+    default Optional<EventLoopPolicy> getEventLoopPolicy() {
+        return Optional.empty();
+    }
+
+    default ExchangeQueues getExchangeQueues() {
+        return new ExchangeQueues(ExchangeQueues.DEFAULT_MAXIMUM_ACTIVE, ExchangeQueues.DEFAULT_ACQUIRE_TIMEOUT, ExchangeQueues.DEFAULT_STARVATION_THRESHOLD);
+    }
+
+    default Optional<HedgePolicy> getHedgePolicy() {
+        return Optional.empty();
+    }
+
     HttpClient getHttpClient();
 
+    default HttpClient getHttpClient(ConnectionRole role) {
+        return getHttpClient();
+    }
+
+    default HttpTransport getHttpTransport() {
+        return new ReactorNettyHttpTransport(this);
+    }
+
+    default MetricsListener getMetricsListener() {
+        return metrics -> {
+        };
+    }
+
     ObjectMapper getObjectMapper();
 
+    default Priority getPriority() {
+        return Priority.INTERACTIVE;
+    }
+
+    default Optional<RateLimiter> getRateLimiter() {
+        return Optional.empty();
+    }
+
+    default Optional<RequestCoalescer> getRequestCoalescer() {
+        return Optional.empty();
+    }
+
+    default Optional<ResponseCache> getResponseCache() {
+        return Optional.empty();
+    }
+
+    default Optional<RetryPolicy> getRetryPolicy() {
+        return Optional.empty();
+    }
+
     Mono<String> getRoot();
 
     Mono<String> getRoot(String key);
 
+    default SocketOptions getSocketOptions(ConnectionRole role) {
+        return SocketOptions.builder().build();
+    }
+
+    default Timeouts getTimeouts() {
+        return Timeouts.builder().build();
+    }
+
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+/**
+ * The role of a connection, used to select the {@link SocketOptions} applied to it
+ */
+public enum ConnectionRole {
+
+    /**
+     * Control-plane requests and responses, typically small JSON payloads
+     */
+    API,
+
+    /**
+     * Uploads and downloads of application bits, droplets, packages, and logs
+     */
+    TRANSFER,
+
+    /**
+     * Long-lived websocket streams such as the firehose
+     */
+    WEBSOCKET
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.publisher.Mono;
+import reactor.io.netty.http.HttpClient;
+
+import java.util.Optional;
+
+/**
+ * A view of a {@link ConnectionContext} that forwards every method to the context it wraps.  Subclasses override only the methods that differ, so a view shares the connections, event loops, and
+ * policies of the context it wraps.
+ */
+public abstract class DelegatingConnectionContext implements ConnectionContext {
+
+    private final ConnectionContext delegate;
+
+    /**
+     * Creates a new instance
+     *
+     * @param delegate the context to share state with
+     */
+    protected DelegatingConnectionContext(ConnectionContext delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public AuthorizationProvider getAuthorizationProvider() {
+        return this.delegate.getAuthorizationProvider();
+    }
+
+    @Override
+    public Optional<CircuitBreakerPolicy> getCircuitBreakerPolicy() {
+        return this.delegate.getCircuitBreakerPolicy();
+    }
+
+    @Override
+    public String getClientId() {
+        return this.delegate.getClientId();
+    }
+
+    @Override
+    public String getClientSecret() {
+        return this.delegate.getClientSecret();
+    }
+
+    @Override
+    public CodecRegistry getCodecRegistry() {
+        return this.delegate.getCodecRegistry();
+    }
+
+    @Override
+    public Optional<ConcurrencyLimit> getConcurrencyLimit() {
+        return this.delegate.getConcurrencyLimit();
+    }
+
+    @Override
+    public Optional<EndpointBalancer> getEndpointBalancer() {
+        return this.delegate.getEndpointBalancer();
+    }
+
+    @Override
+    public Optional<EventLoopPolicy> getEventLoopPolicy() {
+        return this.delegate.getEventLoopPolicy();
+    }
+
+    @Override
+    public ExchangeQueues getExchangeQueues() {
+        return this.delegate.getExchangeQueues();
+    }
+
+    @Override
+    public Optional<HedgePolicy> getHedgePolicy() {
+        return this.delegate.getHedgePolicy();
+    }
+
+    @Override
+    public HttpClient getHttpClient() {
+        return this.delegate.getHttpClient();
+    }
+
+    @Override
+    public HttpClient getHttpClient(ConnectionRole role) {
+        return this.delegate.getHttpClient(role);
+    }
+
+    @Override
+    public HttpTransport getHttpTransport() {
+        return this.delegate.getHttpTransport();
+    }
+
+    @Override
+    public MetricsListener getMetricsListener() {
+        return this.delegate.getMetricsListener();
+    }
+
+    @Override
+    public ObjectMapper getObjectMapper() {
+        return this.delegate.getObjectMapper();
+    }
+
+    @Override
+    public Priority getPriority() {
+        return this.delegate.getPriority();
+    }
+
+    @Override
+    public Optional<RateLimiter> getRateLimiter() {
+        return this.delegate.getRateLimiter();
+    }
+
+    @Override
+    public Optional<RequestCoalescer> getRequestCoalescer() {
+        return this.delegate.getRequestCoalescer();
+    }
+
+    @Override
+    public Optional<ResponseCache> getResponseCache() {
+        return this.delegate.getResponseCache();
+    }
+
+    @Override
+    public Optional<RetryPolicy> getRetryPolicy() {
+        return this.delegate.getRetryPolicy();
+    }
+
+    @Override
+    public Mono<String> getRoot() {
+        return this.delegate.getRoot();
+    }
+
+    @Override
+    public Mono<String> getRoot(String key) {
+        return this.delegate.getRoot(key);
+    }
+
+    @Override
+    public SocketOptions getSocketOptions(ConnectionRole role) {
+        return this.delegate.getSocketOptions(role);
+    }
+
+    @Override
+    public Timeouts getTimeouts() {
+        return this.delegate.getTimeouts();
+    }
+
+}
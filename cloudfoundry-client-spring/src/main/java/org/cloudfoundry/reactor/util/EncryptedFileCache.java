@@ -0,0 +1,287 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cache of small documents, such as tokens and the {@code /v2/info} document, that outlives the process.  Each entry is stored in its own file, encrypted with AES-GCM under a key derived from a
+ * passphrase, so that short-lived processes can reuse what an earlier process fetched.  The cache is best effort: an entry that cannot be read or decrypted is treated as missing, and a failure to
+ * write an entry is logged and ignored.  Entries are encrypted and written on a dedicated thread, so that storing an entry never blocks an event loop on file I/O, and an entry that is still waiting
+ * to be written is returned from memory.  The thread keeps the process alive until the entries waiting for it have been written.
+ */
+public final class EncryptedFileCache {
+
+    private static final int ITERATIONS = 65536;
+
+    private static final int IV_LENGTH = 12;
+
+    private static final int KEY_LENGTH = 128;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String SALT_FILE = "salt";
+
+    private static final int SALT_LENGTH = 16;
+
+    private static final int TAG_LENGTH = 128;
+
+    private final Path directory;
+
+    private final SecretKey key;
+
+    private final Logger logger = LoggerFactory.getLogger("cloudfoundry-client.cache");
+
+    private final ConcurrentMap<String, Optional<Map<String, String>>> pending = new ConcurrentHashMap<>();
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final ExecutorService writer = new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DefaultThreadFactory("cloudfoundry-client-cache"));
+
+    /**
+     * Creates an instance, creating the directory if it does not exist
+     *
+     * @param directory  the directory that entries are stored in
+     * @param passphrase the passphrase that the encryption key is derived from
+     */
+    public EncryptedFileCache(Path directory, char[] passphrase) {
+        this.directory = directory;
+        this.key = deriveKey(passphrase, getSalt(directory, this.random));
+    }
+
+    /**
+     * Waits until the entries already stored or removed have been written
+     */
+    public void flush() {
+        try {
+            this.writer.submit(() -> {
+            }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns an entry
+     *
+     * @param name the name of the entry
+     * @return the entry, or empty if there is no entry or it cannot be read
+     */
+    public Optional<Map<String, String>> get(String name) {
+        Optional<Map<String, String>> pendingEntry = this.pending.get(name);
+        if (pendingEntry != null) {
+            return pendingEntry;
+        }
+
+        Path file = getFile(name);
+
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] content = Files.readAllBytes(file);
+
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, this.key, new GCMParameterSpec(TAG_LENGTH, content, 0, IV_LENGTH));
+            cipher.updateAAD(name.getBytes(StandardCharsets.UTF_8));
+
+            return Optional.of(OBJECT_MAPPER.readValue(cipher.doFinal(content, IV_LENGTH, content.length - IV_LENGTH), new TypeReference<Map<String, String>>() {
+
+            }));
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            this.logger.debug("Unable to read cache entry {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores an entry, replacing any existing entry with the same name.  The entry is written in the background.
+     *
+     * @param name  the name of the entry
+     * @param entry the entry
+     */
+    public void put(String name, Map<String, String> entry) {
+        Optional<Map<String, String>> pendingEntry = Optional.of(Collections.unmodifiableMap(new HashMap<>(entry)));
+        this.pending.put(name, pendingEntry);
+
+        this.writer.execute(() -> {
+            try {
+                store(name, pendingEntry.get());
+            } finally {
+                this.pending.remove(name, pendingEntry);
+            }
+        });
+    }
+
+    /**
+     * Removes an entry.  The entry is removed in the background.
+     *
+     * @param name the name of the entry
+     */
+    public void remove(String name) {
+        Optional<Map<String, String>> pendingEntry = Optional.empty();
+        this.pending.put(name, pendingEntry);
+
+        this.writer.execute(() -> {
+            try {
+                delete(name);
+            } finally {
+                this.pending.remove(name, pendingEntry);
+            }
+        });
+    }
+
+    private static SecretKey deriveKey(char[] passphrase, byte[] salt) {
+        try {
+            byte[] key = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256")
+                .generateSecret(new PBEKeySpec(passphrase, salt, ITERATIONS, KEY_LENGTH))
+                .getEncoded();
+
+            return new SecretKeySpec(key, "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] getSalt(Path directory, SecureRandom random) {
+        Path file = directory.resolve(SALT_FILE);
+
+        try {
+            if (!Files.exists(file)) {
+                byte[] salt = new byte[SALT_LENGTH];
+                random.nextBytes(salt);
+
+                try {
+                    write(directory, file, salt, false);
+                } catch (FileAlreadyExistsException e) {
+                    // Another process created the salt first, so its salt is used
+                }
+            }
+
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("Unable to initialize cache in %s", directory), e);
+        }
+    }
+
+    private static boolean isPosix() {
+        return FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    }
+
+    private static void write(Path directory, Path file, byte[] content, boolean replace) throws IOException {
+        if (isPosix()) {
+            Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } else {
+            Files.createDirectories(directory);
+        }
+
+        Path temporary = isPosix() ? Files.createTempFile(directory, null, null, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")))
+            : Files.createTempFile(directory, null, null);
+
+        try {
+            Files.write(temporary, content);
+            if (replace) {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.move(temporary, file);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void delete(String name) {
+        try {
+            Files.deleteIfExists(getFile(name));
+        } catch (IOException e) {
+            this.logger.warn("Unable to remove cache entry {}: {}", name, e.getMessage());
+        }
+    }
+
+    private Path getFile(String name) {
+        try {
+            StringBuilder fileName = new StringBuilder();
+
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(name.getBytes(StandardCharsets.UTF_8))) {
+                fileName.append(String.format("%02x", b));
+            }
+
+            return this.directory.resolve(fileName.toString());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void store(String name, Map<String, String> entry) {
+        Path file = getFile(name);
+
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            this.random.nextBytes(iv);
+
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, this.key, new GCMParameterSpec(TAG_LENGTH, iv));
+            cipher.updateAAD(name.getBytes(StandardCharsets.UTF_8));
+            byte[] encrypted = cipher.doFinal(OBJECT_MAPPER.writeValueAsBytes(entry));
+
+            byte[] content = new byte[IV_LENGTH + encrypted.length];
+            System.arraycopy(iv, 0, content, 0, IV_LENGTH);
+            System.arraycopy(encrypted, 0, content, IV_LENGTH, encrypted.length);
+
+            write(this.directory, file, content, true);
+        } catch (IOException | GeneralSecurityException e) {
+            this.logger.warn("Unable to write cache entry {}: {}", file, e.getMessage());
+        }
+    }
+
+}
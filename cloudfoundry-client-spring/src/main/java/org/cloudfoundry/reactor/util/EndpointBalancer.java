@@ -0,0 +1,233 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Spreads the exchanges sent to the API root of a {@link ConnectionContext} across several endpoints.  Each exchange picks two endpoints at random and is sent to the one with the lower product of
+ * exchanges in flight and average latency.  Ejected endpoints are skipped unless every endpoint is ejected.  When DNS resolution is enabled, hosts are resolved periodically and each address
+ * becomes an endpoint, keeping the statistics of addresses that remain.  Hosts are first resolved when an endpoint is first needed, and periodic resolution stops when the balancer is disposed.
+ */
+public final class EndpointBalancer {
+
+    private static final int DEFAULT_PORT = 443;
+
+    private final Logger logger = LoggerFactory.getLogger("cloudfoundry-client.balancer");
+
+    private boolean disposed;
+
+    private volatile List<BalancedEndpoint> endpoints = Collections.emptyList();
+
+    private ScheduledExecutorService executor;
+
+    private final List<String> hosts;
+
+    private final _LoadBalancingPolicy policy;
+
+    private final int port;
+
+    private final String root;
+
+    private volatile boolean started;
+
+    EndpointBalancer(String root, List<String> hosts, int port, _LoadBalancingPolicy policy) {
+        this.hosts = hosts;
+        this.policy = policy;
+        this.port = port;
+        this.root = root;
+    }
+
+    /**
+     * Stops resolving hosts periodically
+     */
+    public synchronized void dispose() {
+        this.disposed = true;
+
+        if (this.executor != null) {
+            this.executor.shutdown();
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Returns the endpoints that exchanges are currently spread across, resolving the hosts if they have not been resolved yet
+     *
+     * @return the endpoints
+     */
+    public List<BalancedEndpoint> getEndpoints() {
+        start();
+        return this.endpoints;
+    }
+
+    Optional<String> getServerName(InetSocketAddress remoteAddress) {
+        if (this.port != remoteAddress.getPort()) {
+            return Optional.empty();
+        }
+
+        String address = remoteAddress.isUnresolved() ? remoteAddress.getHostString() : remoteAddress.getAddress().getHostAddress();
+
+        return this.endpoints.stream()
+            .filter(endpoint -> !endpoint.getHost().equals(endpoint.getAddress()))
+            .filter(endpoint -> unbracket(endpoint.getAddress()).equals(unbracket(address)))
+            .findFirst()
+            .flatMap(endpoint -> this.hosts.stream()
+                .filter(host -> getHostHeader(host).equals(endpoint.getHost()))
+                .findFirst());
+    }
+
+    boolean isBalanced(String root) {
+        return this.root.equals(root);
+    }
+
+    String rewrite(BalancedEndpoint endpoint, String uri) {
+        return UriComponentsBuilder.fromUriString(uri)
+            .host(endpoint.getAddress())
+            .port(this.port)
+            .build(true)
+            .toUriString();
+    }
+
+    BalancedEndpoint select() {
+        List<BalancedEndpoint> candidates = getEndpoints();
+        long now = System.nanoTime();
+
+        List<BalancedEndpoint> available = candidates.stream()
+            .filter(endpoint -> endpoint.isAvailable(now))
+            .collect(Collectors.toList());
+
+        if (!available.isEmpty()) {
+            candidates = available;
+        }
+
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        BalancedEndpoint a = candidates.get(first);
+        BalancedEndpoint b = candidates.get(second);
+        return a.getScore() <= b.getScore() ? a : b;
+    }
+
+    synchronized void refresh() {
+        Map<String, BalancedEndpoint> previous = this.endpoints.stream()
+            .collect(Collectors.toMap(BalancedEndpoint::getAddress, Function.identity()));
+
+        List<BalancedEndpoint> endpoints = new ArrayList<>();
+
+        for (String host : this.hosts) {
+            for (String address : resolve(host, previous)) {
+                BalancedEndpoint endpoint = previous.get(address);
+                endpoints.add(endpoint != null ? endpoint : new BalancedEndpoint(address, getHostHeader(host), getRoot(address), this.policy));
+            }
+        }
+
+        if (!endpoints.isEmpty()) {
+            this.endpoints = Collections.unmodifiableList(endpoints);
+        }
+    }
+
+    private static String unbracket(String address) {
+        return address.startsWith("[") && address.endsWith("]") ? address.substring(1, address.length() - 1) : address;
+    }
+
+    private String getHostHeader(String host) {
+        return this.port == DEFAULT_PORT ? host : String.format("%s:%d", host, this.port);
+    }
+
+    private String getRoot(String address) {
+        return UriComponentsBuilder.newInstance()
+            .scheme("https")
+            .host(address)
+            .port(this.port)
+            .build()
+            .encode()
+            .toUriString();
+    }
+
+    private List<String> resolve(String host, Map<String, BalancedEndpoint> previous) {
+        if (!this.policy.getResolveDns()) {
+            return Collections.singletonList(host);
+        }
+
+        try {
+            List<String> addresses = new ArrayList<>();
+
+            for (InetAddress address : InetAddress.getAllByName(host)) {
+                String hostAddress = address.getHostAddress();
+                addresses.add(hostAddress.contains(":") ? String.format("[%s]", hostAddress) : hostAddress);
+            }
+
+            return addresses;
+        } catch (UnknownHostException e) {
+            this.logger.warn("Unable to resolve {}, keeping its previous addresses", host, e);
+
+            return previous.values().stream()
+                .filter(endpoint -> endpoint.getHost().equals(getHostHeader(host)))
+                .map(BalancedEndpoint::getAddress)
+                .collect(Collectors.toList());
+        }
+    }
+
+    private void start() {
+        if (this.started) {
+            return;
+        }
+
+        synchronized (this) {
+            if (this.started) {
+                return;
+            }
+
+            refresh();
+
+            if (this.policy.getResolveDns() && !this.disposed) {
+                long interval = this.policy.getDnsRefreshInterval().toMillis();
+                this.executor = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("cloudfoundry-client-dns", true));
+                this.executor.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+            }
+
+            this.started = true;
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The event loops of an {@link EventLoopPolicy}, one group per {@link ConnectionRole}.  Groups are created when first used and their threads are daemon threads named after their role.
+ */
+public final class EventLoopGroups {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("cloudfoundry-client.transport");
+
+    private final ConcurrentMap<ConnectionRole, EventLoopGroup> groups = new ConcurrentHashMap<>();
+
+    private final boolean nativeTransport;
+
+    private final _EventLoopPolicy policy;
+
+    EventLoopGroups(_EventLoopPolicy policy) {
+        this.nativeTransport = policy.getPreferNative() && isNativeAvailable();
+        this.policy = policy;
+    }
+
+    /**
+     * Shuts down the groups that have been created, letting the tasks already queued on them complete
+     */
+    public void dispose() {
+        this.groups.values().forEach(EventLoopGroup::shutdownGracefully);
+    }
+
+    /**
+     * Returns the event loop group for a role, creating it if needed
+     *
+     * @param role the role
+     * @return the event loop group for the role
+     */
+    public EventLoopGroup get(ConnectionRole role) {
+        return this.groups.computeIfAbsent(role, this::create);
+    }
+
+    /**
+     * Returns the number of tasks waiting in the queue of each event loop serving a role.  A queue that stays deep means that the loop is saturated.
+     *
+     * @param role the role
+     * @return the number of pending tasks of each event loop
+     */
+    public List<Integer> getPendingTasks(ConnectionRole role) {
+        List<Integer> pendingTasks = new ArrayList<>();
+
+        EventLoopGroup group = this.groups.get(role);
+        if (group != null) {
+            for (EventExecutor executor : group) {
+                if (executor instanceof SingleThreadEventExecutor) {
+                    pendingTasks.add(((SingleThreadEventExecutor) executor).pendingTasks());
+                }
+            }
+        }
+
+        return pendingTasks;
+    }
+
+    /**
+     * Returns whether the event loops use the native epoll transport
+     *
+     * @return {@code true} if the native transport is used, otherwise {@code false}
+     */
+    public boolean isNative() {
+        return this.nativeTransport;
+    }
+
+    static EventLoopGroup create(String name, int threads, boolean nativeTransport) {
+        ThreadFactory threadFactory = new DefaultThreadFactory(name, true);
+        return nativeTransport ? new EpollEventLoopGroup(threads, threadFactory) : new NioEventLoopGroup(threads, threadFactory);
+    }
+
+    static boolean isNativeAvailable() {
+        if (Epoll.isAvailable()) {
+            return true;
+        }
+
+        LOGGER.info("Native epoll transport unavailable, falling back to NIO: {}", Epoll.unavailabilityCause().getMessage());
+        return false;
+    }
+
+    private EventLoopGroup create(ConnectionRole role) {
+        return create(String.format("cloudfoundry-client-%s", role.name().toLowerCase(Locale.ENGLISH)), getThreads(role), this.nativeTransport);
+    }
+
+    private int getThreads(ConnectionRole role) {
+        switch (role) {
+            case TRANSFER:
+                return this.policy.getTransferThreads();
+            case WEBSOCKET:
+                return this.policy.getWebSocketThreads();
+            default:
+                return this.policy.getApiThreads();
+        }
+    }
+
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A bound on the number of exchanges in flight to a single root.  Each exchange holds a slot from the time it is subscribed to until it completes, errors, or is cancelled.  Exchanges that cannot
+ * acquire a slot wait, in {@link Priority} order, until one is released or the acquire timeout elapses.  An exchange that is subject to a {@link ConcurrencyLimiter} also needs a permit from it
+ * before it is given a slot, so that the adaptive limit is enforced in the same lanes and under the same timeout.  The queue does not own connections.  The {@link reactor.io.netty.http.HttpClient} opens a
+ * connection for each exchange and has no pool, so the bound on exchanges is also the bound on connections to the root; there are no idle connections to evict or report.
+ */
+public final class ExchangeQueue {
+
+    private final Duration acquireTimeout;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final int maximumActive;
+
+    private final String root;
+
+    private final PriorityScheduler<Waiter> waiters;
+
+    ExchangeQueue(String root, int maximumActive, Duration acquireTimeout, Duration starvationThreshold) {
+        this.acquireTimeout = acquireTimeout;
+        this.maximumActive = maximumActive;
+        this.root = root;
+        this.waiters = new PriorityScheduler<>(starvationThreshold);
+    }
+
+    /**
+     * Returns the number of slots currently held by exchanges
+     *
+     * @return the number of active exchanges
+     */
+    public int getActive() {
+        return this.active.get();
+    }
+
+    /**
+     * Returns the number of slots that can be acquired without waiting
+     *
+     * @return the number of available slots
+     */
+    public int getAvailable() {
+        return Math.max(0, this.maximumActive - this.active.get());
+    }
+
+    /**
+     * Returns the waiters of a single priority
+     *
+     * @param priority the priority
+     * @return the lane for the priority
+     */
+    public PriorityScheduler.Lane getLane(Priority priority) {
+        return this.waiters.getLane(priority);
+    }
+
+    /**
+     * Returns the maximum number of exchanges that can be in flight at the same time
+     *
+     * @return the maximum number of active exchanges
+     */
+    public int getMaximumActive() {
+        return this.maximumActive;
+    }
+
+    /**
+     * Returns the number of exchanges waiting to acquire a slot
+     *
+     * @return the number of pending acquires
+     */
+    public int getPending() {
+        return this.waiters.size();
+    }
+
+    /**
+     * Returns the root that this queue serves
+     *
+     * @return the root
+     */
+    public String getRoot() {
+        return this.root;
+    }
+
+    <T> Mono<T> acquire(Mono<T> exchange) {
+        return acquire(exchange, Priority.INTERACTIVE);
+    }
+
+    <T> Mono<T> acquire(Mono<T> exchange, Priority priority) {
+        return acquire(exchange, priority, Optional.empty());
+    }
+
+    <T> Mono<T> acquire(Mono<T> exchange, Priority priority, Optional<ConcurrencyLimiter> limiter) {
+        return Mono.defer(() -> lease(priority, limiter)
+            .then(lease -> exchange
+                .doOnSuccess(response -> lease.release())
+                .doOnError(t -> lease.release())
+                .doOnCancel(lease::release)));
+    }
+
+    private synchronized void cancel(Waiter waiter) {
+        if (this.waiters.remove(waiter)) {
+            waiter.limiter.ifPresent(ConcurrencyLimiter::dequeue);
+        }
+    }
+
+    private void drain() {
+        List<Waiter> admitted = new ArrayList<>();
+
+        synchronized (this) {
+            for (; ; ) {
+                Waiter waiter = this.waiters.poll(this::tryAcquire);
+                if (waiter == null) {
+                    break;
+                }
+
+                waiter.limiter.ifPresent(ConcurrencyLimiter::dequeue);
+                admitted.add(waiter);
+            }
+        }
+
+        admitted.forEach(waiter -> {
+            Lease lease = new Lease(waiter.limiter);
+
+            if (!waiter.grant(lease)) {
+                lease.release();
+            }
+        });
+    }
+
+    private Mono<Lease> lease(Priority priority, Optional<ConcurrencyLimiter> limiter) {
+        Waiter waiter = new Waiter(limiter);
+
+        synchronized (this) {
+            if (this.waiters.isEmpty() && tryAcquire(waiter)) {
+                return Mono.just(new Lease(limiter));
+            }
+
+            if (limiter.isPresent() && !limiter.get().enqueue()) {
+                return Mono.error(new RejectedExecutionException(String.format("Concurrency limit queue for %s is full", this.root)));
+            }
+
+            this.waiters.add(priority, waiter);
+        }
+
+        drain();
+
+        return waiter.processor
+            .doOnCancel(() -> {
+                cancel(waiter);
+                waiter.cancel();
+            })
+            .timeout(this.acquireTimeout);
+    }
+
+    private void release(Optional<ConcurrencyLimiter> limiter) {
+        limiter.ifPresent(ConcurrencyLimiter::release);
+        this.active.decrementAndGet();
+        drain();
+    }
+
+    private boolean tryAcquire(Waiter waiter) {
+        if (this.active.get() >= this.maximumActive) {
+            return false;
+        }
+
+        if (waiter.limiter.isPresent() && !waiter.limiter.get().tryAcquire()) {
+            return false;
+        }
+
+        this.active.incrementAndGet();
+        return true;
+    }
+
+    private final class Lease {
+
+        private final Optional<ConcurrencyLimiter> limiter;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(Optional<ConcurrencyLimiter> limiter) {
+            this.limiter = limiter;
+        }
+
+        private void release() {
+            if (this.released.compareAndSet(false, true)) {
+                ExchangeQueue.this.release(this.limiter);
+            }
+        }
+
+    }
+
+    private static final class Waiter {
+
+        private static final Object CANCELLED = new Object();
+
+        private final Optional<ConcurrencyLimiter> limiter;
+
+        private final MonoProcessor<Lease> processor = MonoProcessor.create();
+
+        private final AtomicReference<Object> state = new AtomicReference<>();
+
+        private Waiter(Optional<ConcurrencyLimiter> limiter) {
+            this.limiter = limiter;
+        }
+
+        private void cancel() {
+            Object previous = this.state.getAndSet(CANCELLED);
+
+            if (previous instanceof Lease) {
+                ((Lease) previous).release();
+            }
+        }
+
+        private boolean grant(Lease lease) {
+            if (!this.state.compareAndSet(null, lease)) {
+                return false;
+            }
+
+            this.processor.onNext(lease);
+            return true;
+        }
+
+    }
+
+}
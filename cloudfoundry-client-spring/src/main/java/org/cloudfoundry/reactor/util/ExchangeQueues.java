@@ -0,0 +1,70 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@link ExchangeQueue}s of a {@link ConnectionContext}, one per root.  The API root and each of the roots returned by {@link ConnectionContext#getRoot(String)} get their own queue so that
+ * traffic to one cannot exhaust the slots of another.  Queues are keyed by the root that operations are configured with, so the endpoints of a balanced root share its queue.
+ */
+public final class ExchangeQueues {
+
+    static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofSeconds(45);
+
+    static final int DEFAULT_MAXIMUM_ACTIVE = 256;
+
+    static final Duration DEFAULT_STARVATION_THRESHOLD = Duration.ofSeconds(1);
+
+    private final Duration acquireTimeout;
+
+    private final int maximumActive;
+
+    private final ConcurrentMap<String, ExchangeQueue> queues = new ConcurrentHashMap<>();
+
+    private final Duration starvationThreshold;
+
+    ExchangeQueues(int maximumActive, Duration acquireTimeout, Duration starvationThreshold) {
+        this.acquireTimeout = acquireTimeout;
+        this.maximumActive = maximumActive;
+        this.starvationThreshold = starvationThreshold;
+    }
+
+    /**
+     * Returns the {@link ExchangeQueue} for a root, creating it if needed
+     *
+     * @param root the root
+     * @return the {@link ExchangeQueue} for the root
+     */
+    public ExchangeQueue get(String root) {
+        return this.queues.computeIfAbsent(root, key -> new ExchangeQueue(key, this.maximumActive, this.acquireTimeout, this.starvationThreshold));
+    }
+
+    /**
+     * Returns all of the {@link ExchangeQueue}s that have been created
+     *
+     * @return the {@link ExchangeQueue}s
+     */
+    public Collection<ExchangeQueue> getAll() {
+        return Collections.unmodifiableCollection(this.queues.values());
+    }
+
+}
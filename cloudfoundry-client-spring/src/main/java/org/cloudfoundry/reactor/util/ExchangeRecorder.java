@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Records the metrics of a single exchange as it progresses
+ */
+final class ExchangeRecorder {
+
+    private static final int CRLF_LENGTH = 2;
+
+    private static final int HEADER_DELIMITER_LENGTH = 2;
+
+    private final AtomicLong bytesReceived = new AtomicLong();
+
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    private final String method;
+
+    private final long start = System.nanoTime();
+
+    private final String uri;
+
+    private volatile long response = -1;
+
+    private volatile Integer status;
+
+    private volatile int warnings;
+
+    ExchangeRecorder(String method, String uri) {
+        this.method = method;
+        this.uri = uri;
+    }
+
+    TransportRequest attach(TransportRequest request) {
+        this.bytesSent.addAndGet(getRequestHeadersSize(request.getHeaders()));
+
+        if (request.getBody() == null) {
+            return request;
+        }
+
+        Function<ByteBufAllocator, Publisher<ByteBuf>> body = request.getBody();
+
+        return request.withBody(allocator -> Flux.from(body.apply(allocator))
+            .doOnNext(buffer -> this.bytesSent.addAndGet(buffer.readableBytes())));
+    }
+
+    TransportResponse attach(TransportResponse response) {
+        this.bytesReceived.addAndGet(getResponseHeadersSize(response.getHeaders()));
+
+        return response.withBody(response.getBody()
+            .doOnNext(buffer -> this.bytesReceived.addAndGet(buffer.readableBytes())));
+    }
+
+    ExchangeMetrics complete() {
+        long now = System.nanoTime();
+        long response = this.response;
+
+        return ExchangeMetrics.builder()
+            .bytesReceived(this.bytesReceived.get())
+            .bytesSent(this.bytesSent.get())
+            .latency(Duration.ofNanos(now - this.start))
+            .method(this.method)
+            .status(this.status)
+            .timeToFirstByte(response != -1 ? Duration.ofNanos(response - this.start) : null)
+            .uriTemplate(UriTemplates.normalize(this.uri))
+            .warnings(this.warnings)
+            .build();
+    }
+
+    void response(int status, int warnings) {
+        this.response = System.nanoTime();
+        this.status = status;
+        this.warnings = warnings;
+    }
+
+    private static long getRequestHeadersSize(Map<String, String> headers) {
+        return headers.entrySet().stream()
+            .mapToLong(header -> getSize(header.getKey(), header.getValue()))
+            .sum();
+    }
+
+    private static long getResponseHeadersSize(Map<String, List<String>> headers) {
+        return headers.entrySet().stream()
+            .mapToLong(header -> header.getValue().stream().mapToLong(value -> getSize(header.getKey(), value)).sum())
+            .sum();
+    }
+
+    private static long getSize(String name, String value) {
+        return name.length() + HEADER_DELIMITER_LENGTH + value.length() + CRLF_LENGTH;
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.reactor.util;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link MetricsListener} that records latency and time to first byte, in microseconds, into an HdrHistogram per endpoint.  Endpoints are keyed by method and URI template (e.g. {@code GET
+ * /v2/apps/{guid}/summary}).  Recording is wait-free, so the listener is cheap enough to leave enabled.
+ */
+public final class HdrHistogramMetricsListener implements MetricsListener {
+
+    private static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toMicros(1);
+
+    private static final int SIGNIFICANT_VALUE_DIGITS = 3;
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Returns a copy of the latency histogram of each endpoint
+     *
+     * @return the latency histograms keyed by endpoint
+     */
+    public Map<String, Histogram> getLatencies() {
+        return Collections.unmodifiableMap(this.endpoints.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().latency.copy())));
+    }
+
+    /**
+     * Returns a copy of the time to first byte histogram of each endpoint
+     *
+     * @return the time to first byte histograms keyed by endpoint
+     */
+    public Map<String, Histogram> getTimesToFirstByte() {
+        return Collections.unmodifiableMap(this.endpoints.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().timeToFirstByte.copy())));
+    }
+
+    @Override
+    public void onExchange(ExchangeMetrics metrics) {
+        Endpoint endpoint = this.endpoints.computeIfAbsent(metrics.getMethod() + " " + metrics.getUriTemplate(), key -> new Endpoint());
+
+        endpoint.latency.recordValue(toMicros(metrics.getLatency()));
+        if (metrics.getTimeToFirstByte() != null) {
+            endpoint.timeToFirstByte.recordValue(toMicros(metrics.getTimeToFirstByte()));
+        }
+    }
+
+    /**
+     * Discards all recorded values
+     */
+    public void reset() {
+        this.endpoints.clear();
+    }
+
+    private static long toMicros(Duration duration) {
+        return Math.min(HIGHEST_TRACKABLE_VALUE, TimeUnit.NANOSECONDS.toMicros(duration.toNanos()));
+    }
+
+    private static final class Endpoint {
+
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_VALUE, SIGNIFICANT_VALUE_DIGITS);
+
+        private final Histogram timeToFirstByte = new ConcurrentHistogram(HIGHEST_TRACKABLE_VALUE, SIGNIFICANT_VALUE_DIGITS);
+
+    }
+
+}
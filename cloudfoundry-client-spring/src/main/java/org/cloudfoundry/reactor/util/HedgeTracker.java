@@ -0,0 +1,170 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * The state shared by all exchanges using a {@link HedgePolicy}.  The tracker records how long each endpoint takes to return response headers, and derives each endpoint's hedge delay from a
+ * percentile of those times.  Times are recorded into an interval histogram that is swapped once per interval, so the delay follows the endpoint's recent behaviour rather than its whole history.
+ * An interval with too few samples to be meaningful is merged with the one before it.
+ */
+public final class HedgeTracker {
+
+    private static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toMicros(1);
+
+    private static final int SIGNIFICANT_VALUE_DIGITS = 3;
+
+    private final ConcurrentMap<String, Window> headerLatencies = new ConcurrentHashMap<>();
+
+    private final AtomicLong hedged = new AtomicLong();
+
+    private final long interval;
+
+    private final Duration maximumDelay;
+
+    private final Duration minimumDelay;
+
+    private final int minimumSamples;
+
+    private final double percentile;
+
+    private final LongSupplier ticker;
+
+    private final Function<Duration, Mono<Long>> timer;
+
+    private final AtomicLong won = new AtomicLong();
+
+    HedgeTracker(double percentile, Duration minimumDelay, Duration maximumDelay, int minimumSamples, Duration interval) {
+        this(percentile, minimumDelay, maximumDelay, minimumSamples, interval, System::nanoTime, Mono::delay);
+    }
+
+    HedgeTracker(double percentile, Duration minimumDelay, Duration maximumDelay, int minimumSamples, Duration interval, LongSupplier ticker, Function<Duration, Mono<Long>> timer) {
+        this.interval = interval.toNanos();
+        this.maximumDelay = maximumDelay;
+        this.minimumDelay = minimumDelay;
+        this.minimumSamples = minimumSamples;
+        this.percentile = percentile;
+        this.ticker = ticker;
+        this.timer = timer;
+    }
+
+    /**
+     * Returns the delay after which an exchange with an endpoint is hedged.  Until enough samples have been recorded, the maximum delay is used.
+     *
+     * @param endpoint the endpoint
+     * @return the hedge delay
+     */
+    public Duration getDelay(String endpoint) {
+        Window window = this.headerLatencies.get(endpoint);
+        Histogram histogram = window != null ? window.getSnapshot() : null;
+        if (histogram == null || histogram.getTotalCount() < this.minimumSamples) {
+            return this.maximumDelay;
+        }
+
+        Duration delay = Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(histogram.getValueAtPercentile(this.percentile)));
+        if (delay.compareTo(this.minimumDelay) < 0) {
+            return this.minimumDelay;
+        }
+
+        return delay.compareTo(this.maximumDelay) > 0 ? this.maximumDelay : delay;
+    }
+
+    /**
+     * Returns the number of hedge requests that have been sent
+     *
+     * @return the number of hedges
+     */
+    public long getHedged() {
+        return this.hedged.get();
+    }
+
+    /**
+     * Returns the number of hedge requests that completed before the request they hedged
+     *
+     * @return the number of winning hedges
+     */
+    public long getWon() {
+        return this.won.get();
+    }
+
+    Mono<Long> delay(String endpoint) {
+        return this.timer.apply(getDelay(endpoint));
+    }
+
+    void hedged() {
+        this.hedged.incrementAndGet();
+    }
+
+    void record(String endpoint, long nanos) {
+        this.headerLatencies.computeIfAbsent(endpoint, key -> new Window())
+            .record(Math.min(HIGHEST_TRACKABLE_VALUE, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    long tick() {
+        return this.ticker.getAsLong();
+    }
+
+    void won() {
+        this.won.incrementAndGet();
+    }
+
+    private final class Window {
+
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_VALUE, SIGNIFICANT_VALUE_DIGITS);
+
+        private Histogram recycled;
+
+        private Histogram snapshot;
+
+        private long swappedAt = tick();
+
+        private synchronized Histogram getSnapshot() {
+            long now = tick();
+
+            if (this.snapshot == null || this.snapshot.getTotalCount() < HedgeTracker.this.minimumSamples || now - this.swappedAt >= HedgeTracker.this.interval) {
+                Histogram latest = this.recycled != null ? this.recorder.getIntervalHistogram(this.recycled) : this.recorder.getIntervalHistogram();
+
+                if (this.snapshot != null && latest.getTotalCount() < HedgeTracker.this.minimumSamples) {
+                    latest.add(this.snapshot);
+                }
+
+                this.recycled = this.snapshot;
+                this.snapshot = latest;
+                this.swappedAt = now;
+            }
+
+            return this.snapshot;
+        }
+
+        private void record(long micros) {
+            this.recorder.recordValue(micros);
+        }
+
+    }
+
+}
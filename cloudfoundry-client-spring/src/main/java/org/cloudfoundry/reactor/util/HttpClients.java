@@ -0,0 +1,42 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import reactor.io.netty.http.HttpClient;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * The {@link HttpClient}s of a {@link ConnectionContext}, one per {@link ConnectionRole}.  Each client, and the event loop group it runs on, is created when its role is first used.
+ */
+final class HttpClients {
+
+    private final Function<ConnectionRole, HttpClient> factory;
+
+    private final ConcurrentMap<ConnectionRole, HttpClient> httpClients = new ConcurrentHashMap<>();
+
+    HttpClients(Function<ConnectionRole, HttpClient> factory) {
+        this.factory = factory;
+    }
+
+    HttpClient get(ConnectionRole role) {
+        return this.httpClients.computeIfAbsent(role, this.factory);
+    }
+
+}
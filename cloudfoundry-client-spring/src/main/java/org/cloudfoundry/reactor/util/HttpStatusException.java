@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import reactor.io.netty.http.HttpException;
+
+/**
+ * An exception indicating that the server responded to an exchange with an error status.  It extends the {@link HttpException} that exchanges failed with before they were sent through an {@link
+ * HttpTransport}, so existing error handling keeps working.  The {@link #getChannel() channel} of the exception is a view of the response that supports only its status and headers; the body is
+ * available from {@link #getResponse()}.
+ */
+public final class HttpStatusException extends HttpException {
+
+    private static final long serialVersionUID = 2848417327063398473L;
+
+    private final transient TransportResponse response;
+
+    /**
+     * Creates a new instance
+     *
+     * @param response the response with the error status
+     */
+    public HttpStatusException(TransportResponse response) {
+        super(ReactorNettyAdapters.toHttpClientResponse(response));
+        this.response = response;
+    }
+
+    /**
+     * Returns the response with the error status.  Its body has not been read.
+     *
+     * @return the response
+     */
+    public TransportResponse getResponse() {
+        return this.response;
+    }
+
+    /**
+     * Returns the error status
+     *
+     * @return the status code
+     */
+    public int getStatus() {
+        return this.response.getStatus();
+    }
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The transport that sends the exchanges of a {@link ConnectionContext}.  Operations describe each exchange with a {@link TransportRequest} and receive a {@link TransportResponse}, so a provider
+ * can send requests however it chooses without exposing its own request and response types.  A response with an error status is returned like any other; only a failure to complete the exchange,
+ * such as a connection error, is signalled as an error.
+ */
+public interface HttpTransport {
+
+    /**
+     * Sends a request and returns its response.  The response is emitted once its status and headers have been received.
+     *
+     * @param request the request
+     * @return the response
+     */
+    Mono<TransportResponse> exchange(TransportRequest request);
+
+}
@@ -16,80 +16,103 @@
 
 package org.cloudfoundry.reactor.util;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
-import io.netty.util.AsciiString;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import org.slf4j.Logger;
+import reactor.core.publisher.Mono;
 import reactor.core.util.Exceptions;
-import reactor.io.netty.http.HttpClientRequest;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.io.UnsupportedEncodingException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.function.Function;
 
 final class JsonCodec {
 
-    private static final AsciiString APPLICATION_JSON = new AsciiString("application/json; charset=utf-8");
+    private static final String APPLICATION_JSON = "application/json; charset=utf-8";
 
-    private static final AsciiString CONTENT_TYPE = new AsciiString("Content-Type");
+    private static final String CONTENT_TYPE = "Content-Type";
 
-    static <T> Function<InputStream, T> decode(ObjectMapper objectMapper, Class<T> type) {
-        return decode(objectMapper, type, Optional.empty());
+    private static final int PREVIEW_LENGTH = 20;
+
+    static <T> Function<TransportResponse, Mono<T>> decode(CodecRegistry codecRegistry, Class<T> type) {
+        return decode(codecRegistry, type, Optional.empty());
     }
-    
-    static <T> Function<InputStream, T> decode(ObjectMapper objectMapper, Class<T> type, Optional<Logger> optionalLogger) {
-        return inputStream -> {
-            try (InputStream in = inputStream) {
-                return objectMapper.readValue(in, type);
-            } catch (IOException e) {
-                optionalLogger
-                    .ifPresent(logger -> logger.debug("Exception decoding Json, input starts: {}", getNextChars(inputStream, 20)));
-                e.printStackTrace();
-                throw Exceptions.propagate(e);
-            }
-        };
+
+    static <T> Function<TransportResponse, Mono<T>> decode(CodecRegistry codecRegistry, Class<T> type, Optional<Logger> optionalLogger) {
+        return inbound -> Mono.defer(() -> {
+            CompositeByteBuf body = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+
+            return inbound.getBody()
+                .collect(() -> body, JsonCodec::addChunk)
+                .doOnError(t -> release(body))
+                .doOnCancel(() -> release(body))
+                .then(collected -> {
+                    try {
+                        if (!collected.isReadable()) {
+                            return Mono.empty();
+                        }
+
+                        return Mono.justOrEmpty(decode(codecRegistry, type, collected, optionalLogger));
+                    } finally {
+                        release(collected);
+                    }
+                });
+        });
     }
 
-    static <T> Function<T, ByteBuf> encode(ObjectMapper objectMapper, HttpClientRequest request) {
-        request.header(CONTENT_TYPE, APPLICATION_JSON);
-        return source -> encode(request.delegate().alloc(), objectMapper, source);
+    static TransportRequest.Builder encode(CodecRegistry codecRegistry, TransportRequest.Builder builder, Object source) {
+        return builder
+            .header(CONTENT_TYPE, APPLICATION_JSON)
+            .body(allocator -> Mono.defer(() -> Mono.just(encode(allocator, codecRegistry, source))));
     }
 
-    static <T> ByteBuf encode(ByteBufAllocator allocator, ObjectMapper objectMapper, T source) {
-        try {
-            return allocator.directBuffer().writeBytes(objectMapper.writeValueAsBytes(source));
-        } catch (JsonProcessingException e) {
+    static <T> ByteBuf encode(ByteBufAllocator allocator, CodecRegistry codecRegistry, T source) {
+        ByteBuf byteBuf = allocator.ioBuffer();
+
+        try (OutputStream out = new ByteBufOutputStream(byteBuf)) {
+            codecRegistry.getWriter(source.getClass()).writeValue(out, source);
+            return byteBuf;
+        } catch (IOException e) {
+            byteBuf.release();
             throw Exceptions.propagate(e);
         }
     }
 
-    private static String getNextChars(InputStream in, int charsToGet) {
-        StringBuilder sb = new StringBuilder();
-        try {
-            char[] buffer = new char[charsToGet];
-            in.reset();
-            try (Reader rdr = new InputStreamReader(in, "UTF-8")) {
-                while (0 < charsToGet) {
-                    int rsz = rdr.read(buffer, 0, charsToGet);
-                    if (rsz < 0) {
-                        sb.append("<eof>");
-                        break;
-                    }
-                    sb.append(buffer, 0, rsz);
-                    charsToGet -= rsz;
-                }
-            }
-        } catch (UnsupportedEncodingException uee) {
-            sb.append("<encoding exception on read>");
-        } catch (IOException ioe) {
-            sb.append("<io exception on read>");
+    private static void addChunk(CompositeByteBuf body, ByteBuf chunk) {
+        if (chunk.isReadable()) {
+            body.addComponent(chunk.retain());
+            body.writerIndex(body.capacity());
+        }
+    }
+
+    private static <T> T decode(CodecRegistry codecRegistry, Class<T> type, ByteBuf body, Optional<Logger> optionalLogger) {
+        try (InputStream in = new ByteBufInputStream(body)) {
+            return codecRegistry.getReader(type).readValue(in);
+        } catch (IOException e) {
+            optionalLogger
+                .ifPresent(logger -> logger.debug("Exception decoding Json, input starts: {}", getPreview(body)));
+            throw Exceptions.propagate(e);
         }
-        return sb.toString();
     }
+
+    private static String getPreview(ByteBuf body) {
+        int length = Math.min(PREVIEW_LENGTH, body.capacity());
+        String preview = body.toString(0, length, StandardCharsets.UTF_8);
+
+        return length < PREVIEW_LENGTH ? preview + "<eof>" : preview;
+    }
+
+    private static void release(ByteBuf body) {
+        if (body.refCnt() > 0) {
+            body.release();
+        }
+    }
+
 }
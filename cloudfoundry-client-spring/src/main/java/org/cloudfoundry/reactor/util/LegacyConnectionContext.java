@@ -0,0 +1,50 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.publisher.Mono;
+import reactor.io.netty.http.HttpClient;
+
+/**
+ * A {@link ConnectionContext} assembled from the parts that operations were constructed from before they took a context.  It has the default settings of {@link DefaultConnectionContext} and no
+ * roots of its own, because operations constructed this way are given their root directly.
+ */
+final class LegacyConnectionContext extends DelegatingConnectionContext {
+
+    private static final String UNKNOWN_HOST = "unknown";
+
+    LegacyConnectionContext(AuthorizationProvider authorizationProvider, HttpClient httpClient, ObjectMapper objectMapper) {
+        super(DefaultConnectionContext.builder()
+            .authorizationProvider(authorizationProvider)
+            .host(UNKNOWN_HOST)
+            .httpClient(httpClient)
+            .objectMapper(objectMapper)
+            .build());
+    }
+
+    @Override
+    public Mono<String> getRoot() {
+        return Mono.error(new IllegalStateException("A context assembled from an HttpClient has no root"));
+    }
+
+    @Override
+    public Mono<String> getRoot(String key) {
+        return Mono.error(new IllegalStateException("A context assembled from an HttpClient has no root"));
+    }
+
+}
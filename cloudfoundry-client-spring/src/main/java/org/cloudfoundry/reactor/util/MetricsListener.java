@@ -0,0 +1,30 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.reactor.util;
+
+/**
+ * A listener that is notified of the metrics of every exchange made through a {@link ConnectionContext}.  Implementations are called on network threads and should return quickly.
+ */
+public interface MetricsListener {
+
+    /**
+     * Called when an exchange completes, either successfully or with an error
+     *
+     * @param metrics the metrics of the exchange
+     */
+    void onExchange(ExchangeMetrics metrics);
+
+}
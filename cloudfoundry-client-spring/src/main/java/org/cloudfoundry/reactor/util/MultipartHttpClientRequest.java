@@ -16,57 +16,63 @@
 
 package org.cloudfoundry.reactor.util;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
-import io.netty.buffer.CompositeByteBuf;
-import io.netty.handler.codec.http.DefaultHttpHeaders;
-import io.netty.handler.codec.http.HttpHeaders;
-import io.netty.util.AsciiString;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.util.Exceptions;
-import reactor.io.netty.http.HttpClientRequest;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.function.Consumer;
 
+/**
+ * A {@code multipart/form-data} request.  The body is streamed part by part into buffers from the allocator of the connection it is sent on, so an input stream part, such as an application
+ * archive, is never held in memory as a whole.  The length of each part is determined when the request is built, so that the request can declare its {@code Content-Length}.
+ */
 public final class MultipartHttpClientRequest {
 
-    private static final byte[] BOUNDARY_CHARS = new byte[]{'-', '_', '1', '2', '3', '4', '5', '6', '7', '8', '9', '0', 'a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j', 'k', 'l', 'm', 'n', 'o',
+    private static final char[] BOUNDARY_CHARS = new char[]{'-', '_', '1', '2', '3', '4', '5', '6', '7', '8', '9', '0', 'a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j', 'k', 'l', 'm', 'n', 'o',
         'p', 'q', 'r', 's', 't', 'u', 'v', 'w', 'x', 'y', 'z', 'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'I', 'J', 'K', 'L', 'M', 'N', 'O', 'P', 'Q', 'R', 'S', 'T', 'U', 'V', 'W', 'X', 'Y', 'Z'};
 
-    private static final AsciiString BOUNDARY_PREAMBLE = new AsciiString("; boundary=");
+    private static final String BOUNDARY_PREAMBLE = "; boundary=";
+
+    private static final int CHUNK_SIZE = 64 * 1024;
 
-    private static final AsciiString CONTENT_DISPOSITION = new AsciiString("Content-Disposition");
+    private static final String CONTENT_DISPOSITION = "Content-Disposition";
 
-    private static final AsciiString CONTENT_LENGTH = new AsciiString("Content-Length");
+    private static final String CONTENT_LENGTH = "Content-Length";
 
-    private static final AsciiString CONTENT_TYPE = new AsciiString("Content-Type");
+    private static final String CONTENT_TYPE = "Content-Type";
 
-    private static final AsciiString CRLF = new AsciiString("\r\n");
+    private static final String CRLF = "\r\n";
 
-    private static final AsciiString DOUBLE_DASH = new AsciiString("--");
+    private static final String DOUBLE_DASH = "--";
 
-    private static final AsciiString HEADER_DELIMITER = new AsciiString(": ");
+    private static final String HEADER_DELIMITER = ": ";
 
-    private static final AsciiString MULTIPART_FORM_DATA = new AsciiString("multipart/form-data");
+    private static final String MULTIPART_FORM_DATA = "multipart/form-data";
 
     private static final Random RND = new Random();
 
-    private final ObjectMapper objectMapper;
+    private final TransportRequest.Builder builder;
 
-    private final HttpClientRequest outbound;
+    private final CodecRegistry codecRegistry;
 
     private final List<Consumer<PartHttpClientRequest>> partConsumers = new ArrayList<>();
 
-    public MultipartHttpClientRequest(ObjectMapper objectMapper, HttpClientRequest outbound) {
-        this.objectMapper = objectMapper;
-        this.outbound = outbound;
+    public MultipartHttpClientRequest(CodecRegistry codecRegistry, TransportRequest.Builder builder) {
+        this.builder = builder;
+        this.codecRegistry = codecRegistry;
     }
 
     public MultipartHttpClientRequest addPart(Consumer<PartHttpClientRequest> partConsumer) {
@@ -74,67 +80,85 @@ public final class MultipartHttpClientRequest {
         return this;
     }
 
-    public Mono<Void> done() {
-        AsciiString boundary = generateMultipartBoundary();
-        ByteBufAllocator allocator = this.outbound.delegate().alloc();
+    public TransportRequest.Builder done() {
+        String boundary = generateMultipartBoundary();
+
+        List<Part> parts = new ArrayList<>();
+        this.partConsumers.forEach(partConsumer -> parts.add(getPart(boundary, this.codecRegistry, partConsumer)));
+        byte[] closeDelimiter = getBytes(DOUBLE_DASH + boundary + DOUBLE_DASH);
+
+        long length = closeDelimiter.length;
+        for (Part part : parts) {
+            length += part.getLength();
+        }
+
+        return this.builder
+            .header(CONTENT_TYPE, MULTIPART_FORM_DATA + BOUNDARY_PREAMBLE + boundary)
+            .header(CONTENT_LENGTH, String.valueOf(length))
+            .body(allocator -> {
+                List<Publisher<ByteBuf>> body = new ArrayList<>();
+                parts.forEach(part -> body.add(part.getBody(allocator)));
+                body.add(toBuffer(allocator, closeDelimiter));
 
-        CompositeByteBuf bodyBuf = allocator.compositeBuffer();
-        this.partConsumers.forEach(partConsumer -> bodyBuf.addComponent(getPart(allocator, boundary, this.objectMapper, partConsumer)));
-        bodyBuf.addComponent(getCloseDelimiter(allocator, boundary));
+                return Flux.concat(body);
+            });
+    }
 
-        return this.outbound
-            .removeTransferEncodingChunked()
-            .addHeader(CONTENT_TYPE, MULTIPART_FORM_DATA.concat(BOUNDARY_PREAMBLE).concat(boundary))
-            .addHeader(CONTENT_LENGTH, String.valueOf(bodyBuf.capacity()))
-            .sendOne(bodyBuf.writerIndex(bodyBuf.capacity()));
+    private static void close(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
     }
 
-    private static AsciiString generateMultipartBoundary() {
-        byte[] boundary = new byte[RND.nextInt(11) + 30];
+    private static String generateMultipartBoundary() {
+        char[] boundary = new char[RND.nextInt(11) + 30];
         for (int i = 0; i < boundary.length; i++) {
             boundary[i] = BOUNDARY_CHARS[RND.nextInt(BOUNDARY_CHARS.length)];
         }
-        return new AsciiString(boundary);
+        return new String(boundary);
     }
 
-    private static ByteBuf getCloseDelimiter(ByteBufAllocator allocator, AsciiString boundary) {
-        AsciiString s = DOUBLE_DASH.concat(boundary).concat(DOUBLE_DASH);
-        return allocator.directBuffer(s.length()).writeBytes(s.toByteArray());
+    private static byte[] getBytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
     }
 
-    private static ByteBuf getDelimiter(ByteBufAllocator allocator, AsciiString boundary) {
-        AsciiString s = DOUBLE_DASH.concat(boundary).concat(CRLF);
-        return allocator.directBuffer(s.length()).writeBytes(s.toByteArray());
+    private static Part getPart(String boundary, CodecRegistry codecRegistry, Consumer<PartHttpClientRequest> partConsumer) {
+        PartHttpClientRequest part = new PartHttpClientRequest(codecRegistry);
+        partConsumer.accept(part);
+
+        return part.toPart(boundary);
     }
 
-    private static ByteBuf getPart(ByteBufAllocator allocator, AsciiString boundary, ObjectMapper objectMapper, Consumer<PartHttpClientRequest> partConsumer) {
-        PartHttpClientRequest part = new PartHttpClientRequest(objectMapper);
-        partConsumer.accept(part);
+    private static Flux<ByteBuf> read(ByteBufAllocator allocator, InputStream inputStream, long length) {
+        Iterable<ByteBuf> chunks = () -> new Chunks(allocator, inputStream, length);
 
-        CompositeByteBuf body = allocator.compositeBuffer();
-        body.addComponent(getDelimiter(allocator, boundary));
-        body.addComponent(part.getHeaders(allocator));
-        body.addComponent(part.getData(allocator));
+        return Flux.fromIterable(chunks)
+            .doOnCancel(() -> close(inputStream))
+            .doOnError(t -> close(inputStream));
+    }
 
-        return body.writerIndex(body.capacity());
+    private static Mono<ByteBuf> toBuffer(ByteBufAllocator allocator, byte[] bytes) {
+        return Mono.defer(() -> Mono.just(allocator.ioBuffer(bytes.length).writeBytes(bytes)));
     }
 
     public static final class PartHttpClientRequest {
 
-        private final HttpHeaders headers = new DefaultHttpHeaders(true);
+        private final Map<String, String> headers = new LinkedHashMap<>();
 
-        private final ObjectMapper objectMapper;
+        private final CodecRegistry codecRegistry;
 
         private InputStream inputStream;
 
         private Object source;
 
-        private PartHttpClientRequest(ObjectMapper objectMapper) {
-            this.objectMapper = objectMapper;
+        private PartHttpClientRequest(CodecRegistry codecRegistry) {
+            this.codecRegistry = codecRegistry;
         }
 
         public PartHttpClientRequest addHeader(CharSequence name, CharSequence value) {
-            this.headers.add(name, value);
+            this.headers.put(name.toString(), value.toString());
             return this;
         }
 
@@ -142,6 +166,12 @@ public final class MultipartHttpClientRequest {
             this.source = source;
         }
 
+        /**
+         * Sends the contents of an input stream as the data of this part.  The length of the data is the number of bytes {@link InputStream#available() available} when the request is built.
+         * The stream is read as the request is sent and closed once it has been read, so a request with an input stream part can only be sent once.
+         *
+         * @param inputStream the input stream
+         */
         public void sendInputStream(InputStream inputStream) {
             this.inputStream = inputStream;
         }
@@ -158,50 +188,126 @@ public final class MultipartHttpClientRequest {
                 sb.append(filename).append('\"');
             }
 
-            this.headers.add(CONTENT_DISPOSITION, sb);
+            this.headers.put(CONTENT_DISPOSITION, sb.toString());
             return this;
         }
 
-        private static ByteBuf getData(ByteBufAllocator allocator, InputStream inputStream) {
-            try (InputStream in = inputStream) {
-                ByteBuf byteBuf = allocator.directBuffer(in.available());
-                byteBuf.writeBytes(inputStream, inputStream.available());
-                return byteBuf;
+        private static int available(InputStream inputStream) {
+            try {
+                return inputStream.available();
             } catch (IOException e) {
                 throw Exceptions.propagate(e);
             }
         }
 
-        private static ByteBuf getData(ByteBufAllocator allocator, ObjectMapper objectMapper, Object source) {
-            return JsonCodec.encode(allocator, objectMapper, source);
-        }
+        private byte[] getPreamble(String boundary) {
+            StringBuilder sb = new StringBuilder(DOUBLE_DASH).append(boundary).append(CRLF);
+            this.headers.forEach((name, value) -> sb.append(name).append(HEADER_DELIMITER).append(value).append(CRLF));
 
-        private ByteBuf getData(ByteBufAllocator allocator) {
-            CompositeByteBuf dataBuf = allocator.compositeBuffer();
+            return getBytes(sb.append(CRLF).toString());
+        }
 
-            dataBuf.addComponent(allocator.directBuffer(CRLF.length()).writeBytes(CRLF.toByteArray()));
+        private byte[] getSource() {
+            try {
+                return this.codecRegistry.getWriter(this.source.getClass()).writeValueAsBytes(this.source);
+            } catch (IOException e) {
+                throw Exceptions.propagate(e);
+            }
+        }
 
+        private Part toPart(String boundary) {
             if (this.inputStream != null) {
-                dataBuf.addComponent(getData(allocator, this.inputStream));
-            } else if (this.source != null) {
-                dataBuf.addComponent(getData(allocator, this.objectMapper, this.source));
+                return new Part(getPreamble(boundary), null, this.inputStream, available(this.inputStream));
             }
 
-            dataBuf.addComponent(allocator.directBuffer(CRLF.length()).writeBytes(CRLF.toByteArray()));
+            byte[] data = this.source != null ? getSource() : new byte[0];
+            return new Part(getPreamble(boundary), data, null, data.length);
+        }
+
+    }
+
+    private static final class Chunks implements Iterator<ByteBuf> {
+
+        private final ByteBufAllocator allocator;
+
+        private final InputStream inputStream;
 
-            return dataBuf.writerIndex(dataBuf.capacity());
+        private long remaining;
+
+        private Chunks(ByteBufAllocator allocator, InputStream inputStream, long length) {
+            this.allocator = allocator;
+            this.inputStream = inputStream;
+            this.remaining = length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.remaining == 0) {
+                close(this.inputStream);
+                return false;
+            }
+
+            return true;
         }
 
-        private ByteBuf getHeaders(ByteBufAllocator allocator) {
-            AsciiString s = AsciiString.EMPTY_STRING;
+        @Override
+        public ByteBuf next() {
+            if (this.remaining == 0) {
+                throw new NoSuchElementException();
+            }
+
+            int size = (int) Math.min(CHUNK_SIZE, this.remaining);
+            ByteBuf chunk = this.allocator.ioBuffer(size);
 
-            for (Map.Entry<String, String> entry : this.headers) {
-                s = s.concat(new AsciiString(entry.getKey())).concat(HEADER_DELIMITER).concat(entry.getValue()).concat(CRLF);
+            try {
+                while (chunk.readableBytes() < size) {
+                    if (chunk.writeBytes(this.inputStream, size - chunk.readableBytes()) == -1) {
+                        throw new IllegalStateException(String.format("Input stream ended %d bytes before its declared length", this.remaining - chunk.readableBytes()));
+                    }
+                }
+            } catch (IOException e) {
+                chunk.release();
+                throw Exceptions.propagate(e);
+            } catch (RuntimeException e) {
+                chunk.release();
+                throw e;
             }
 
-            return allocator.directBuffer(s.length()).writeBytes(s.toByteArray());
+            this.remaining -= size;
+            return chunk;
+        }
+
+    }
+
+    private static final class Part {
+
+        private final byte[] data;
+
+        private final long dataLength;
+
+        private final InputStream inputStream;
+
+        private final byte[] preamble;
+
+        private Part(byte[] preamble, byte[] data, InputStream inputStream, long dataLength) {
+            this.data = data;
+            this.dataLength = dataLength;
+            this.inputStream = inputStream;
+            this.preamble = preamble;
+        }
+
+        private Flux<ByteBuf> getBody(ByteBufAllocator allocator) {
+            List<Publisher<ByteBuf>> body = new ArrayList<>();
+            body.add(toBuffer(allocator, this.preamble));
+            body.add(this.inputStream != null ? read(allocator, this.inputStream, this.dataLength) : toBuffer(allocator, this.data));
+            body.add(toBuffer(allocator, getBytes(CRLF)));
+
+            return Flux.concat(body);
         }
 
+        private long getLength() {
+            return this.preamble.length + this.dataLength + CRLF.length();
+        }
 
     }
 
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+/**
+ * A view of a {@link ConnectionContext} whose exchanges are sent with a different {@link Priority}.  The view shares all of the state of the context it wraps, so operations created with a
+ * background view of a context compete for the same connections and rate limit as operations created with the context itself, but wait behind them.
+ */
+public final class PrioritizedConnectionContext extends DelegatingConnectionContext {
+
+    private final Priority priority;
+
+    /**
+     * Creates a new instance
+     *
+     * @param delegate the context to share state with
+     * @param priority the priority of exchanges sent through this view
+     */
+    public PrioritizedConnectionContext(ConnectionContext delegate, Priority priority) {
+        super(delegate);
+        this.priority = priority;
+    }
+
+    @Override
+    public Priority getPriority() {
+        return this.priority;
+    }
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+/**
+ * The priority of the exchanges sent through a {@link ConnectionContext}, used to order exchanges waiting for an exchange slot or for the rate limiter
+ */
+public enum Priority {
+
+    /**
+     * Bulk work such as inventory scans and usage event exports, served after interactive exchanges unless it has waited past the starvation threshold
+     */
+    BACKGROUND,
+
+    /**
+     * Requests made on behalf of a waiting user, served ahead of background exchanges
+     */
+    INTERACTIVE
+
+}
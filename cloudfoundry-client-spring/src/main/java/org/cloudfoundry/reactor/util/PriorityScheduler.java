@@ -0,0 +1,203 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * The waiters for a shared resource, one lane per {@link Priority}.  Waiters are served in order within a lane, and interactive waiters are served before background waiters.  A background waiter
+ * that has waited longer than the starvation threshold is served next regardless of the interactive lane, so that background work always makes progress.
+ *
+ * @param <T> the type of waiter
+ */
+public final class PriorityScheduler<T> {
+
+    private static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toMicros(1);
+
+    private static final int SIGNIFICANT_VALUE_DIGITS = 3;
+
+    private final Map<Priority, Lane> lanes = new EnumMap<>(Priority.class);
+
+    private final Map<Priority, Queue<Entry<T>>> queues = new EnumMap<>(Priority.class);
+
+    private final long starvationThreshold;
+
+    PriorityScheduler(Duration starvationThreshold) {
+        this.starvationThreshold = starvationThreshold.toNanos();
+
+        for (Priority priority : Priority.values()) {
+            Queue<Entry<T>> queue = new ConcurrentLinkedQueue<>();
+            this.lanes.put(priority, new Lane(queue));
+            this.queues.put(priority, queue);
+        }
+    }
+
+    /**
+     * Returns the lane for a priority
+     *
+     * @param priority the priority
+     * @return the lane for the priority
+     */
+    public Lane getLane(Priority priority) {
+        return this.lanes.get(priority);
+    }
+
+    void add(Priority priority, T waiter) {
+        this.queues.get(priority).add(new Entry<>(waiter));
+    }
+
+    boolean isEmpty() {
+        return this.queues.values().stream().allMatch(Queue::isEmpty);
+    }
+
+    T poll() {
+        return poll(waiter -> true);
+    }
+
+    /**
+     * Removes and returns the next waiter that is admissible.  Only the first waiter of each lane is considered, so waiters are still served in order within a lane.  The predicate may take the
+     * resource for the waiter it accepts, in which case the caller must serialize all polls and removals so that the accepted waiter is the one removed.
+     *
+     * @param admissible whether a waiter can be served now
+     * @return the waiter, or {@code null} if no lane has an admissible waiter
+     */
+    T poll(Predicate<T> admissible) {
+        long now = System.nanoTime();
+        Entry<T> oldest = this.queues.get(Priority.BACKGROUND).peek();
+        boolean starved = oldest != null && now - oldest.enqueued >= this.starvationThreshold;
+
+        if (starved) {
+            T waiter = poll(Priority.BACKGROUND, now, admissible);
+
+            if (waiter != null) {
+                this.lanes.get(Priority.BACKGROUND).promoted.incrementAndGet();
+                return waiter;
+            }
+        }
+
+        T waiter = poll(Priority.INTERACTIVE, now, admissible);
+        return waiter != null || starved ? waiter : poll(Priority.BACKGROUND, now, admissible);
+    }
+
+    boolean remove(T waiter) {
+        return this.queues.values().stream()
+            .anyMatch(queue -> queue.removeIf(entry -> entry.waiter == waiter));
+    }
+
+    int size() {
+        return this.queues.values().stream()
+            .mapToInt(Queue::size)
+            .sum();
+    }
+
+    private T poll(Priority priority, long now, Predicate<T> admissible) {
+        Queue<Entry<T>> queue = this.queues.get(priority);
+
+        for (; ; ) {
+            Entry<T> entry = queue.peek();
+            if (entry == null || !admissible.test(entry.waiter)) {
+                return null;
+            }
+
+            if (queue.remove(entry)) {
+                Lane lane = this.lanes.get(priority);
+                lane.granted.incrementAndGet();
+                lane.waits.recordValue(Math.min(HIGHEST_TRACKABLE_VALUE, TimeUnit.NANOSECONDS.toMicros(now - entry.enqueued)));
+
+                return entry.waiter;
+            }
+        }
+    }
+
+    /**
+     * The metrics of the waiters of a single priority
+     */
+    public static final class Lane {
+
+        private final AtomicLong granted = new AtomicLong();
+
+        private final AtomicLong promoted = new AtomicLong();
+
+        private final Queue<?> queue;
+
+        private final Histogram waits = new ConcurrentHistogram(HIGHEST_TRACKABLE_VALUE, SIGNIFICANT_VALUE_DIGITS);
+
+        private Lane(Queue<?> queue) {
+            this.queue = queue;
+        }
+
+        /**
+         * Returns the number of waiters that have been served from this lane
+         *
+         * @return the number of waiters served
+         */
+        public long getGranted() {
+            return this.granted.get();
+        }
+
+        /**
+         * Returns the number of waiters currently in this lane
+         *
+         * @return the number of pending waiters
+         */
+        public int getPending() {
+            return this.queue.size();
+        }
+
+        /**
+         * Returns the number of waiters served ahead of the interactive lane because they reached the starvation threshold
+         *
+         * @return the number of promoted waiters
+         */
+        public long getPromoted() {
+            return this.promoted.get();
+        }
+
+        /**
+         * Returns a copy of the histogram of the time, in microseconds, that waiters spent in this lane
+         *
+         * @return the wait time histogram
+         */
+        public Histogram getWaitTimes() {
+            return this.waits.copy();
+        }
+
+    }
+
+    private static final class Entry<T> {
+
+        private final long enqueued = System.nanoTime();
+
+        private final T waiter;
+
+        private Entry(T waiter) {
+            this.waiter = waiter;
+        }
+
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Mono;
+import reactor.io.netty.http.HttpClientRequest;
+import reactor.io.netty.http.HttpClientResponse;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Views of {@link TransportRequest}s and {@link TransportResponse}s as the reactor-netty types that {@link AuthorizationProvider} and {@link HttpStatusException} exposed before exchanges were
+ * sent through an {@link HttpTransport}.  Each view supports only the methods needed to keep existing code working, and throws {@link UnsupportedOperationException} from every other method.
+ */
+final class ReactorNettyAdapters {
+
+    static final String AUTHORIZATION = "Authorization";
+
+    private static final String ADD_HEADER = "addHeader";
+
+    private static final String HEADER = "header";
+
+    private static final String RESPONSE_HEADERS = "responseHeaders";
+
+    private static final String STATUS = "status";
+
+    private ReactorNettyAdapters() {
+    }
+
+    static Mono<String> getAuthorization(AuthorizationProvider authorizationProvider) {
+        return Mono.defer(() -> {
+            AtomicReference<String> authorization = new AtomicReference<>();
+
+            return authorizationProvider.addAuthorization(proxy(HttpClientRequest.class, (proxy, method, args) -> {
+                if ((ADD_HEADER.equals(method.getName()) || HEADER.equals(method.getName())) && args != null && args.length == 2 && AUTHORIZATION.equalsIgnoreCase(String.valueOf(args[0]))) {
+                    authorization.set(String.valueOf(args[1]));
+                }
+
+                return proxy;
+            }))
+                .then(outbound -> Mono.justOrEmpty(authorization.get()));
+        });
+    }
+
+    static HttpClientResponse toHttpClientResponse(TransportResponse response) {
+        return proxy(HttpClientResponse.class, (proxy, method, args) -> {
+            if (STATUS.equals(method.getName())) {
+                return HttpResponseStatus.valueOf(response.getStatus());
+            }
+
+            if (RESPONSE_HEADERS.equals(method.getName())) {
+                HttpHeaders headers = new DefaultHttpHeaders();
+                response.getHeaders().forEach(headers::add);
+                return headers;
+            }
+
+            throw new UnsupportedOperationException(String.format("%s is not supported by this view of the response; use HttpStatusException.getResponse() instead", method.getName()));
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(ReactorNettyAdapters.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(type, proxy, method, args);
+            }
+
+            Object result = handler.invoke(proxy, method, args);
+            if (result == proxy && !method.getReturnType().isInstance(proxy)) {
+                throw new UnsupportedOperationException(String.format("%s is not supported by this view of the request", method.getName()));
+            }
+
+            return result;
+        }));
+    }
+
+    private static Object invokeObjectMethod(Class<?> type, Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return String.format("%s view", type.getSimpleName());
+        }
+    }
+
+}
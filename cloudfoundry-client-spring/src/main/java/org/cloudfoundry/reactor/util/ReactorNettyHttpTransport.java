@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.handler.codec.http.HttpMethod;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.io.netty.http.HttpClientRequest;
+import reactor.io.netty.http.HttpClientResponse;
+import reactor.io.netty.http.HttpException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The default {@link HttpTransport}, backed by the reactor-netty {@link reactor.io.netty.http.HttpClient} of each {@link ConnectionRole}.  Each client applies the {@link SocketOptions} of its role
+ * when a connection is created, before it connects.  Request bodies are written into buffers from the allocator of their channel, and received buffers are emitted as Netty delivers them, without
+ * copying, and released once they have been emitted.
+ */
+public final class ReactorNettyHttpTransport implements HttpTransport {
+
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    private final ConnectionContext connectionContext;
+
+    /**
+     * Creates a new instance
+     *
+     * @param connectionContext the context providing the client of each role
+     */
+    public ReactorNettyHttpTransport(ConnectionContext connectionContext) {
+        this.connectionContext = connectionContext;
+    }
+
+    @Override
+    public Mono<TransportResponse> exchange(TransportRequest request) {
+        return this.connectionContext.getHttpClient(request.getRole())
+            .request(HttpMethod.valueOf(request.getMethod()), request.getUri(), outbound -> send(request, outbound))
+            .map(ReactorNettyHttpTransport::toResponse)
+            .otherwise(HttpException.class, e -> Mono.just(toResponse(e.getChannel())));
+    }
+
+    private static Map<String, List<String>> getHeaders(HttpClientResponse inbound) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        inbound.responseHeaders().forEach(header -> headers.computeIfAbsent(header.getKey(), name -> new ArrayList<>()).add(header.getValue()));
+        return headers;
+    }
+
+    private static Mono<Void> send(TransportRequest request, HttpClientRequest outbound) {
+        request.getHeaders().forEach(outbound::header);
+
+        if (request.isFollowRedirect()) {
+            outbound.followRedirect();
+        }
+
+        if (request.getHeaders().containsKey(CONTENT_LENGTH)) {
+            outbound.removeTransferEncodingChunked();
+        }
+
+        if (request.getRole() == ConnectionRole.WEBSOCKET) {
+            return outbound.upgradeToTextWebsocket();
+        }
+
+        if (request.getBody() == null) {
+            return outbound.sendHeaders();
+        }
+
+        return outbound.send(Flux.from(request.getBody().apply(outbound.delegate().alloc())));
+    }
+
+    private static TransportResponse toResponse(HttpClientResponse inbound) {
+        return TransportResponse.builder()
+            .body(inbound.receive())
+            .headers(getHeaders(inbound))
+            .status(inbound.status().code())
+            .build();
+    }
+
+}
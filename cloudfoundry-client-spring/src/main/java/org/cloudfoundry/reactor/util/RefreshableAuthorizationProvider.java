@@ -0,0 +1,35 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * An {@link AuthorizationHeaderProvider} whose credentials can be rejected by the server.  When an exchange authorized by this provider fails with {@code 401 Unauthorized}, the provider is told which
+ * {@code Authorization} header was rejected and the exchange is replayed once if the provider says so.
+ */
+public interface RefreshableAuthorizationProvider extends AuthorizationHeaderProvider {
+
+    /**
+     * Invalidates the credentials that produced a rejected {@code Authorization} header
+     *
+     * @param authorization the rejected {@code Authorization} header
+     * @return {@code true} if fresh credentials are available and the exchange should be replayed
+     */
+    Mono<Boolean> invalidate(String authorization);
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Coalesces identical in-flight exchanges.  While an exchange for a URI and authorization identity is in flight, further exchanges for the same pair subscribe to it rather than sending another
+ * request.  Nothing is kept once the exchange completes, so a later exchange always sends its own request.  If a shared exchange fails, the exchanges coalesced with it send their own
+ * requests so that each of them sees, and can read, its own error response.  The shared request is counted by the exchanges subscribed to it and is cancelled when the last of them cancels.
+ */
+public final class RequestCoalescer {
+
+    private final AtomicLong coalesced = new AtomicLong();
+
+    private final ConcurrentMap<Key, Shared<?>> inFlight = new ConcurrentHashMap<>();
+
+    RequestCoalescer() {
+    }
+
+    /**
+     * Returns the total number of exchanges that have subscribed to another exchange instead of sending their own request
+     *
+     * @return the number of coalesced exchanges
+     */
+    public long getCoalesced() {
+        return this.coalesced.get();
+    }
+
+    /**
+     * Returns the number of distinct exchanges currently in flight
+     *
+     * @return the number of in-flight exchanges
+     */
+    public int getInFlight() {
+        return this.inFlight.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Mono<T> coalesce(Object identity, String uri, Mono<T> exchange) {
+        return Mono.defer(() -> {
+            Key key = new Key(identity, uri);
+
+            for (; ; ) {
+                Shared<T> candidate = new Shared<>(key);
+
+                Shared<T> existing = (Shared<T>) this.inFlight.putIfAbsent(key, candidate);
+                if (existing == null) {
+                    return candidate.start(exchange);
+                }
+
+                if (existing.join()) {
+                    this.coalesced.incrementAndGet();
+                    return existing.subscribe()
+                        .otherwise(t -> exchange);
+                }
+
+                this.inFlight.remove(key, existing);
+            }
+        });
+    }
+
+    private static final class Key {
+
+        private final Object identity;
+
+        private final String uri;
+
+        private Key(Object identity, String uri) {
+            this.identity = identity;
+            this.uri = uri;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return this.identity == key.identity && this.uri.equals(key.uri);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(this.identity), this.uri);
+        }
+
+    }
+
+    private final class Shared<T> {
+
+        private final Key key;
+
+        private final MonoProcessor<T> result = MonoProcessor.create();
+
+        private final AtomicInteger subscribers = new AtomicInteger(1);
+
+        private final AtomicReference<Subscription> subscription = new AtomicReference<>();
+
+        private Shared(Key key) {
+            this.key = key;
+        }
+
+        private boolean join() {
+            for (; ; ) {
+                int current = this.subscribers.get();
+                if (current == 0) {
+                    return false;
+                }
+
+                if (this.subscribers.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void leave() {
+            if (this.subscribers.decrementAndGet() != 0) {
+                return;
+            }
+
+            RequestCoalescer.this.inFlight.remove(this.key, this);
+            Subscription s = this.subscription.get();
+            if (s != null) {
+                s.cancel();
+            }
+        }
+
+        private Mono<T> start(Mono<T> exchange) {
+            exchange
+                .doOnSubscribe(this.subscription::set)
+                .doOnSuccess(value -> RequestCoalescer.this.inFlight.remove(this.key, this))
+                .doOnError(t -> RequestCoalescer.this.inFlight.remove(this.key, this))
+                .subscribe(this.result);
+
+            return subscribe();
+        }
+
+        private Mono<T> subscribe() {
+            return this.result
+                .doOnCancel(this::leave);
+        }
+
+    }
+
+}
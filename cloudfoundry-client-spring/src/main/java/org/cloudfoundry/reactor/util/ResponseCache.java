@@ -0,0 +1,259 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of decoded responses and their {@code ETag}s.  Each cached {@code GET} is revalidated with {@code If-None-Match}, and a {@code 304 Not Modified} response returns the cached
+ * instance without reading or decoding a body.  When the cache is full, the least recently used entry is evicted.  A write to a path invalidates the entries for that path, the paths below it, and
+ * the collections above it.
+ */
+public final class ResponseCache {
+
+    private static final String ETAG = "ETag";
+
+    private static final String IF_NONE_MATCH = "If-None-Match";
+
+    private static final int NOT_MODIFIED = 304;
+
+    private final Map<Key, Entry> entries;
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final int maximumEntries;
+
+    private final AtomicLong misses = new AtomicLong();
+
+    ResponseCache(int maximumEntries) {
+        this.maximumEntries = maximumEntries;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > ResponseCache.this.maximumEntries) {
+                    ResponseCache.this.evictions.incrementAndGet();
+                    return true;
+                }
+
+                return false;
+            }
+
+        };
+    }
+
+    /**
+     * Returns the number of entries evicted to keep the cache within its maximum size
+     *
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    /**
+     * Returns the number of responses that were served from the cache after a {@code 304 Not Modified}
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * Returns the maximum number of entries the cache holds
+     *
+     * @return the maximum number of entries
+     */
+    public int getMaximumEntries() {
+        return this.maximumEntries;
+    }
+
+    /**
+     * Returns the number of responses that were read and decoded because there was no entry or the entry was out of date
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * Returns the number of entries currently held
+     *
+     * @return the number of entries
+     */
+    public int getSize() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Removes every entry
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    <T> Exchange<T> exchange(Object identity, String uri) {
+        Key key = new Key(identity, uri);
+
+        synchronized (this.entries) {
+            return new Exchange<>(key, this.entries.get(key));
+        }
+    }
+
+    void invalidate(String uri) {
+        String path = getPath(uri);
+
+        synchronized (this.entries) {
+            for (Iterator<Key> i = this.entries.keySet().iterator(); i.hasNext(); ) {
+                String candidate = i.next().path;
+
+                if (isBelow(candidate, path) || isBelow(path, candidate)) {
+                    i.remove();
+                }
+            }
+        }
+    }
+
+    private static String getPath(String uri) {
+        return Optional.ofNullable(UriComponentsBuilder.fromUriString(uri).build().getPath()).orElse("");
+    }
+
+    private static boolean isBelow(String candidate, String path) {
+        return candidate.equals(path) || (candidate.startsWith(path) && candidate.charAt(path.length()) == '/');
+    }
+
+    private void put(Key key, String etag, Object value) {
+        synchronized (this.entries) {
+            this.entries.put(key, new Entry(etag, value));
+        }
+    }
+
+    private void remove(Key key) {
+        synchronized (this.entries) {
+            this.entries.remove(key);
+        }
+    }
+
+    private static final class Entry {
+
+        private final String etag;
+
+        private final Object value;
+
+        private Entry(String etag, Object value) {
+            this.etag = etag;
+            this.value = value;
+        }
+
+    }
+
+    final class Exchange<T> {
+
+        private final Entry entry;
+
+        private final Key key;
+
+        private Exchange(Key key, Entry entry) {
+            this.entry = entry;
+            this.key = key;
+        }
+
+        TransportRequest request(TransportRequest request) {
+            if (this.entry != null) {
+                return request.withHeader(IF_NONE_MATCH, this.entry.etag);
+            }
+
+            return request;
+        }
+
+        @SuppressWarnings("unchecked")
+        Function<Mono<TransportResponse>, Mono<T>> response(Function<Mono<TransportResponse>, Mono<T>> responseTransformer) {
+            return inbound -> inbound
+                .then(response -> {
+                    if (this.entry != null && response.getStatus() == NOT_MODIFIED) {
+                        ResponseCache.this.hits.incrementAndGet();
+                        return Mono.just((T) this.entry.value);
+                    }
+
+                    ResponseCache.this.misses.incrementAndGet();
+                    String etag = response.getHeader(ETAG);
+
+                    return responseTransformer.apply(Mono.just(response))
+                        .doOnSuccess(value -> {
+                            if (etag != null && value != null) {
+                                put(this.key, etag, value);
+                            } else {
+                                remove(this.key);
+                            }
+                        });
+                });
+        }
+
+    }
+
+    private static final class Key {
+
+        private final Object identity;
+
+        private final String path;
+
+        private final String uri;
+
+        private Key(Object identity, String uri) {
+            this.identity = identity;
+            this.path = getPath(uri);
+            this.uri = uri;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return this.identity == key.identity && this.uri.equals(key.uri);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(this.identity), this.uri);
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.reactor.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A budget that limits retries to a fraction of requests so that retries cannot amplify an outage.  Every request deposits a fraction of a retry into the budget and every retry withdraws a whole
+ * one.  The balance is capped so that a long quiet period cannot bank an unbounded number of retries.
+ */
+public final class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final AtomicLong attempts = new AtomicLong();
+
+    private final AtomicLong balance;
+
+    private final long deposit;
+
+    private final AtomicLong exhausted = new AtomicLong();
+
+    private final long maximum;
+
+    RetryBudget(double ratio, int maximum) {
+        this.balance = new AtomicLong(maximum * SCALE);
+        this.deposit = (long) (ratio * SCALE);
+        this.maximum = maximum * SCALE;
+    }
+
+    /**
+     * Returns the number of retries that have been attempted
+     *
+     * @return the number of retry attempts
+     */
+    public long getAttempts() {
+        return this.attempts.get();
+    }
+
+    /**
+     * Returns the number of retries that can currently be attempted
+     *
+     * @return the number of retries available
+     */
+    public long getAvailable() {
+        return this.balance.get() / SCALE;
+    }
+
+    /**
+     * Returns the number of retries that were not attempted because the budget was exhausted
+     *
+     * @return the number of retries refused
+     */
+    public long getExhausted() {
+        return this.exhausted.get();
+    }
+
+    void deposit() {
+        this.balance.updateAndGet(current -> Math.min(this.maximum, current + this.deposit));
+    }
+
+    boolean tryWithdraw() {
+        for (; ; ) {
+            long current = this.balance.get();
+            if (current < SCALE) {
+                this.exhausted.incrementAndGet();
+                return false;
+            }
+
+            if (this.balance.compareAndSet(current, current - SCALE)) {
+                this.attempts.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.ssl.SslHandler;
+
+import javax.net.ssl.SNIHostName;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Collections;
+
+/**
+ * Restores the host name of a balanced endpoint whose URI has been rewritten to one of its addresses.  Before the connection is made, the TLS engine is told to indicate that host name to the
+ * server (SNI) and, unless certificates are trusted regardless of their identity, to verify the server certificate against it rather than against the address.
+ */
+final class ServerNameHandler extends ChannelOutboundHandlerAdapter {
+
+    private static final String ENDPOINT_IDENTIFICATION_ALGORITHM = "HTTPS";
+
+    private final EndpointBalancer endpointBalancer;
+
+    private final boolean verifyHostname;
+
+    ServerNameHandler(EndpointBalancer endpointBalancer, boolean verifyHostname) {
+        this.endpointBalancer = endpointBalancer;
+        this.verifyHostname = verifyHostname;
+    }
+
+    @Override
+    public void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, SocketAddress localAddress, ChannelPromise promise) throws Exception {
+        SslHandler sslHandler = ctx.pipeline().get(SslHandler.class);
+
+        if (sslHandler != null && remoteAddress instanceof InetSocketAddress) {
+            this.endpointBalancer.getServerName((InetSocketAddress) remoteAddress)
+                .ifPresent(serverName -> configure(sslHandler.engine(), serverName));
+        }
+
+        super.connect(ctx, remoteAddress, localAddress, promise);
+    }
+
+    private void configure(SSLEngine engine, String serverName) {
+        SSLParameters parameters = engine.getSSLParameters();
+        parameters.setServerNames(Collections.singletonList(new SNIHostName(serverName)));
+
+        if (this.verifyHostname) {
+            parameters.setEndpointIdentificationAlgorithm(ENDPOINT_IDENTIFICATION_ALGORITHM);
+        }
+
+        engine.setSSLParameters(parameters);
+    }
+
+}
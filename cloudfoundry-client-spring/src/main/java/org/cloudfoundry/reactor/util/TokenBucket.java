@@ -0,0 +1,235 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket shared by all exchanges using a {@link RateLimiter}.  Each exchange takes a token, and an exchange that finds the bucket empty is delayed until a token is refilled.  Delayed exchanges are
+ * served in {@link Priority} order as tokens are refilled.
+ * The bucket adapts to the rate limit reported by the server.  When the server reports fewer requests remaining than the bucket holds, the remaining requests are spread across the rest of the
+ * window.  The configured rate is restored when the window resets.  The bucket never holds more tokens than the limit reported by the server.
+ */
+public final class TokenBucket {
+
+    private static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toMicros(1);
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final int SIGNIFICANT_VALUE_DIGITS = 3;
+
+    private final int burst;
+
+    private long capacity;
+
+    private final double configuredRate;
+
+    private final AtomicLong delayed = new AtomicLong();
+
+    private final Histogram waits = new ConcurrentHistogram(HIGHEST_TRACKABLE_VALUE, SIGNIFICANT_VALUE_DIGITS);
+
+    private long last;
+
+    private double rate;
+
+    private long resetAt;
+
+    private double tokens;
+
+    private final PriorityScheduler<Waiter> waiters;
+
+    TokenBucket(double requestsPerSecond, int burst, Duration starvationThreshold) {
+        this.burst = burst;
+        this.capacity = burst;
+        this.configuredRate = requestsPerSecond;
+        this.last = System.nanoTime();
+        this.rate = requestsPerSecond;
+        this.tokens = burst;
+        this.waiters = new PriorityScheduler<>(starvationThreshold);
+    }
+
+    /**
+     * Returns the number of tokens the bucket can hold, which is the smaller of the configured burst and the limit reported by the server
+     *
+     * @return the capacity of the bucket
+     */
+    public synchronized long getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Returns the number of exchanges that have been delayed because the bucket was empty
+     *
+     * @return the number of delayed exchanges
+     */
+    public long getDelayed() {
+        return this.delayed.get();
+    }
+
+    /**
+     * Returns the exchanges of a single priority delayed by this bucket
+     *
+     * @param priority the priority
+     * @return the lane for the priority
+     */
+    public PriorityScheduler.Lane getLane(Priority priority) {
+        return this.waiters.getLane(priority);
+    }
+
+    /**
+     * Returns the rate, in requests per second, at which the bucket is currently refilled
+     *
+     * @return the current rate
+     */
+    public synchronized double getRate() {
+        refill(System.nanoTime());
+        return this.rate;
+    }
+
+    /**
+     * Returns the number of tokens currently available.  A negative value is the number of exchanges waiting for a token.
+     *
+     * @return the number of tokens available
+     */
+    public synchronized double getTokens() {
+        refill(System.nanoTime());
+        return this.tokens;
+    }
+
+    /**
+     * Returns a copy of the histogram of the time, in microseconds, that exchanges waited for a token
+     *
+     * @return the wait time histogram
+     */
+    public Histogram getWaitTimes() {
+        return this.waits.copy();
+    }
+
+    <T> Mono<T> acquire(Mono<T> exchange, Priority priority) {
+        return Mono.defer(() -> {
+            Duration wait = take();
+            if (wait.isZero()) {
+                return exchange;
+            }
+
+            Waiter waiter = new Waiter();
+            this.waiters.add(priority, waiter);
+            Mono.delay(wait).subscribe(tick -> grant());
+
+            return waiter.processor
+                .doOnCancel(() -> {
+                    this.waiters.remove(waiter);
+                    waiter.cancel();
+                })
+                .then(granted -> exchange);
+        });
+    }
+
+    synchronized void refund() {
+        this.tokens = Math.min(this.capacity, this.tokens + 1);
+    }
+
+    Duration take() {
+        long wait;
+
+        synchronized (this) {
+            refill(System.nanoTime());
+            this.tokens -= 1;
+            wait = this.tokens >= 0 ? 0 : (long) (-this.tokens / this.rate * NANOS_PER_SECOND);
+        }
+
+        this.waits.recordValue(Math.min(HIGHEST_TRACKABLE_VALUE, TimeUnit.NANOSECONDS.toMicros(wait)));
+        if (wait > 0) {
+            this.delayed.incrementAndGet();
+        }
+
+        return Duration.ofNanos(wait);
+    }
+
+    synchronized void update(long remaining, Instant reset) {
+        long now = System.nanoTime();
+        refill(now);
+
+        long untilReset = Math.max(TimeUnit.MILLISECONDS.toNanos(1), Duration.between(Instant.now(), reset).toNanos());
+        this.rate = Math.min(this.configuredRate, (double) Math.max(remaining, 1) / untilReset * NANOS_PER_SECOND);
+        this.resetAt = now + untilReset;
+        this.tokens = Math.min(this.tokens, remaining);
+    }
+
+    synchronized void updateLimit(long limit) {
+        refill(System.nanoTime());
+
+        this.capacity = Math.min(this.burst, Math.max(limit, 1));
+        this.tokens = Math.min(this.tokens, this.capacity);
+    }
+
+    private void grant() {
+        for (; ; ) {
+            Waiter waiter = this.waiters.poll();
+
+            if (waiter == null) {
+                refund();
+                return;
+            }
+
+            if (waiter.grant()) {
+                return;
+            }
+        }
+    }
+
+    private void refill(long now) {
+        if (this.resetAt != 0 && now - this.resetAt >= 0) {
+            this.rate = this.configuredRate;
+            this.resetAt = 0;
+        }
+
+        this.tokens = Math.min(this.capacity, this.tokens + (double) (now - this.last) / NANOS_PER_SECOND * this.rate);
+        this.last = now;
+    }
+
+    private static final class Waiter {
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private final MonoProcessor<Boolean> processor = MonoProcessor.create();
+
+        private void cancel() {
+            this.claimed.set(true);
+        }
+
+        private boolean grant() {
+            if (!this.claimed.compareAndSet(false, true)) {
+                return false;
+            }
+
+            this.processor.onNext(true);
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The {@link TokenBucket}s of a {@link RateLimiter}, one per identity.  Identities are compared by reference and held weakly, so the bucket of an {@link AuthorizationProvider} that is no longer
+ * used is released with it.
+ */
+public final class TokenBuckets {
+
+    private final Map<Object, TokenBucket> buckets = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final _RateLimiter rateLimiter;
+
+    TokenBuckets(_RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Returns the bucket of an identity, created if needed
+     *
+     * @param identity the identity, usually an {@link AuthorizationProvider}
+     * @return the bucket of the identity
+     */
+    public TokenBucket get(Object identity) {
+        return this.buckets.computeIfAbsent(identity, key -> new TokenBucket(this.rateLimiter.getRequestsPerSecond(), this.rateLimiter.getBurst(), this.rateLimiter.getStarvationThreshold()));
+    }
+
+}
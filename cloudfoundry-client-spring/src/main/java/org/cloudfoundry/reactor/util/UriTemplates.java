@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.reactor.util;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+/**
+ * Utilities for turning request URIs into templates suitable for grouping metrics
+ */
+final class UriTemplates {
+
+    private static final Pattern GUID = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private static final String GUID_PLACEHOLDER = "{guid}";
+
+    private static final Pattern ID = Pattern.compile("[0-9]+");
+
+    private static final String ID_PLACEHOLDER = "{id}";
+
+    private UriTemplates() {
+    }
+
+    /**
+     * Returns the path of a URI with GUID and numeric segments replaced by placeholders.  The scheme, host, and query are discarded.
+     *
+     * @param uri the URI
+     * @return the template
+     */
+    static String normalize(String uri) {
+        String path = URI.create(uri).getRawPath();
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+
+        StringBuilder template = new StringBuilder(path.length());
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+
+            template.append('/');
+            if (GUID.matcher(segment).matches()) {
+                template.append(GUID_PLACEHOLDER);
+            } else if (ID.matcher(segment).matches()) {
+                template.append(ID_PLACEHOLDER);
+            } else {
+                template.append(segment);
+            }
+        }
+
+        return template.length() == 0 ? "/" : template.toString();
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+
+/**
+ * The configuration of the circuit breakers that protect each endpoint.  A breaker tracks the health of the server rather than of a caller, so its breakers are shared by every identity using a
+ * {@link ConnectionContext}.  Only server errors, transport errors, and slow exchanges count as failures; a {@code 429} response is left to the {@link RateLimiter} of the identity that received it
+ * and never opens a breaker.
+ */
+@Value.Immutable
+abstract class _CircuitBreakerPolicy {
+
+    /**
+     * The breakers, one per endpoint, that share this policy
+     */
+    @Value.Derived
+    public CircuitBreakers getBreakers() {
+        return new CircuitBreakers(this);
+    }
+
+    /**
+     * The fraction of failed exchanges at which a breaker opens
+     */
+    @Value.Default
+    double getFailureRateThreshold() {
+        return 0.5;
+    }
+
+    /**
+     * The number of exchanges that must be recorded before a breaker can open
+     */
+    @Value.Default
+    int getMinimumCalls() {
+        return 20;
+    }
+
+    /**
+     * How long a breaker stays open before letting probe exchanges through
+     */
+    @Value.Default
+    Duration getOpenDuration() {
+        return Duration.ofSeconds(30);
+    }
+
+    /**
+     * The number of probe exchanges let through while half-open, all of which must succeed for the breaker to close
+     */
+    @Value.Default
+    int getProbes() {
+        return 3;
+    }
+
+    /**
+     * The duration above which an exchange counts as slow
+     */
+    @Value.Default
+    Duration getSlowCallDuration() {
+        return Duration.ofSeconds(10);
+    }
+
+    /**
+     * The fraction of slow exchanges at which a breaker opens
+     */
+    @Value.Default
+    double getSlowCallRateThreshold() {
+        return 0.8;
+    }
+
+    /**
+     * The number of most recent exchanges whose outcomes are recorded
+     */
+    @Value.Default
+    int getWindowSize() {
+        return 100;
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.immutables.value.Value;
+
+/**
+ * The configuration of the adaptive limit on exchanges in flight to each root
+ */
+@Value.Immutable
+abstract class _ConcurrencyLimit {
+
+    /**
+     * The factor the limit is multiplied by when latency rises or an exchange is dropped
+     */
+    @Value.Default
+    double getBackoffRatio() {
+        return 0.9;
+    }
+
+    /**
+     * The limit each root starts with
+     */
+    @Value.Default
+    int getInitialLimit() {
+        return 20;
+    }
+
+    /**
+     * The multiple of the baseline latency above which the limit shrinks
+     */
+    @Value.Default
+    double getLatencyTolerance() {
+        return 2.0;
+    }
+
+    /**
+     * The limiters, one per root, that share this configuration
+     */
+    @Value.Derived
+    public ConcurrencyLimiters getLimiters() {
+        return new ConcurrencyLimiters(this);
+    }
+
+    /**
+     * The largest the limit can grow to
+     */
+    @Value.Default
+    int getMaximumLimit() {
+        return 200;
+    }
+
+    /**
+     * The maximum number of exchanges that can wait for each root before further exchanges are rejected
+     */
+    @Value.Default
+    int getMaximumQueueSize() {
+        return 1000;
+    }
+
+    /**
+     * The smallest the limit can shrink to
+     */
+    @Value.Default
+    int getMinimumLimit() {
+        return 1;
+    }
+
+}
@@ -17,6 +17,7 @@
 package org.cloudfoundry.reactor.util;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.EventLoopGroup;
 import org.cloudfoundry.Nullable;
 import org.immutables.value.Value;
 import org.springframework.web.util.UriComponents;
@@ -26,6 +27,10 @@ import reactor.io.netty.config.HttpClientOptions;
 import reactor.io.netty.http.HttpClient;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -36,12 +41,28 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
 
     private static final int DEFAULT_PORT = 443;
 
-    private static final int RECEIVE_BUFFER_SIZE = 10 * 1024 * 1024;
+    private static final String FETCHED_AT = "_fetched_at";
 
-    private static final int SEND_BUFFER_SIZE = 10 * 1024 * 1024;
+    private static final Duration INFO_MAXIMUM_AGE = Duration.ofHours(1);
+
+    private static final SocketOptions DEFAULT_SOCKET_OPTIONS = SocketOptions.builder().build();
+
+    private static final SocketOptions DEFAULT_TRANSFER_SOCKET_OPTIONS = SocketOptions.builder()
+        .maximumReceiveAllocation(1024 * 1024)
+        .receiveBufferSize(10 * 1024 * 1024)
+        .sendBufferSize(10 * 1024 * 1024)
+        .build();
 
     private static final int UNDEFINED_PORT = -1;
 
+    /**
+     * Shuts down the event loops of this context once the exchanges already on them have completed, and stops resolving the hosts of its endpoints.  The context should not be used afterwards.
+     */
+    public void dispose() {
+        getEndpointBalancer().ifPresent(EndpointBalancer::dispose);
+        getEventLoopGroups().ifPresent(EventLoopGroups::dispose);
+    }
+
     public abstract AuthorizationProvider getAuthorizationProvider();
 
     @Value.Default
@@ -54,14 +75,63 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
         return "";
     }
 
+    public abstract Optional<CircuitBreakerPolicy> getCircuitBreakerPolicy();
+
+    @Value.Derived
+    public CodecRegistry getCodecRegistry() {
+        CodecRegistry codecRegistry = new CodecRegistry(getObjectMapper(), Optional.ofNullable(getAfterburner()).orElse(false));
+
+        if (Optional.ofNullable(getWarmUpCodecs()).orElse(false)) {
+            codecRegistry.warmUp();
+        }
+
+        return codecRegistry;
+    }
+
+    public abstract Optional<ConcurrencyLimit> getConcurrencyLimit();
+
+    @Value.Derived
+    public Optional<EndpointBalancer> getEndpointBalancer() {
+        return getLoadBalancingPolicy().map(policy -> {
+            UriComponents root = getRootComponents();
+            List<String> hosts = policy.getHosts().isEmpty() ? Collections.singletonList(getHost()) : policy.getHosts();
+            hosts.forEach(host -> trust(UriComponentsBuilder.fromUriString(root.toUriString()).host(host).build(), getSslCertificateTruster()));
+
+            return new EndpointBalancer(root.toUriString(), hosts, root.getPort(), policy);
+        });
+    }
+
+    public abstract Optional<EventLoopPolicy> getEventLoopPolicy();
+
     @Value.Derived
+    public ExchangeQueues getExchangeQueues() {
+        return new ExchangeQueues(
+            Optional.ofNullable(getMaximumActiveExchanges()).orElse(ExchangeQueues.DEFAULT_MAXIMUM_ACTIVE),
+            Optional.ofNullable(getExchangeAcquireTimeout()).orElse(ExchangeQueues.DEFAULT_ACQUIRE_TIMEOUT),
+            Optional.ofNullable(getStarvationThreshold()).orElse(ExchangeQueues.DEFAULT_STARVATION_THRESHOLD));
+    }
+
+    public abstract Optional<HedgePolicy> getHedgePolicy();
+
+    @Value.Default
     public HttpClient getHttpClient() {
-        return HttpClient.create(HttpClientOptions.create()
-            .sslSupport()
-            .sndbuf(SEND_BUFFER_SIZE)
-            .rcvbuf(RECEIVE_BUFFER_SIZE)
-            .pipelineConfigurer(pipeline -> getProxyContext().getHttpProxyHandler().ifPresent(handler -> pipeline.addBefore(SslHandler, null, handler)))
-            .sslConfigurer(ssl -> getSslCertificateTruster().ifPresent(trustManager -> ssl.trustManager(new StaticTrustManagerFactory(trustManager)))));
+        return createHttpClient(ConnectionRole.API, Optional.empty());
+    }
+
+    @Override
+    public HttpClient getHttpClient(ConnectionRole role) {
+        return getHttpClients().get(role);
+    }
+
+    @Value.Default
+    public HttpTransport getHttpTransport() {
+        return new ReactorNettyHttpTransport(this);
+    }
+
+    @Value.Default
+    public MetricsListener getMetricsListener() {
+        return metrics -> {
+        };
     }
 
     @Value.Default
@@ -69,15 +139,28 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
         return new ObjectMapper();
     }
 
+    @Value.Default
+    public Priority getPriority() {
+        return Priority.INTERACTIVE;
+    }
+
+    public abstract Optional<RateLimiter> getRateLimiter();
+
     @Value.Derived
-    public Mono<String> getRoot() {
-        Integer port = getPort();
-        UriComponentsBuilder builder = UriComponentsBuilder.newInstance().scheme("https").host(getHost());
-        if (port != null) {
-            builder.port(port);
-        }
+    public Optional<RequestCoalescer> getRequestCoalescer() {
+        return Optional.ofNullable(getCoalesceRequests()).orElse(false) ? Optional.of(new RequestCoalescer()) : Optional.empty();
+    }
 
-        UriComponents components = normalize(builder);
+    @Value.Derived
+    public Optional<ResponseCache> getResponseCache() {
+        return Optional.ofNullable(getResponseCacheSize()).map(ResponseCache::new);
+    }
+
+    public abstract Optional<RetryPolicy> getRetryPolicy();
+
+    @Value.Derived
+    public Mono<String> getRoot() {
+        UriComponents components = getRootComponents();
         trust(components, getSslCertificateTruster());
 
         return Mono.just(components.toUriString());
@@ -92,20 +175,88 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
             .cache();
     }
 
+    @Override
+    public SocketOptions getSocketOptions(ConnectionRole role) {
+        switch (role) {
+            case TRANSFER:
+                return Optional.ofNullable(getTransferSocketOptions()).orElse(DEFAULT_TRANSFER_SOCKET_OPTIONS);
+            case WEBSOCKET:
+                return Optional.ofNullable(getWebSocketSocketOptions()).orElse(DEFAULT_SOCKET_OPTIONS);
+            default:
+                return Optional.ofNullable(getApiSocketOptions()).orElse(DEFAULT_SOCKET_OPTIONS);
+        }
+    }
+
+    @Value.Default
+    public Timeouts getTimeouts() {
+        return Timeouts.builder().build();
+    }
+
+    @Value.Check
+    void check() {
+        if (getNativeTransport() != null && getEventLoopPolicy().isPresent() && getEventLoopPolicy().get().getPreferNative() != getNativeTransport()) {
+            throw new IllegalStateException("nativeTransport must match the preferNative of the eventLoopPolicy");
+        }
+    }
+
+    @Nullable
+    abstract Boolean getAfterburner();
+
+    @Nullable
+    abstract SocketOptions getApiSocketOptions();
+
+    @Nullable
+    abstract Boolean getCoalesceRequests();
+
+    @Value.Derived
+    Optional<EventLoopGroups> getEventLoopGroups() {
+        if (getEventLoopPolicy().isPresent()) {
+            return getEventLoopPolicy().map(EventLoopPolicy::getGroups);
+        }
+
+        if (Optional.ofNullable(getNativeTransport()).orElse(false) && EventLoopGroups.isNativeAvailable()) {
+            return Optional.of(EventLoopPolicy.builder()
+                .apiThreads(Runtime.getRuntime().availableProcessors() * 2)
+                .preferNative(true)
+                .build()
+                .getGroups());
+        }
+
+        return Optional.empty();
+    }
+
+    @Nullable
+    abstract Duration getExchangeAcquireTimeout();
+
+    @Nullable
+    abstract EncryptedFileCache getFileCache();
+
     abstract String getHost();
 
-    @SuppressWarnings("unchecked")
+    @Value.Lazy
+    HttpClients getHttpClients() {
+        return new HttpClients(this::createHttpClient);
+    }
+
     @Value.Derived
     Mono<Map<String, String>> getInfo() {
-        return getRoot()
-            .map(uri -> UriComponentsBuilder.fromUriString(uri).pathSegment("v2", "info").build().toUriString())
-            .then(getHttpClient()::get)
-            .then(inbound -> inbound.receive().aggregate().toInputStream())
-            .map(JsonCodec.decode(getObjectMapper(), Map.class))
-            .map(m -> (Map<String, String>) m)
+        return Optional.ofNullable(getFileCache())
+            .map(this::getCachedInfo)
+            .orElseGet(this::requestInfo)
             .cache();
     }
 
+    @Nullable
+    abstract Boolean getKeepAlive();
+
+    abstract Optional<LoadBalancingPolicy> getLoadBalancingPolicy();
+
+    @Nullable
+    abstract Integer getMaximumActiveExchanges();
+
+    @Nullable
+    abstract Boolean getNativeTransport();
+
     @Nullable
     abstract Integer getPort();
 
@@ -131,6 +282,9 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
     @Nullable
     abstract String getProxyUsername();
 
+    @Nullable
+    abstract Integer getResponseCacheSize();
+
     @Value.Derived
     Optional<SslCertificateTruster> getSslCertificateTruster() {
         if (Optional.ofNullable(getTrustCertificates()).orElse(false)) {
@@ -140,9 +294,31 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
         }
     }
 
+    @Nullable
+    abstract Duration getStarvationThreshold();
+
+    @Nullable
+    abstract SocketOptions getTransferSocketOptions();
+
     @Nullable
     abstract Boolean getTrustCertificates();
 
+    @Nullable
+    abstract Boolean getWarmUpCodecs();
+
+    @Nullable
+    abstract SocketOptions getWebSocketSocketOptions();
+
+    private static boolean isStale(Map<String, String> entry) {
+        try {
+            return Optional.ofNullable(entry.get(FETCHED_AT))
+                .map(fetchedAt -> Instant.ofEpochMilli(Long.parseLong(fetchedAt)).plus(INFO_MAXIMUM_AGE).isBefore(Instant.now()))
+                .orElse(true);
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
     private static UriComponents normalize(UriComponentsBuilder builder) {
         UriComponents components = builder.build();
 
@@ -159,4 +335,75 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
         sslCertificateTruster.ifPresent(t -> t.trust(components.getHost(), components.getPort(), Duration.ofSeconds(30)));
     }
 
+    private HttpClient createHttpClient(ConnectionRole role) {
+        Optional<EventLoopGroup> eventLoopGroup = getEventLoopGroups().map(groups -> groups.get(role));
+
+        if (!eventLoopGroup.isPresent() && ConnectionRole.API == role) {
+            return getHttpClient();
+        }
+
+        return createHttpClient(role, eventLoopGroup);
+    }
+
+    private HttpClient createHttpClient(ConnectionRole role, Optional<EventLoopGroup> eventLoopGroup) {
+        HttpClientOptions options = HttpClientOptions.create()
+            .sslSupport()
+            .keepAlive(Optional.ofNullable(getKeepAlive()).orElse(true))
+            .pipelineConfigurer(pipeline -> {
+                pipeline.channel().config().setConnectTimeoutMillis((int) getTimeouts().getConnect().toMillis());
+                getSocketOptions(role).configure(pipeline.channel());
+                getProxyContext().getHttpProxyHandler().ifPresent(handler -> pipeline.addBefore(SslHandler, null, handler));
+                getEndpointBalancer().ifPresent(balancer -> pipeline.addLast(new ServerNameHandler(balancer, !getSslCertificateTruster().isPresent())));
+            })
+            .sslConfigurer(ssl -> getSslCertificateTruster().ifPresent(trustManager -> ssl.trustManager(new StaticTrustManagerFactory(trustManager))));
+
+        eventLoopGroup.ifPresent(options::eventLoopGroup);
+
+        return HttpClient.create(options);
+    }
+
+    private Mono<Map<String, String>> getCachedInfo(EncryptedFileCache fileCache) {
+        String name = String.format("info %s:%d", getHost(), Optional.ofNullable(getPort()).orElse(DEFAULT_PORT));
+        Mono<Map<String, String>> requested = requestInfo()
+            .doOnSuccess(info -> {
+                Map<String, String> entry = new HashMap<>(info);
+                entry.put(FETCHED_AT, String.valueOf(Instant.now().toEpochMilli()));
+                fileCache.put(name, entry);
+            });
+
+        return Mono.defer(() -> fileCache.get(name)
+            .map(entry -> {
+                if (isStale(entry)) {
+                    requested
+                        .otherwise(t -> Mono.empty())
+                        .subscribe();
+                }
+
+                Map<String, String> info = new HashMap<>(entry);
+                info.remove(FETCHED_AT);
+                return Mono.just(info);
+            })
+            .orElse(requested));
+    }
+
+    private UriComponents getRootComponents() {
+        Integer port = getPort();
+        UriComponentsBuilder builder = UriComponentsBuilder.newInstance().scheme("https").host(getHost());
+        if (port != null) {
+            builder.port(port);
+        }
+
+        return normalize(builder);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Map<String, String>> requestInfo() {
+        return getRoot()
+            .map(uri -> UriComponentsBuilder.fromUriString(uri).pathSegment("v2", "info").build().toUriString())
+            .then(uri -> getHttpTransport().exchange(TransportRequest.builder().method("GET").role(ConnectionRole.API).uri(uri).build()))
+            .then(response -> response.getStatus() < 400 ? Mono.just(response) : Mono.error(new HttpStatusException(response)))
+            .then(JsonCodec.decode(getCodecRegistry(), Map.class))
+            .map(m -> (Map<String, String>) m);
+    }
+
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.immutables.value.Value;
+
+/**
+ * The configuration of dedicated event loops for each {@link ConnectionRole}.  Giving each role its own loops keeps busy firehose streams and large transfers from delaying control-plane
+ * exchanges.
+ */
+@Value.Immutable
+abstract class _EventLoopPolicy {
+
+    /**
+     * The number of event loops serving API exchanges
+     */
+    @Value.Default
+    int getApiThreads() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * The event loops for each role
+     */
+    @Value.Derived
+    public EventLoopGroups getGroups() {
+        return new EventLoopGroups(this);
+    }
+
+    /**
+     * Whether to use the native epoll transport when it is available
+     */
+    @Value.Default
+    boolean getPreferNative() {
+        return false;
+    }
+
+    /**
+     * The number of event loops serving uploads and downloads
+     */
+    @Value.Default
+    int getTransferThreads() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    /**
+     * The number of event loops serving websocket streams
+     */
+    @Value.Default
+    int getWebSocketThreads() {
+        return 1;
+    }
+
+}
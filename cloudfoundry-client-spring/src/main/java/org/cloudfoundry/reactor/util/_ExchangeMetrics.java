@@ -0,0 +1,71 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.reactor.util;
+
+import org.cloudfoundry.Nullable;
+import org.immutables.value.Value;
+
+import java.time.Duration;
+
+/**
+ * The metrics of a single exchange.  For exchanges that return a raw response, such as downloads and streams, the exchange completes when the response headers have been received.
+ */
+@Value.Immutable
+abstract class _ExchangeMetrics {
+
+    /**
+     * The number of bytes received, including headers but not the status line or any transport framing
+     */
+    public abstract long getBytesReceived();
+
+    /**
+     * The number of bytes sent, including headers but not the request line or any transport framing
+     */
+    public abstract long getBytesSent();
+
+    /**
+     * The time from the start of the exchange until it completed
+     */
+    public abstract Duration getLatency();
+
+    /**
+     * The request method
+     */
+    public abstract String getMethod();
+
+    /**
+     * The status code of the response, if one was received
+     */
+    @Nullable
+    public abstract Integer getStatus();
+
+    /**
+     * The time from the start of the exchange until the response headers were received, if they were
+     */
+    @Nullable
+    public abstract Duration getTimeToFirstByte();
+
+    /**
+     * The path of the request with identifiers replaced by placeholders (e.g. {@code /v2/apps/{guid}/summary})
+     */
+    public abstract String getUriTemplate();
+
+    /**
+     * The number of {@code X-Cf-Warnings} headers in the response
+     */
+    public abstract int getWarnings();
+
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.immutables.value.Value;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The policy for hedging idempotent reads.  If an exchange has not received response headers within a percentile of the endpoint's recent header latency, a second identical exchange is sent.  The
+ * first to complete wins and the other is cancelled.  Hedges are limited by a {@link RetryBudget} shared by all exchanges, so that hedging cannot add more than a fraction of extra load.
+ */
+@Value.Immutable
+abstract class _HedgePolicy {
+
+    /**
+     * The budget shared by all exchanges using this policy
+     */
+    @Value.Derived
+    RetryBudget getBudget() {
+        return new RetryBudget(getBudgetRatio(), getBudgetMaximum());
+    }
+
+    /**
+     * The maximum number of hedges that can be banked by the budget
+     */
+    @Value.Default
+    int getBudgetMaximum() {
+        return 10;
+    }
+
+    /**
+     * The fraction of a hedge that each request adds to the budget
+     */
+    @Value.Default
+    double getBudgetRatio() {
+        return 0.05;
+    }
+
+    /**
+     * The length of each interval of header latencies.  The hedge delay is taken from the most recent complete interval.
+     */
+    @Value.Default
+    Duration getInterval() {
+        return Duration.ofSeconds(30);
+    }
+
+    /**
+     * The longest an exchange waits before being hedged, and the delay used until an endpoint has enough samples
+     */
+    @Value.Default
+    Duration getMaximumDelay() {
+        return Duration.ofSeconds(2);
+    }
+
+    /**
+     * The shortest an exchange waits before being hedged
+     */
+    @Value.Default
+    Duration getMinimumDelay() {
+        return Duration.ofMillis(50);
+    }
+
+    /**
+     * The number of header latencies an endpoint must record before its percentile is used
+     */
+    @Value.Default
+    int getMinimumSamples() {
+        return 20;
+    }
+
+    /**
+     * The percentile of an endpoint's header latency after which an exchange is hedged
+     */
+    @Value.Default
+    double getPercentile() {
+        return 95.0;
+    }
+
+    /**
+     * The state shared by all exchanges using this policy
+     */
+    @Value.Derived
+    public HedgeTracker getTracker() {
+        return new HedgeTracker(getPercentile(), getMinimumDelay(), getMaximumDelay(), getMinimumSamples(), getInterval());
+    }
+
+    <T> Mono<T> hedge(String endpoint, Function<Runnable, Mono<T>> attempt) {
+        return hedge(endpoint, attempt, getTracker());
+    }
+
+    <T> Mono<T> hedge(String endpoint, Function<Runnable, Mono<T>> attempt, HedgeTracker tracker) {
+        return Mono.defer(() -> {
+            getBudget().deposit();
+            return new Hedge<>(endpoint, attempt, tracker).start();
+        });
+    }
+
+    private final class Hedge<T> {
+
+        private final Function<Runnable, Mono<T>> attempt;
+
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private final String endpoint;
+
+        private final AtomicBoolean headers = new AtomicBoolean();
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        private final MonoProcessor<T> result = MonoProcessor.create();
+
+        private final Queue<Subscription> subscriptions = new ConcurrentLinkedQueue<>();
+
+        private final HedgeTracker tracker;
+
+        private Hedge(String endpoint, Function<Runnable, Mono<T>> attempt, HedgeTracker tracker) {
+            this.attempt = attempt;
+            this.endpoint = endpoint;
+            this.tracker = tracker;
+        }
+
+        private void cancel() {
+            this.subscriptions.forEach(Subscription::cancel);
+        }
+
+        private void onError(Throwable t) {
+            if (this.outstanding.decrementAndGet() == 0 && this.done.compareAndSet(false, true)) {
+                cancel();
+                this.result.onError(t);
+            }
+        }
+
+        private void onSuccess(T value, boolean hedge) {
+            if (!this.done.compareAndSet(false, true)) {
+                return;
+            }
+
+            if (hedge) {
+                this.tracker.won();
+            }
+
+            cancel();
+            if (value != null) {
+                this.result.onNext(value);
+            } else {
+                this.result.onComplete();
+            }
+        }
+
+        private void onTimer() {
+            if (this.done.get() || this.headers.get() || !getBudget().tryWithdraw()) {
+                return;
+            }
+
+            this.tracker.hedged();
+            send(true);
+        }
+
+        private void send(boolean hedge) {
+            long start = this.tracker.tick();
+            this.outstanding.incrementAndGet();
+
+            this.attempt
+                .apply(() -> {
+                    this.headers.set(true);
+                    this.tracker.record(this.endpoint, this.tracker.tick() - start);
+                })
+                .doOnSubscribe(this.subscriptions::add)
+                .doOnSuccess(value -> onSuccess(value, hedge))
+                .doOnError(this::onError)
+                .otherwise(t -> Mono.empty())
+                .subscribe(value -> {
+                });
+        }
+
+        private Mono<T> start() {
+            send(false);
+
+            this.tracker.delay(this.endpoint)
+                .doOnSubscribe(this.subscriptions::add)
+                .subscribe(tick -> onTimer());
+
+            return this.result
+                .doOnCancel(this::cancel);
+        }
+
+    }
+
+}
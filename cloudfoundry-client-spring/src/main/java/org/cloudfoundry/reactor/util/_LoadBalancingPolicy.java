@@ -0,0 +1,67 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The configuration of client-side load balancing across several Cloud Controller API endpoints
+ */
+@Value.Immutable
+abstract class _LoadBalancingPolicy {
+
+    /**
+     * How often hosts are resolved again when {@code resolveDns} is set
+     */
+    @Value.Default
+    Duration getDnsRefreshInterval() {
+        return Duration.ofSeconds(30);
+    }
+
+    /**
+     * How long an endpoint is removed from selection once ejected
+     */
+    @Value.Default
+    Duration getEjectionDuration() {
+        return Duration.ofSeconds(30);
+    }
+
+    /**
+     * The number of consecutive failed exchanges after which an endpoint is ejected
+     */
+    @Value.Default
+    int getEjectionThreshold() {
+        return 5;
+    }
+
+    /**
+     * The hosts of the API endpoints.  When empty, the host of the connection context is used.
+     */
+    abstract List<String> getHosts();
+
+    /**
+     * Whether each host is resolved into all of its addresses, each of which is treated as an endpoint
+     */
+    @Value.Default
+    boolean getResolveDns() {
+        return false;
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.immutables.value.Value;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A client-side rate limit for the exchanges of a {@link ConnectionContext}.  The Cloud Controller limits each user separately, so each {@link AuthorizationProvider} has its own {@link
+ * TokenBucket}, even when many identities share a context through {@link AuthorizedConnectionContext}s, and one identity exhausting its limit never delays the exchanges of another.  Exchanges are
+ * delayed, rather than failed, when their bucket is empty, and delayed exchanges are served in {@link Priority} order.  Each bucket adapts to the {@code X-RateLimit-Limit}, {@code
+ * X-RateLimit-Remaining}, and {@code X-RateLimit-Reset} headers returned to its identity.  The wait time and delay count of each bucket are available from {@link #getBucket(Object)}.  An exchange rejected with a {@code 429} response is delayed and sent again.
+ */
+@Value.Immutable
+abstract class _RateLimiter {
+
+    private static final String RATE_LIMIT_LIMIT = "X-RateLimit-Limit";
+
+    private static final String RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
+
+    private static final String RATE_LIMIT_RESET = "X-RateLimit-Reset";
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /**
+     * The bucket of an identity, created if needed
+     *
+     * @param identity the identity, usually an {@link AuthorizationProvider}
+     * @return the bucket of the identity
+     */
+    public TokenBucket getBucket(Object identity) {
+        return getBuckets().get(identity);
+    }
+
+    /**
+     * The buckets of the identities using this rate limiter
+     */
+    @Value.Derived
+    public TokenBuckets getBuckets() {
+        return new TokenBuckets(this);
+    }
+
+    /**
+     * The number of exchanges that can be sent at once before the rate applies
+     */
+    @Value.Default
+    int getBurst() {
+        return 20;
+    }
+
+    /**
+     * The maximum number of times an exchange rejected with a {@code 429} response is sent again
+     */
+    @Value.Default
+    int getMaximumRetries() {
+        return 3;
+    }
+
+    /**
+     * The sustained rate, in requests per second, at which exchanges are sent
+     */
+    @Value.Default
+    double getRequestsPerSecond() {
+        return 10;
+    }
+
+    /**
+     * The time a delayed background exchange waits before it is served ahead of interactive exchanges
+     */
+    @Value.Default
+    Duration getStarvationThreshold() {
+        return Duration.ofSeconds(1);
+    }
+
+    <T> Mono<T> limit(Mono<T> exchange, Object identity) {
+        return limit(exchange, Priority.INTERACTIVE, identity);
+    }
+
+    <T> Mono<T> limit(Mono<T> exchange, Priority priority, Object identity) {
+        return limit(exchange, priority, identity, 0);
+    }
+
+    void observe(TransportResponse response, Object identity) {
+        String limit = response.getHeader(RATE_LIMIT_LIMIT);
+        if (limit != null) {
+            try {
+                getBucket(identity).updateLimit(Long.parseLong(limit.trim()));
+            } catch (NumberFormatException e) {
+                // ignore a malformed header and keep the current capacity
+            }
+        }
+
+        String remaining = response.getHeader(RATE_LIMIT_REMAINING);
+        String reset = response.getHeader(RATE_LIMIT_RESET);
+
+        if (remaining == null || reset == null) {
+            return;
+        }
+
+        try {
+            getBucket(identity).update(Long.parseLong(remaining.trim()), Instant.ofEpochSecond(Long.parseLong(reset.trim())));
+        } catch (NumberFormatException e) {
+            // ignore malformed headers and keep the current rate
+        }
+    }
+
+    private static boolean isTooManyRequests(Throwable t) {
+        return t instanceof HttpStatusException && ((HttpStatusException) t).getStatus() == TOO_MANY_REQUESTS;
+    }
+
+    private <T> Mono<T> limit(Mono<T> exchange, Priority priority, Object identity, int retries) {
+        return getBucket(identity).acquire(exchange, priority)
+            .otherwise(t -> {
+                if (isTooManyRequests(t) && retries < getMaximumRetries()) {
+                    Mono<T> retry = limit(exchange, priority, identity, retries + 1);
+
+                    return _RetryPolicy.getRetryAfter(t)
+                        .map(delay -> Mono.delay(delay).then(retry))
+                        .orElse(retry);
+                }
+
+                return Mono.error(t);
+            });
+    }
+
+}
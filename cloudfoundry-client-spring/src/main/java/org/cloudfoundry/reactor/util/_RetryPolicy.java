@@ -0,0 +1,166 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.reactor.util;
+
+import org.cloudfoundry.util.DelayTimeoutException;
+import org.cloudfoundry.util.DelayUtils;
+import org.immutables.value.Value;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The policy for retrying idempotent exchanges that fail with a {@code 502}, {@code 503}, or {@code 504} response or a connection error.  Retries are delayed with decorrelated jitter, wait at
+ * least as long as any {@code Retry-After} header asks, and are limited by a {@link RetryBudget} shared by all exchanges.  An exchange whose {@code Retry-After} is longer than the maximum delay
+ * fails immediately rather than holding its caller for as long as the server asks.
+ */
+@Value.Immutable
+abstract class _RetryPolicy {
+
+    private static final String RETRY_AFTER = "Retry-After";
+
+    /**
+     * The budget shared by all exchanges using this policy
+     */
+    @Value.Derived
+    public RetryBudget getBudget() {
+        return new RetryBudget(getBudgetRatio(), getBudgetMaximum());
+    }
+
+    /**
+     * The maximum number of retries that can be banked by the budget
+     */
+    @Value.Default
+    int getBudgetMaximum() {
+        return 10;
+    }
+
+    /**
+     * The fraction of a retry that each request adds to the budget
+     */
+    @Value.Default
+    double getBudgetRatio() {
+        return 0.1;
+    }
+
+    /**
+     * The maximum delay between attempts
+     */
+    @Value.Default
+    Duration getMaximumDelay() {
+        return Duration.ofSeconds(10);
+    }
+
+    /**
+     * The maximum number of retries of a single exchange
+     */
+    @Value.Default
+    int getMaximumRetries() {
+        return 3;
+    }
+
+    /**
+     * The minimum delay between attempts
+     */
+    @Value.Default
+    Duration getMinimumDelay() {
+        return Duration.ofMillis(100);
+    }
+
+    /**
+     * The maximum amount of time to spend retrying a single exchange
+     */
+    @Value.Default
+    Duration getTimeout() {
+        return Duration.ofMinutes(1);
+    }
+
+    <T> Mono<T> retry(Mono<T> exchange) {
+        return Mono.defer(() -> {
+            getBudget().deposit();
+
+            AtomicReference<Throwable> last = new AtomicReference<>();
+            AtomicInteger retries = new AtomicInteger();
+
+            return exchange
+                .retryWhen(errors -> DelayUtils.decorrelatedJitterBackOffError(getMinimumDelay(), getMaximumDelay(), getTimeout())
+                    .apply(errors
+                        .doOnNext(last::set)
+                        .flatMap(error -> {
+                            Optional<Duration> retryAfter = getRetryAfter(error);
+
+                            if (!isRetryable(error) || isTooLate(retryAfter) || retries.incrementAndGet() > getMaximumRetries() || !getBudget().tryWithdraw()) {
+                                return Mono.<Throwable>error(error);
+                            }
+
+                            return retryAfter
+                                .map(delay -> Mono.delay(delay).then(Mono.just(error)))
+                                .orElse(Mono.just(error));
+                        })))
+                .otherwise(DelayTimeoutException.class, t -> Mono.error(last.get()));
+        });
+    }
+
+    static Optional<Duration> getRetryAfter(Throwable t) {
+        if (!(t instanceof HttpStatusException)) {
+            return Optional.empty();
+        }
+
+        String value = ((HttpStatusException) t).getResponse().getHeader(RETRY_AFTER);
+        if (value == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim()))));
+        } catch (NumberFormatException e) {
+            try {
+                Duration delay = Duration.between(Instant.now(), ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+            } catch (DateTimeParseException f) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private static boolean isRetryable(Throwable t) {
+        if (t instanceof IOException) {
+            return true;
+        }
+
+        if (t instanceof HttpStatusException) {
+            int status = ((HttpStatusException) t).getStatus();
+            return status == 502 || status == 503 || status == 504;
+        }
+
+        return false;
+    }
+
+    private boolean isTooLate(Optional<Duration> retryAfter) {
+        return retryAfter
+            .filter(delay -> delay.compareTo(getMaximumDelay()) > 0)
+            .isPresent();
+    }
+
+}
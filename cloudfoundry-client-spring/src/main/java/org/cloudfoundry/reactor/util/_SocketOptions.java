@@ -0,0 +1,66 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.channel.AdaptiveRecvByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.RecvByteBufAllocator;
+import org.cloudfoundry.Nullable;
+import org.immutables.value.Value;
+
+import java.util.Optional;
+
+/**
+ * The socket options applied to connections with a given {@link ConnectionRole} when they are created, before they connect, so that buffer sizes are in effect when the TCP window is
+ * negotiated.  Buffer sizes that are not set are left to the operating system.  Reads are sized by an adaptive allocator that
+ * grows towards {@code maximumReceiveAllocation} for large bodies and shrinks back for small ones.
+ */
+@Value.Immutable
+abstract class _SocketOptions {
+
+    private static final int DEFAULT_MAXIMUM_RECEIVE_ALLOCATION = 64 * 1024;
+
+    private static final int INITIAL_RECEIVE_ALLOCATION = 1024;
+
+    private static final int MINIMUM_RECEIVE_ALLOCATION = 64;
+
+    @Nullable
+    abstract Integer getMaximumReceiveAllocation();
+
+    @Value.Derived
+    RecvByteBufAllocator getReceiveAllocator() {
+        int maximum = Math.max(INITIAL_RECEIVE_ALLOCATION, Optional.ofNullable(getMaximumReceiveAllocation()).orElse(DEFAULT_MAXIMUM_RECEIVE_ALLOCATION));
+        return new AdaptiveRecvByteBufAllocator(MINIMUM_RECEIVE_ALLOCATION, INITIAL_RECEIVE_ALLOCATION, maximum);
+    }
+
+    @Nullable
+    abstract Integer getReceiveBufferSize();
+
+    @Nullable
+    abstract Integer getSendBufferSize();
+
+    void configure(Channel channel) {
+        ChannelConfig config = channel.config();
+
+        Optional.ofNullable(getReceiveBufferSize()).ifPresent(size -> config.setOption(ChannelOption.SO_RCVBUF, size));
+        Optional.ofNullable(getSendBufferSize()).ifPresent(size -> config.setOption(ChannelOption.SO_SNDBUF, size));
+        config.setRecvByteBufAllocator(getReceiveAllocator());
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.reactor.util;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+
+/**
+ * The timeouts applied to exchanges.  The response timeout does not apply to transfers, whose response only starts once the whole request body has been sent, and the total timeout only applies to
+ * API exchanges.  A narrower timeout for an individual request can be applied by composing {@code timeout()} onto the returned publisher; cancellation releases the exchange's connection.
+ */
+@Value.Immutable
+abstract class _Timeouts {
+
+    private static final Duration DEFAULT_CONNECT = Duration.ofSeconds(30);
+
+    private static final Duration DEFAULT_RESPONSE = Duration.ofMinutes(2);
+
+    private static final Duration DEFAULT_TOTAL = Duration.ofMinutes(5);
+
+    /**
+     * The time allowed to establish a connection
+     */
+    @Value.Default
+    public Duration getConnect() {
+        return DEFAULT_CONNECT;
+    }
+
+    /**
+     * The time allowed between the start of an exchange and the receipt of the response headers
+     */
+    @Value.Default
+    public Duration getResponse() {
+        return DEFAULT_RESPONSE;
+    }
+
+    /**
+     * The time allowed for an exchange, including reading its response body
+     */
+    @Value.Default
+    public Duration getTotal() {
+        return DEFAULT_TOTAL;
+    }
+
+}
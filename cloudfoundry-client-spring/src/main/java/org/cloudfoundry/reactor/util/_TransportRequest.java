@@ -0,0 +1,77 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.cloudfoundry.Nullable;
+import org.immutables.value.Value;
+import org.reactivestreams.Publisher;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The description of a request sent by an {@link HttpTransport}
+ */
+@Value.Immutable(copy = true)
+abstract class _TransportRequest {
+
+    /**
+     * The body of the request, if it has one.  The body is written into buffers from the allocator of the connection it is sent on, and is applied again each time the request is sent.  The
+     * transport releases each buffer once it has been written.
+     */
+    @Nullable
+    public abstract Function<ByteBufAllocator, Publisher<ByteBuf>> getBody();
+
+    /**
+     * The headers of the request
+     */
+    public abstract Map<String, String> getHeaders();
+
+    /**
+     * The method of the request
+     */
+    public abstract String getMethod();
+
+    /**
+     * The role of the connection the request is sent on.  A request with the {@link ConnectionRole#WEBSOCKET} role is upgraded to a websocket.
+     */
+    public abstract ConnectionRole getRole();
+
+    /**
+     * The absolute URI of the request
+     */
+    public abstract String getUri();
+
+    /**
+     * Whether redirects should be followed
+     */
+    @Value.Default
+    public boolean isFollowRedirect() {
+        return false;
+    }
+
+    TransportRequest withHeader(String name, String value) {
+        Map<String, String> headers = new LinkedHashMap<>(getHeaders());
+        headers.put(name, value);
+
+        return TransportRequest.copyOf(this).withHeaders(headers);
+    }
+
+}
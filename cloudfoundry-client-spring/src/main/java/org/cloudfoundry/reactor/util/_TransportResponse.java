@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.buffer.ByteBuf;
+import org.immutables.value.Value;
+import reactor.core.publisher.Flux;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The response to a request sent by an {@link HttpTransport}.  The response is complete once its status and headers have been received, and its body is streamed afterwards.
+ */
+@Value.Immutable(copy = true)
+abstract class _TransportResponse {
+
+    /**
+     * The body of the response.  The body of a websocket emits one buffer for each frame.  Buffers may be pooled and are released by the transport once they have been emitted, so a subscriber
+     * must read each buffer before returning from {@code onNext}, or {@link ByteBuf#retain() retain} it and release it later.
+     */
+    public abstract Flux<ByteBuf> getBody();
+
+    /**
+     * The headers of the response
+     */
+    public abstract Map<String, List<String>> getHeaders();
+
+    /**
+     * The status code of the response
+     */
+    public abstract int getStatus();
+
+    /**
+     * Returns the body of the response as byte arrays, one for each buffer.  Each buffer is copied, so the arrays can be kept after the buffers have been released.
+     *
+     * @return the body of the response
+     */
+    public final Flux<byte[]> getBodyAsByteArrays() {
+        return getBody()
+            .map(buffer -> {
+                byte[] bytes = new byte[buffer.readableBytes()];
+                buffer.getBytes(buffer.readerIndex(), bytes);
+                return bytes;
+            });
+    }
+
+    /**
+     * Returns the first value of a header, ignoring the case of its name
+     *
+     * @param name the name of the header
+     * @return the first value of the header, or {@code null} if the response does not have the header
+     */
+    public final String getHeader(String name) {
+        List<String> values = getHeaderValues(name);
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * Returns all of the values of a header, ignoring the case of its name
+     *
+     * @param name the name of the header
+     * @return the values of the header
+     */
+    public final List<String> getHeaderValues(String name) {
+        for (Map.Entry<String, List<String>> entry : getHeaders().entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(name)) {
+                return entry.getValue();
+            }
+        }
+
+        return Collections.emptyList();
+    }
+
+}
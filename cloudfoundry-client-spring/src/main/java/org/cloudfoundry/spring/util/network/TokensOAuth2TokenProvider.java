@@ -0,0 +1,318 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.spring.util.network;
+
+import org.cloudfoundry.reactor.util.EncryptedFileCache;
+import org.cloudfoundry.reactor.util.RefreshableAuthorizationProvider;
+import org.cloudfoundry.uaa.tokens.AbstractToken;
+import org.cloudfoundry.uaa.tokens.GetTokenByClientCredentialsRequest;
+import org.cloudfoundry.uaa.tokens.GetTokenByPasswordRequest;
+import org.cloudfoundry.uaa.tokens.RefreshTokenRequest;
+import org.cloudfoundry.uaa.tokens.Tokens;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * An {@link OAuth2TokenProvider} that gets its tokens from a {@link Tokens} client without blocking.  The token is cached and, if it has been used since it was last refreshed, refreshed in the
+ * background shortly before it expires, so an idle provider stops contacting the UAA.  A token requested within the refresh margin of its expiry is refreshed before it is used.  Concurrent requests for a token that is not yet available share a single request to the UAA, and a token
+ * rejected by the server is replaced once no matter how many exchanges were rejected.
+ */
+public final class TokensOAuth2TokenProvider implements OAuth2TokenProvider, RefreshableAuthorizationProvider {
+
+    private static final String ACCESS_TOKEN = "access_token";
+
+    private static final String BEARER = "bearer ";
+
+    private static final Duration DEFAULT_REFRESH_MARGIN = Duration.ofMinutes(1);
+
+    private static final String EXPIRES_AT = "expires_at";
+
+    private static final String REFRESH_TOKEN = "refresh_token";
+
+    private final String clientId;
+
+    private final String clientSecret;
+
+    private final Clock clock;
+
+    private final EncryptedFileCache fileCache;
+
+    private final String fileCacheName;
+
+    private final Logger logger = LoggerFactory.getLogger("cloudfoundry-client.token");
+
+    private final String password;
+
+    private final Duration refreshMargin;
+
+    private final AtomicReference<Mono<Token>> token = new AtomicReference<>();
+
+    private final Tokens tokens;
+
+    private final AtomicBoolean used = new AtomicBoolean();
+
+    private final String username;
+
+    /**
+     * Creates a new instance that uses the client credentials grant
+     *
+     * @param tokens       the client used to get tokens
+     * @param clientId     the client id
+     * @param clientSecret the client secret
+     */
+    public TokensOAuth2TokenProvider(Tokens tokens, String clientId, String clientSecret) {
+        this(tokens, clientId, clientSecret, null, null);
+    }
+
+    /**
+     * Creates a new instance that uses the password grant
+     *
+     * @param tokens       the client used to get tokens
+     * @param clientId     the client id
+     * @param clientSecret the client secret
+     * @param username     the username
+     * @param password     the password
+     */
+    public TokensOAuth2TokenProvider(Tokens tokens, String clientId, String clientSecret, String username, String password) {
+        this(tokens, clientId, clientSecret, username, password, null, null);
+    }
+
+    /**
+     * Creates a new instance that uses the password grant, or the client credentials grant if {@code username} is {@code null}, and that keeps its tokens in a {@link EncryptedFileCache} so that
+     * later processes can reuse them
+     *
+     * @param tokens        the client used to get tokens
+     * @param clientId      the client id
+     * @param clientSecret  the client secret
+     * @param username      the username
+     * @param password      the password
+     * @param fileCache     the cache to keep tokens in, or {@code null} if tokens should not be kept
+     * @param fileCacheName the name of the cache entry, which should identify the server, client, and user
+     */
+    public TokensOAuth2TokenProvider(Tokens tokens, String clientId, String clientSecret, String username, String password, EncryptedFileCache fileCache, String fileCacheName) {
+        this(tokens, clientId, clientSecret, username, password, fileCache, fileCacheName, DEFAULT_REFRESH_MARGIN, Clock.systemUTC());
+    }
+
+    TokensOAuth2TokenProvider(Tokens tokens, String clientId, String clientSecret, String username, String password, EncryptedFileCache fileCache, String fileCacheName, Duration refreshMargin,
+                              Clock clock) {
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.clock = clock;
+        this.fileCache = fileCache;
+        this.fileCacheName = fileCacheName;
+        this.password = password;
+        this.refreshMargin = refreshMargin;
+        this.tokens = tokens;
+        this.username = username;
+    }
+
+    @Override
+    public Mono<String> getAuthorization() {
+        return getToken()
+            .map(token -> BEARER + token);
+    }
+
+    @Override
+    public Mono<String> getToken() {
+        return Mono
+            .defer(() -> {
+                this.used.set(true);
+                Mono<Token> current = this.token.get();
+
+                if (current == null) {
+                    return replace(null, this::restore);
+                }
+
+                return current
+                    .then(token -> token.isExpired(this.clock, this.refreshMargin) ? replace(current, () -> refresh(token)) : Mono.just(token));
+            })
+            .map(token -> token.accessToken);
+    }
+
+    @Override
+    public Mono<Boolean> invalidate(String authorization) {
+        return Mono.defer(() -> {
+            Mono<Token> current = this.token.get();
+
+            if (current == null || authorization == null || !authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+                return Mono.just(false);
+            }
+
+            String rejected = authorization.substring(BEARER.length());
+
+            return current
+                .then(token -> token.accessToken.equals(rejected) ? replace(current, this::authenticate) : Mono.just(token))
+                .map(token -> true);
+        });
+    }
+
+    private Mono<Token> authenticate() {
+        if (this.username == null) {
+            return this.tokens
+                .getByClientCredentials(GetTokenByClientCredentialsRequest.builder()
+                    .clientId(this.clientId)
+                    .clientSecret(this.clientSecret)
+                    .build())
+                .map(response -> new Token(response, null, this.clock))
+                .doOnSuccess(this::store);
+        }
+
+        return this.tokens
+            .getByPassword(GetTokenByPasswordRequest.builder()
+                .clientId(this.clientId)
+                .clientSecret(this.clientSecret)
+                .password(this.password)
+                .username(this.username)
+                .build())
+            .map(response -> new Token(response, response.getRefreshToken(), this.clock))
+            .doOnSuccess(this::store);
+    }
+
+    private Mono<Token> refresh(Token token) {
+        if (token.refreshToken == null) {
+            return authenticate();
+        }
+
+        return this.tokens
+            .refresh(RefreshTokenRequest.builder()
+                .clientId(this.clientId)
+                .clientSecret(this.clientSecret)
+                .refreshToken(token.refreshToken)
+                .build())
+            .map(response -> new Token(response, response.getRefreshToken(), this.clock))
+            .doOnSuccess(this::store)
+            .otherwise(t -> {
+                this.logger.debug("Unable to refresh token, re-authenticating: {}", t.getMessage());
+                return authenticate();
+            });
+    }
+
+    private void refreshInBackground(Mono<Token> expected, Token token) {
+        if (this.token.get() != expected || !this.used.getAndSet(false)) {
+            return;
+        }
+
+        refresh(token)
+            .otherwise(t -> {
+                this.logger.warn("Unable to refresh token in the background: {}", t.getMessage());
+                return Mono.empty();
+            })
+            .subscribe(fresh -> {
+                Mono<Token> next = Mono.just(fresh);
+
+                if (this.token.compareAndSet(expected, next)) {
+                    schedule(next, fresh);
+                }
+            });
+    }
+
+    private Mono<Token> replace(Mono<Token> expected, Supplier<Mono<Token>> supplier) {
+        MonoProcessor<Token> processor = MonoProcessor.create();
+
+        if (!this.token.compareAndSet(expected, processor)) {
+            Mono<Token> current = this.token.get();
+            return current != null ? current : replace(null, supplier);
+        }
+
+        supplier.get()
+            .doOnSuccess(token -> schedule(processor, token))
+            .doOnError(t -> this.token.compareAndSet(processor, null))
+            .subscribe(processor);
+
+        return processor;
+    }
+
+    private Mono<Token> restore() {
+        return Optional.ofNullable(this.fileCache)
+            .flatMap(fileCache -> fileCache.get(this.fileCacheName))
+            .filter(entry -> entry.containsKey(ACCESS_TOKEN))
+            .map(entry -> new Token(entry, this.clock))
+            .map(token -> token.isExpired(this.clock, this.refreshMargin) ? refresh(token) : Mono.just(token))
+            .orElseGet(this::authenticate);
+    }
+
+    private void schedule(Mono<Token> expected, Token token) {
+        if (token == null || token.expiresIn == null) {
+            return;
+        }
+
+        Mono.delay(token.expiresIn.minus(token.getMargin(this.refreshMargin)))
+            .subscribe(tick -> refreshInBackground(expected, token));
+    }
+
+    private void store(Token token) {
+        if (this.fileCache != null && token != null) {
+            this.fileCache.put(this.fileCacheName, token.toEntry());
+        }
+    }
+
+    private static final class Token {
+
+        private final String accessToken;
+
+        private final Instant expiresAt;
+
+        private final Duration expiresIn;
+
+        private final String refreshToken;
+
+        private Token(AbstractToken response, String refreshToken, Clock clock) {
+            this.accessToken = response.getAccessToken();
+            this.expiresIn = response.getExpiresInSeconds() != null ? Duration.ofSeconds(response.getExpiresInSeconds()) : null;
+            this.expiresAt = this.expiresIn != null ? clock.instant().plus(this.expiresIn) : null;
+            this.refreshToken = refreshToken;
+        }
+
+        private Token(Map<String, String> entry, Clock clock) {
+            this.accessToken = entry.get(ACCESS_TOKEN);
+            this.expiresAt = entry.containsKey(EXPIRES_AT) ? Instant.ofEpochSecond(Long.parseLong(entry.get(EXPIRES_AT))) : null;
+            this.expiresIn = this.expiresAt != null ? Duration.between(clock.instant(), this.expiresAt) : null;
+            this.refreshToken = entry.get(REFRESH_TOKEN);
+        }
+
+        private Duration getMargin(Duration refreshMargin) {
+            Duration half = this.expiresIn.isNegative() ? Duration.ZERO : this.expiresIn.dividedBy(2);
+            return refreshMargin.compareTo(half) > 0 ? half : refreshMargin;
+        }
+
+        private boolean isExpired(Clock clock, Duration refreshMargin) {
+            return this.expiresAt != null && !clock.instant().isBefore(this.expiresAt.minus(getMargin(refreshMargin)));
+        }
+
+        private Map<String, String> toEntry() {
+            Map<String, String> entry = new HashMap<>();
+            entry.put(ACCESS_TOKEN, this.accessToken);
+            Optional.ofNullable(this.expiresAt).ifPresent(expiresAt -> entry.put(EXPIRES_AT, String.valueOf(expiresAt.getEpochSecond())));
+            Optional.ofNullable(this.refreshToken).ifPresent(refreshToken -> entry.put(REFRESH_TOKEN, refreshToken));
+            return entry;
+        }
+
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.spring.util.network;
+
+import org.cloudfoundry.reactor.uaa.tokens.ReactorTokens;
+import org.cloudfoundry.reactor.util.AuthorizationHeaderProvider;
+import org.cloudfoundry.reactor.util.AuthorizedConnectionContext;
+import org.cloudfoundry.uaa.tokens.Tokens;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of {@link TokensOAuth2TokenProvider}s for many identities that share a single {@link Tokens} client.  The same provider, and therefore the same cached token, is returned for an
+ * identity until it is evicted.  When the pool is full, the least recently used provider is evicted, and a later request for its identity authenticates again.
+ */
+public final class TokensOAuth2TokenProviderPool {
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final int maximumSize;
+
+    private final Map<Identity, TokensOAuth2TokenProvider> providers;
+
+    private final Tokens tokens;
+
+    /**
+     * Creates an instance that gets its tokens over the connections of a {@link org.cloudfoundry.reactor.util.ConnectionContext}
+     *
+     * @param connectionContext the context to share connections with
+     * @param maximumSize       the maximum number of identities the pool holds
+     */
+    public TokensOAuth2TokenProviderPool(org.cloudfoundry.reactor.util.ConnectionContext connectionContext, int maximumSize) {
+        this(new ReactorTokens(new AuthorizedConnectionContext(connectionContext, (AuthorizationHeaderProvider) Mono::empty), connectionContext.getRoot("token_endpoint")), maximumSize);
+    }
+
+    /**
+     * Creates an instance
+     *
+     * @param tokens      the client used to get tokens
+     * @param maximumSize the maximum number of identities the pool holds
+     */
+    public TokensOAuth2TokenProviderPool(Tokens tokens, int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.tokens = tokens;
+        this.providers = new LinkedHashMap<Identity, TokensOAuth2TokenProvider>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Identity, TokensOAuth2TokenProvider> eldest) {
+                if (size() <= TokensOAuth2TokenProviderPool.this.maximumSize) {
+                    return false;
+                }
+
+                TokensOAuth2TokenProviderPool.this.evictions.incrementAndGet();
+                return true;
+            }
+
+        };
+    }
+
+    /**
+     * Returns the provider for an identity that uses the client credentials grant
+     *
+     * @param clientId     the client id
+     * @param clientSecret the client secret
+     * @return the provider for the identity
+     */
+    public TokensOAuth2TokenProvider get(String clientId, String clientSecret) {
+        return get(clientId, clientSecret, null, null);
+    }
+
+    /**
+     * Returns the provider for an identity that uses the password grant
+     *
+     * @param clientId     the client id
+     * @param clientSecret the client secret
+     * @param username     the username
+     * @param password     the password
+     * @return the provider for the identity
+     */
+    public TokensOAuth2TokenProvider get(String clientId, String clientSecret, String username, String password) {
+        Identity identity = new Identity(clientId, clientSecret, username, password);
+
+        synchronized (this.providers) {
+            return this.providers.computeIfAbsent(identity, key -> new TokensOAuth2TokenProvider(this.tokens, clientId, clientSecret, username, password));
+        }
+    }
+
+    /**
+     * Returns the number of providers that have been evicted to make room for others
+     *
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    /**
+     * Returns the maximum number of identities the pool holds
+     *
+     * @return the maximum number of identities
+     */
+    public int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    /**
+     * Returns the number of identities currently held
+     *
+     * @return the number of identities
+     */
+    public int getSize() {
+        synchronized (this.providers) {
+            return this.providers.size();
+        }
+    }
+
+    private static final class Identity {
+
+        private final String clientId;
+
+        private final String clientSecret;
+
+        private final String password;
+
+        private final String username;
+
+        private Identity(String clientId, String clientSecret, String username, String password) {
+            this.clientId = clientId;
+            this.clientSecret = clientSecret;
+            this.password = password;
+            this.username = username;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Identity identity = (Identity) o;
+            return Objects.equals(this.clientId, identity.clientId) && Objects.equals(this.clientSecret, identity.clientSecret) && Objects.equals(this.password, identity.password) &&
+                Objects.equals(this.username, identity.username);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.clientId, this.clientSecret, this.password, this.username);
+        }
+
+    }
+
+}
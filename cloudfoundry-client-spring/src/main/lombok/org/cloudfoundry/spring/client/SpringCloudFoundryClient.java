@@ -93,19 +93,17 @@ import org.cloudfoundry.reactor.client.v3.packages.ReactorPackages;
 import org.cloudfoundry.reactor.client.v3.processes.ReactorProcesses;
 import org.cloudfoundry.reactor.client.v3.servicebindings.ReactorServiceBindingsV3;
 import org.cloudfoundry.reactor.client.v3.tasks.ReactorTasks;
+import org.cloudfoundry.reactor.uaa.tokens.ReactorTokens;
+import org.cloudfoundry.reactor.util.AuthorizationHeaderProvider;
 import org.cloudfoundry.reactor.util.AuthorizationProvider;
+import org.cloudfoundry.reactor.util.AuthorizedConnectionContext;
 import org.cloudfoundry.reactor.util.ConnectionContextSupplier;
 import org.cloudfoundry.reactor.util.DefaultConnectionContext;
+import org.cloudfoundry.reactor.util.EncryptedFileCache;
 import org.cloudfoundry.spring.util.CloudFoundryClientCompatibilityChecker;
-import org.cloudfoundry.spring.util.network.ConnectionContext;
-import org.cloudfoundry.spring.util.network.ConnectionContextFactory;
-import org.cloudfoundry.spring.util.network.FallbackHttpMessageConverter;
-import org.cloudfoundry.spring.util.network.OAuth2RestOperationsOAuth2TokenProvider;
-import org.cloudfoundry.spring.util.network.OAuth2RestTemplateBuilder;
 import org.cloudfoundry.spring.util.network.OAuth2TokenProvider;
-import org.springframework.security.oauth2.client.OAuth2RestOperations;
+import org.cloudfoundry.spring.util.network.TokensOAuth2TokenProvider;
 import reactor.core.publisher.Mono;
-import reactor.io.netty.http.HttpClient;
 
 import java.util.List;
 import java.util.Optional;
@@ -198,6 +196,7 @@ public final class SpringCloudFoundryClient implements CloudFoundryClient, Conne
                              Boolean skipSslValidation,
                              String clientId,
                              String clientSecret,
+                             EncryptedFileCache fileCache,
                              String proxyHost,
                              String proxyPassword,
                              Integer proxyPort,
@@ -206,94 +205,62 @@ public final class SpringCloudFoundryClient implements CloudFoundryClient, Conne
                              @NonNull String password,
                              @Singular List<DeserializationProblemHandler> problemHandlers) {
 
-        this(getConnectionContext(host, port, skipSslValidation, clientId, clientSecret, username, password), host, port, proxyHost, proxyPassword, proxyPort, proxyUsername, skipSslValidation,
-            problemHandlers, clientId, clientSecret);
+        this(getConnectionContext(host, port, proxyHost, proxyPassword, proxyPort, proxyUsername, skipSslValidation, problemHandlers, clientId, clientSecret, fileCache), host, port, fileCache,
+            username, password);
         new CloudFoundryClientCompatibilityChecker(this.info).check();
     }
 
     SpringCloudFoundryClient(String host, Integer port, String proxyHost, String proxyPassword, Integer proxyPort, String proxyUsername, Boolean skipSslValidation,
-                             OAuth2TokenProvider tokenProvider, List<DeserializationProblemHandler> problemHandlers, String clientId, String clientSecret) {
+                             OAuth2TokenProvider tokenProvider, List<DeserializationProblemHandler> problemHandlers, String clientId, String clientSecret, EncryptedFileCache fileCache) {
 
-        this.tokenProvider = tokenProvider;
-
-        ObjectMapper objectMapper = new ObjectMapper()
-            .disable(FAIL_ON_UNKNOWN_PROPERTIES)
-            .registerModule(new Jdk8Module())
-            .setSerializationInclusion(NON_NULL);
-        problemHandlers.forEach(objectMapper::addHandler);
-
-        DefaultConnectionContext.Builder connectionContextBuilder = DefaultConnectionContext.builder()
-            .authorizationProvider(outbound -> tokenProvider.getToken()
-                .map(token -> String.format("bearer %s", token))
-                .map(token -> {
-                    outbound.addHeader("Authorization", token);
-                    return outbound;
-                }))
-            .host(host)
-            .objectMapper(objectMapper)
-            .port(port)
-            .proxyHost(proxyHost)
-            .proxyPassword(proxyPassword)
-            .proxyPort(proxyPort)
-            .proxyUsername(proxyUsername)
-            .trustCertificates(skipSslValidation);
+        this(getConnectionContext(host, port, proxyHost, proxyPassword, proxyPort, proxyUsername, skipSslValidation, problemHandlers, clientId, clientSecret, fileCache), tokenProvider);
+    }
 
-        Optional.ofNullable(clientId).ifPresent(connectionContextBuilder::clientId);
-        Optional.ofNullable(clientSecret).ifPresent(connectionContextBuilder::clientSecret);
+    private SpringCloudFoundryClient(org.cloudfoundry.reactor.util.ConnectionContext connectionContext, String host, Integer port, EncryptedFileCache fileCache, String username, String password) {
+        this(connectionContext, getTokenProvider(connectionContext, host, port, fileCache, username, password));
+    }
 
-        this.connectionContext = connectionContextBuilder.build();
+    private SpringCloudFoundryClient(org.cloudfoundry.reactor.util.ConnectionContext connectionContext, OAuth2TokenProvider tokenProvider) {
+        this.connectionContext = new AuthorizedConnectionContext(connectionContext, getAuthorizationProvider(tokenProvider));
+        this.tokenProvider = tokenProvider;
 
-        AuthorizationProvider authorizationProvider = this.connectionContext.getAuthorizationProvider();
-        HttpClient httpClient = this.connectionContext.getHttpClient();
         Mono<String> root2 = this.connectionContext.getRoot();  // TODO: Change name once Spring is gone
 
-        this.applicationsV2 = new ReactorApplicationsV2(authorizationProvider, httpClient, objectMapper, root2);
-        this.applicationsV3 = new ReactorApplicationsV3(authorizationProvider, httpClient, objectMapper, root2);
-        this.applicationUsageEvents = new ReactorApplicationUsageEvents(authorizationProvider, httpClient, objectMapper, root2);
-        this.buildpacks = new ReactorBuildpacks(authorizationProvider, httpClient, objectMapper, root2);
-        this.domains = new ReactorDomains(authorizationProvider, httpClient, objectMapper, root2);
-        this.droplets = new ReactorDroplets(authorizationProvider, httpClient, objectMapper, root2);
-        this.environmentVariableGroups = new ReactorEnvironmentVariableGroups(authorizationProvider, httpClient, objectMapper, root2);
-        this.featureFlags = new ReactorFeatureFlags(authorizationProvider, httpClient, objectMapper, root2);
-        this.events = new ReactorEvents(authorizationProvider, httpClient, objectMapper, root2);
-        this.info = new ReactorInfo(authorizationProvider, httpClient, objectMapper, root2);
-        this.jobs = new ReactorJobs(authorizationProvider, httpClient, objectMapper, root2);
-        this.organizationQuotaDefinitions = new ReactorOrganizationQuotaDefinitions(authorizationProvider, httpClient, objectMapper, root2);
-        this.organizations = new ReactorOrganizations(authorizationProvider, httpClient, objectMapper, root2);
-        this.packages = new ReactorPackages(authorizationProvider, httpClient, objectMapper, root2);
-        this.privateDomains = new ReactorPrivateDomains(authorizationProvider, httpClient, objectMapper, root2);
-        this.processes = new ReactorProcesses(authorizationProvider, httpClient, objectMapper, root2);
-        this.routeMappings = new ReactorRouteMappings(authorizationProvider, httpClient, objectMapper, root2);
-        this.routes = new ReactorRoutes(authorizationProvider, httpClient, objectMapper, root2);
-        this.securityGroups = new ReactorSecurityGroups(authorizationProvider, httpClient, objectMapper, root2);
-        this.serviceBindingsV2 = new ReactorServiceBindingsV2(authorizationProvider, httpClient, objectMapper, root2);
-        this.serviceBindingsV3 = new ReactorServiceBindingsV3(authorizationProvider, httpClient, objectMapper, root2);
-        this.serviceBrokers = new ReactorServiceBrokers(authorizationProvider, httpClient, objectMapper, root2);
-        this.serviceInstances = new ReactorServiceInstances(authorizationProvider, httpClient, objectMapper, root2);
-        this.serviceKeys = new ReactorServiceKeys(authorizationProvider, httpClient, objectMapper, root2);
-        this.servicePlans = new ReactorServicePlans(authorizationProvider, httpClient, objectMapper, root2);
-        this.servicePlanVisibilities = new ReactorServicePlanVisibilities(authorizationProvider, httpClient, objectMapper, root2);
-        this.services = new ReactorServices(authorizationProvider, httpClient, objectMapper, root2);
-        this.serviceUsageEvents = new ReactorServiceUsageEvents(authorizationProvider, httpClient, objectMapper, root2);
-        this.sharedDomains = new ReactorSharedDomains(authorizationProvider, httpClient, objectMapper, root2);
-        this.spaceQuotaDefinitions = new ReactorSpaceQuotaDefinitions(authorizationProvider, httpClient, objectMapper, root2);
-        this.spaces = new ReactorSpaces(authorizationProvider, httpClient, objectMapper, root2);
-        this.stacks = new ReactorStacks(authorizationProvider, httpClient, objectMapper, root2);
-        this.tasks = new ReactorTasks(authorizationProvider, httpClient, objectMapper, root2);
-        this.users = new ReactorUsers(authorizationProvider, httpClient, objectMapper, root2);
-        this.userProvidedServiceInstances = new ReactorUserProvidedServiceInstances(authorizationProvider, httpClient, objectMapper, root2);
-    }
-
-    // Let's take a moment to reflect on the fact that this bridge constructor is needed to counter a useless compiler constraint
-    private SpringCloudFoundryClient(ConnectionContext connectionContext, String host, Integer port, String proxyHost, String proxyPassword, Integer proxyPort, String proxyUsername,
-                                     Boolean skipSslValidation, List<DeserializationProblemHandler> problemHandlers, String clientId, String clientSecret) {
-        this(host, port, proxyHost, proxyPassword, proxyPort, proxyUsername, skipSslValidation, getRestOperations(connectionContext, problemHandlers), problemHandlers, clientId, clientSecret);
-    }
-
-    // Let's take a moment to reflect on the fact that this bridge constructor is needed to counter a useless compiler constraint
-    private SpringCloudFoundryClient(String host, Integer port, String proxyHost, String proxyPassword, Integer proxyPort, String proxyUsername, Boolean skipSslValidation,
-                                     OAuth2RestOperations restOperations, List<DeserializationProblemHandler> problemHandlers, String clientId, String clientSecret) {
-        this(host, port, proxyHost, proxyPassword, proxyPort, proxyUsername, skipSslValidation, new OAuth2RestOperationsOAuth2TokenProvider(restOperations), problemHandlers, clientId, clientSecret);
+        this.applicationsV2 = new ReactorApplicationsV2(this.connectionContext, root2);
+        this.applicationsV3 = new ReactorApplicationsV3(this.connectionContext, root2);
+        this.applicationUsageEvents = new ReactorApplicationUsageEvents(this.connectionContext, root2);
+        this.buildpacks = new ReactorBuildpacks(this.connectionContext, root2);
+        this.domains = new ReactorDomains(this.connectionContext, root2);
+        this.droplets = new ReactorDroplets(this.connectionContext, root2);
+        this.environmentVariableGroups = new ReactorEnvironmentVariableGroups(this.connectionContext, root2);
+        this.featureFlags = new ReactorFeatureFlags(this.connectionContext, root2);
+        this.events = new ReactorEvents(this.connectionContext, root2);
+        this.info = new ReactorInfo(this.connectionContext, root2);
+        this.jobs = new ReactorJobs(this.connectionContext, root2);
+        this.organizationQuotaDefinitions = new ReactorOrganizationQuotaDefinitions(this.connectionContext, root2);
+        this.organizations = new ReactorOrganizations(this.connectionContext, root2);
+        this.packages = new ReactorPackages(this.connectionContext, root2);
+        this.privateDomains = new ReactorPrivateDomains(this.connectionContext, root2);
+        this.processes = new ReactorProcesses(this.connectionContext, root2);
+        this.routeMappings = new ReactorRouteMappings(this.connectionContext, root2);
+        this.routes = new ReactorRoutes(this.connectionContext, root2);
+        this.securityGroups = new ReactorSecurityGroups(this.connectionContext, root2);
+        this.serviceBindingsV2 = new ReactorServiceBindingsV2(this.connectionContext, root2);
+        this.serviceBindingsV3 = new ReactorServiceBindingsV3(this.connectionContext, root2);
+        this.serviceBrokers = new ReactorServiceBrokers(this.connectionContext, root2);
+        this.serviceInstances = new ReactorServiceInstances(this.connectionContext, root2);
+        this.serviceKeys = new ReactorServiceKeys(this.connectionContext, root2);
+        this.servicePlans = new ReactorServicePlans(this.connectionContext, root2);
+        this.servicePlanVisibilities = new ReactorServicePlanVisibilities(this.connectionContext, root2);
+        this.services = new ReactorServices(this.connectionContext, root2);
+        this.serviceUsageEvents = new ReactorServiceUsageEvents(this.connectionContext, root2);
+        this.sharedDomains = new ReactorSharedDomains(this.connectionContext, root2);
+        this.spaceQuotaDefinitions = new ReactorSpaceQuotaDefinitions(this.connectionContext, root2);
+        this.spaces = new ReactorSpaces(this.connectionContext, root2);
+        this.stacks = new ReactorStacks(this.connectionContext, root2);
+        this.tasks = new ReactorTasks(this.connectionContext, root2);
+        this.users = new ReactorUsers(this.connectionContext, root2);
+        this.userProvidedServiceInstances = new ReactorUserProvidedServiceInstances(this.connectionContext, root2);
     }
 
     @Override
@@ -481,27 +448,62 @@ public final class SpringCloudFoundryClient implements CloudFoundryClient, Conne
         return this.users;
     }
 
-    private static ConnectionContext getConnectionContext(String host, Integer port, Boolean skipSslValidation, String clientId, String clientSecret, String username, String password) {
-        return new ConnectionContextFactory()
-            .trustCertificates(skipSslValidation)
+    /**
+     * Returns a client that authorizes its requests with a different {@link OAuth2TokenProvider}.  The returned client shares the connections, event loops, and TLS sessions of this client, so a
+     * single client can act on behalf of many users without holding resources for each of them.
+     *
+     * @param tokenProvider the token provider for the identity to act as
+     * @return a client that acts as the identity
+     */
+    public SpringCloudFoundryClient withTokenProvider(OAuth2TokenProvider tokenProvider) {
+        return new SpringCloudFoundryClient(this.connectionContext, tokenProvider);
+    }
+
+    private static AuthorizationProvider getAuthorizationProvider(OAuth2TokenProvider tokenProvider) {
+        if (tokenProvider instanceof AuthorizationProvider) {
+            return (AuthorizationProvider) tokenProvider;
+        }
+
+        return (AuthorizationHeaderProvider) () -> tokenProvider.getToken()
+            .map(token -> String.format("bearer %s", token));
+    }
+
+    private static org.cloudfoundry.reactor.util.ConnectionContext getConnectionContext(String host, Integer port, String proxyHost, String proxyPassword, Integer proxyPort, String proxyUsername,
+                                                                                        Boolean skipSslValidation, List<DeserializationProblemHandler> problemHandlers, String clientId,
+                                                                                        String clientSecret, EncryptedFileCache fileCache) {
+
+        ObjectMapper objectMapper = new ObjectMapper()
+            .disable(FAIL_ON_UNKNOWN_PROPERTIES)
+            .registerModule(new Jdk8Module())
+            .setSerializationInclusion(NON_NULL);
+        problemHandlers.forEach(objectMapper::addHandler);
+
+        DefaultConnectionContext.Builder connectionContextBuilder = DefaultConnectionContext.builder()
+            .authorizationProvider((AuthorizationHeaderProvider) Mono::empty)
+            .fileCache(fileCache)
             .host(host)
+            .objectMapper(objectMapper)
             .port(port)
-            .clientId(clientId)
-            .clientSecret(clientSecret)
-            .username(username)
-            .password(password)
-            .build();
-    }
-
-    private static OAuth2RestOperations getRestOperations(ConnectionContext connectionContext, List<DeserializationProblemHandler> problemHandlers) {
-        return new OAuth2RestTemplateBuilder()
-            .clientContext(connectionContext.getClientContext())
-            .protectedResourceDetails(connectionContext.getProtectedResourceDetails())
-            .hostnameVerifier(connectionContext.getHostnameVerifier())
-            .sslContext(connectionContext.getSslContext())
-            .messageConverter(new FallbackHttpMessageConverter())
-            .problemHandlers(problemHandlers)
-            .build();
+            .proxyHost(proxyHost)
+            .proxyPassword(proxyPassword)
+            .proxyPort(proxyPort)
+            .proxyUsername(proxyUsername)
+            .trustCertificates(skipSslValidation);
+
+        Optional.ofNullable(clientId).ifPresent(connectionContextBuilder::clientId);
+        Optional.ofNullable(clientSecret).ifPresent(connectionContextBuilder::clientSecret);
+
+        return connectionContextBuilder.build();
+    }
+
+    private static OAuth2TokenProvider getTokenProvider(org.cloudfoundry.reactor.util.ConnectionContext connectionContext, String host, Integer port, EncryptedFileCache fileCache,
+                                                        String username, String password) {
+
+        org.cloudfoundry.reactor.util.ConnectionContext unauthorizedConnectionContext = new AuthorizedConnectionContext(connectionContext, (AuthorizationHeaderProvider) Mono::empty);
+        String fileCacheName = String.format("token %s:%d %s %s", host, Optional.ofNullable(port).orElse(443), connectionContext.getClientId(), username);
+
+        return new TokensOAuth2TokenProvider(new ReactorTokens(unauthorizedConnectionContext, unauthorizedConnectionContext.getRoot("token_endpoint")), connectionContext.getClientId(),
+            connectionContext.getClientSecret(), username, password, fileCache, fileCacheName);
     }
 
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.HttpMethod;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SynchronizedHistogram;
+import org.cloudfoundry.client.v2.info.GetInfoRequest;
+import org.cloudfoundry.reactor.client.v2.info.ReactorInfo;
+import org.cloudfoundry.reactor.util.AuthorizationHeaderProvider;
+import org.cloudfoundry.reactor.util.ConnectionContext;
+import org.cloudfoundry.reactor.util.ConnectionRole;
+import org.cloudfoundry.reactor.util.DefaultConnectionContext;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the NIO and native epoll transports on the {@code GET /v2/info} fixture with {@code CONCURRENCY} exchanges in flight.  Not run by default; run with
+ * {@code mvn test -Dtest=TransportBenchmark}.  On hosts where epoll is unavailable both runs use NIO.
+ */
+public final class TransportBenchmark {
+
+    private static final int CONCURRENCY = 64;
+
+    private static final GetInfoRequest REQUEST = GetInfoRequest.builder().build();
+
+    private static final int REQUESTS = 10_000;
+
+    private static final int WARM_UP_REQUESTS = 2_000;
+
+    private final Logger logger = LoggerFactory.getLogger("cloudfoundry-client.benchmark");
+
+    private final MockWebServer mockWebServer = new MockWebServer();
+
+    private final Mono<String> root = Mono.just(UriComponentsBuilder.newInstance()
+        .scheme("http").host(this.mockWebServer.getHostName()).port(this.mockWebServer.getPort())
+        .build().encode().toUriString());
+
+    @Test
+    public void benchmark() throws ExecutionException, InterruptedException {
+        this.mockWebServer.setDispatcher(new Dispatcher() {
+
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return TestResponse.builder()
+                    .status(OK)
+                    .payload("fixtures/client/v2/info/GET_response.json")
+                    .build()
+                    .getMockResponse();
+            }
+
+        });
+
+        run("nio", false);
+        run("epoll", true);
+    }
+
+    @After
+    public void shutdown() throws IOException {
+        this.mockWebServer.shutdown();
+    }
+
+    private static void execute(ExecutorService executor, ReactorInfo info, int requests, Histogram latencies) throws ExecutionException, InterruptedException {
+        Callable<Void> task = () -> {
+            for (int i = 0; i < requests / CONCURRENCY; i++) {
+                long requestStart = System.nanoTime();
+                info.get(REQUEST).block();
+                latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - requestStart));
+            }
+
+            return null;
+        };
+
+        for (Future<Void> future : executor.invokeAll(Collections.nCopies(CONCURRENCY, task))) {
+            future.get();
+        }
+    }
+
+    private Class<?> getChannelClass(ConnectionContext connectionContext) {
+        AtomicReference<Class<?>> channelClass = new AtomicReference<>();
+
+        connectionContext.getHttpClient(ConnectionRole.API)
+            .request(HttpMethod.GET, UriComponentsBuilder.fromUriString(this.root.block()).pathSegment("v2", "info").build().toUriString(), outbound -> {
+                channelClass.set(outbound.delegate().getClass());
+                return outbound.sendHeaders();
+            })
+            .block();
+
+        return channelClass.get();
+    }
+
+    private void run(String name, boolean nativeTransport) throws ExecutionException, InterruptedException {
+        DefaultConnectionContext connectionContext = DefaultConnectionContext.builder()
+            .authorizationProvider((AuthorizationHeaderProvider) Mono::empty)
+            .host("localhost")
+            .nativeTransport(nativeTransport)
+            .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+
+        try {
+            assertEquals(nativeTransport && Epoll.isAvailable() ? EpollSocketChannel.class : NioSocketChannel.class, getChannelClass(connectionContext));
+
+            ReactorInfo info = new ReactorInfo(connectionContext, this.root);
+            execute(executor, info, WARM_UP_REQUESTS, new SynchronizedHistogram(TimeUnit.SECONDS.toMicros(10), 3));
+
+            Histogram latencies = new SynchronizedHistogram(TimeUnit.SECONDS.toMicros(10), 3);
+            long start = System.nanoTime();
+
+            execute(executor, info, REQUESTS, latencies);
+
+            double seconds = (double) (System.nanoTime() - start) / TimeUnit.SECONDS.toNanos(1);
+
+            this.logger.info("{}: {} requests/s, mean {}us, p50 {}us, p99 {}us, max {}us", name, String.format("%.0f", REQUESTS / seconds), String.format("%.0f", latencies.getMean()),
+                latencies.getValueAtPercentile(50), latencies.getValueAtPercentile(99), latencies.getMaxValue());
+        } finally {
+            executor.shutdown();
+            connectionContext.dispose();
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.client;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public final class MethodAccessorTest {
+
+    @Test
+    public void invoke() throws NoSuchMethodException {
+        MethodAccessor accessor = MethodAccessor.of(Stub.class.getDeclaredMethod("getValues"));
+
+        assertEquals(Arrays.asList("test-value-1", "test-value-2"), accessor.invoke(new Stub()));
+    }
+
+    @Test
+    public void invokeNull() throws NoSuchMethodException {
+        MethodAccessor accessor = MethodAccessor.of(Stub.class.getDeclaredMethod("getNull"));
+
+        assertNull(accessor.invoke(new Stub()));
+    }
+
+    @Test
+    public void invokePrimitive() throws NoSuchMethodException {
+        MethodAccessor accessor = MethodAccessor.of(Stub.class.getDeclaredMethod("getCount"));
+
+        assertEquals(42, accessor.invoke(new Stub()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void invokeThrows() throws NoSuchMethodException {
+        MethodAccessor.of(Stub.class.getDeclaredMethod("getError")).invoke(new Stub());
+    }
+
+    private static final class Stub {
+
+        private int getCount() {
+            return 42;
+        }
+
+        private String getError() {
+            throw new IllegalStateException("test-message");
+        }
+
+        private String getNull() {
+            return null;
+        }
+
+        private List<String> getValues() {
+            return Arrays.asList("test-value-1", "test-value-2");
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.doppler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.cloudfoundry.reactor.util.TransportResponse;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public final class MultipartDecoderTest {
+
+    private static final String BODY = "--test-boundary\r\nContent-Type: application/octet-stream\r\n\r\ntest-part-1\r\n" +
+        "--test-boundary\r\n\r\ntest-part-2\r\n" +
+        "--test-boundary--\r\n";
+
+    @Test
+    public void decode() {
+        assertEquals(Arrays.asList("test-part-1", "test-part-2"), decode(Flux.just(buffer(BODY))));
+    }
+
+    @Test
+    public void decodeSplit() {
+        ByteBuf[] chunks = new ByteBuf[BODY.length()];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = buffer(BODY.substring(i, i + 1));
+        }
+
+        assertEquals(Arrays.asList("test-part-1", "test-part-2"), decode(Flux.just(chunks)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void noBoundary() {
+        MultipartDecoder.decode(TransportResponse.builder()
+            .body(Flux.empty())
+            .status(200)
+            .build(), part -> part.toString(StandardCharsets.UTF_8))
+            .collectList()
+            .block();
+    }
+
+    private static ByteBuf buffer(String s) {
+        return Unpooled.wrappedBuffer(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> decode(Flux<ByteBuf> body) {
+        return MultipartDecoder.decode(TransportResponse.builder()
+            .body(body)
+            .header("Content-Type", Collections.singletonList("multipart/x-protobuf; boundary=test-boundary"))
+            .status(200)
+            .build(), part -> part.toString(StandardCharsets.UTF_8))
+            .collectList()
+            .block();
+    }
+
+}
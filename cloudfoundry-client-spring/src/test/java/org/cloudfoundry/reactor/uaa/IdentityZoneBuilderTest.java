@@ -16,30 +16,33 @@
 
 package org.cloudfoundry.reactor.uaa;
 
+import org.cloudfoundry.reactor.util.ConnectionRole;
+import org.cloudfoundry.reactor.util.TransportRequest;
 import org.cloudfoundry.uaa.IdentityZoned;
 import org.junit.Test;
-import reactor.io.netty.http.HttpClientRequest;
 
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public final class IdentityZoneBuilderTest {
 
-    private final HttpClientRequest outbound = mock(HttpClientRequest.class);
+    private final TransportRequest.Builder outbound = TransportRequest.builder()
+        .method("GET")
+        .role(ConnectionRole.API)
+        .uri("https://localhost");
 
     @Test
     public void augment() {
         IdentityZoneBuilder.augment(this.outbound, new StubIdentityZoned());
 
-        verify(this.outbound).addHeader("X-Identity-Zone-Id", "test-identity-zone-id");
+        assertEquals("test-identity-zone-id", this.outbound.build().getHeaders().get("X-Identity-Zone-Id"));
     }
 
     @Test
     public void augmentNotIdentityZoned() {
         IdentityZoneBuilder.augment(this.outbound, new Object());
 
-        verifyZeroInteractions(this.outbound);
+        assertTrue(this.outbound.build().getHeaders().isEmpty());
     }
 
     private static final class StubIdentityZoned implements IdentityZoned {
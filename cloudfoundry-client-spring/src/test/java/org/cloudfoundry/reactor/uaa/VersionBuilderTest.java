@@ -16,35 +16,38 @@
 
 package org.cloudfoundry.reactor.uaa;
 
+import org.cloudfoundry.reactor.util.ConnectionRole;
+import org.cloudfoundry.reactor.util.TransportRequest;
 import org.cloudfoundry.uaa.Versioned;
 import org.junit.Test;
-import reactor.io.netty.http.HttpClientRequest;
 
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 
 public final class VersionBuilderTest {
 
-    private final HttpClientRequest outbound = mock(HttpClientRequest.class);
+    private final TransportRequest.Builder outbound = TransportRequest.builder()
+        .method("GET")
+        .role(ConnectionRole.API)
+        .uri("https://localhost");
 
     @Test
     public void augment() {
         VersionBuilder.augment(this.outbound, new StubVersioned("test-version"));
-        verify(this.outbound).addHeader("If-Match", "test-version");
+        assertEquals("test-version", this.outbound.build().getHeaders().get("If-Match"));
     }
 
     @Test
     public void augmentNotVersioned() {
-        IdentityZoneBuilder.augment(this.outbound, new Object());
-        verifyZeroInteractions(this.outbound);
+        VersionBuilder.augment(this.outbound, new Object());
+        assertTrue(this.outbound.build().getHeaders().isEmpty());
     }
 
     @Test
     public void augmentNullVersion() {
-        IdentityZoneBuilder.augment(this.outbound, new StubVersioned(null));
-        verifyZeroInteractions(this.outbound);
+        VersionBuilder.augment(this.outbound, new StubVersioned(null));
+        assertTrue(this.outbound.build().getHeaders().isEmpty());
     }
 
     private static final class StubVersioned implements Versioned {
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.uaa.tokens;
+
+import org.cloudfoundry.uaa.tokens.CheckTokenRequest;
+import org.cloudfoundry.uaa.tokens.CheckTokenResponse;
+import org.cloudfoundry.uaa.tokens.Tokens;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.cloudfoundry.util.test.TestObjects.fill;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class CheckTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2016-06-01T00:00:00Z");
+
+    private final Tokens tokens = mock(Tokens.class, RETURNS_SMART_NULLS);
+
+    private final CheckTokenCache cache = new CheckTokenCache(this.tokens, 2, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    public void cached() {
+        requestCheckToken(checkTokenRequest("test-token"), NOW.plusSeconds(600));
+
+        this.cache.check(checkTokenRequest("test-token")).block();
+        this.cache.check(checkTokenRequest("test-token")).block();
+
+        verify(this.tokens, times(1)).check(checkTokenRequest("test-token"));
+        assertEquals(1, this.cache.getHits());
+        assertEquals(1, this.cache.getMisses());
+    }
+
+    @Test
+    public void evicted() {
+        requestCheckToken(checkTokenRequest("test-token-1"), NOW.plusSeconds(600));
+        requestCheckToken(checkTokenRequest("test-token-2"), NOW.plusSeconds(600));
+        requestCheckToken(checkTokenRequest("test-token-3"), NOW.plusSeconds(600));
+
+        this.cache.check(checkTokenRequest("test-token-1")).block();
+        this.cache.check(checkTokenRequest("test-token-2")).block();
+        this.cache.check(checkTokenRequest("test-token-3")).block();
+        this.cache.check(checkTokenRequest("test-token-1")).block();
+
+        verify(this.tokens, times(2)).check(checkTokenRequest("test-token-1"));
+        assertEquals(2, this.cache.getSize());
+    }
+
+    @Test
+    public void expired() {
+        requestCheckToken(checkTokenRequest("test-token"), NOW);
+
+        this.cache.check(checkTokenRequest("test-token")).block();
+        this.cache.check(checkTokenRequest("test-token")).block();
+
+        verify(this.tokens, times(2)).check(checkTokenRequest("test-token"));
+        assertEquals(0, this.cache.getSize());
+    }
+
+    private static CheckTokenRequest checkTokenRequest(String token) {
+        return CheckTokenRequest.builder()
+            .clientId("test-client-id")
+            .clientSecret("test-client-secret")
+            .token(token)
+            .build();
+    }
+
+    private void requestCheckToken(CheckTokenRequest request, Instant expiration) {
+        when(this.tokens.check(request))
+            .thenReturn(Mono.just(fill(CheckTokenResponse.builder())
+                .expirationTime(expiration.getEpochSecond())
+                .build()));
+    }
+
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.uaa.tokens;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cloudfoundry.uaa.tokens.CheckTokenRequest;
+import org.cloudfoundry.uaa.tokens.CheckTokenResponse;
+import org.cloudfoundry.uaa.tokens.KeyType;
+import org.cloudfoundry.uaa.tokens.ListTokenKeysRequest;
+import org.cloudfoundry.uaa.tokens.ListTokenKeysResponse;
+import org.cloudfoundry.uaa.tokens.TokenKey;
+import org.cloudfoundry.uaa.tokens.Tokens;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class LocalTokenValidatorTest {
+
+    private static final Instant NOW = Instant.parse("2016-06-01T00:00:00Z");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final TestClock clock = new TestClock();
+
+    private final KeyPair keyPair;
+
+    private final KeyPair rotatedKeyPair;
+
+    private final Tokens tokens = mock(Tokens.class, RETURNS_SMART_NULLS);
+
+    private final LocalTokenValidator validator = new LocalTokenValidator(this.tokens, "https://uaa.test/oauth/token", "cloud_controller", this.clock);
+
+    public LocalTokenValidatorTest() throws GeneralSecurityException {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(1024);
+
+        this.keyPair = keyPairGenerator.generateKeyPair();
+        this.rotatedKeyPair = keyPairGenerator.generateKeyPair();
+    }
+
+    @Test
+    public void check() throws Exception {
+        requestListTokenKeys(tokenKey("test-key-id", this.keyPair));
+
+        CheckTokenResponse response = this.validator
+            .check(checkTokenRequest(getToken(this.keyPair, "test-key-id", claims())))
+            .block();
+
+        assertEquals("test-user-name", response.getUserName());
+        assertEquals(Arrays.asList("cloud_controller.read", "cloud_controller.write"), response.getScopes());
+    }
+
+    @Test
+    public void checkCachesKeys() throws Exception {
+        requestListTokenKeys(tokenKey("test-key-id", this.keyPair));
+        String token = getToken(this.keyPair, "test-key-id", claims());
+
+        this.validator.check(checkTokenRequest(token)).block();
+        this.validator.check(checkTokenRequest(token)).block();
+
+        verify(this.tokens, times(1)).listKeys(ListTokenKeysRequest.builder().build());
+    }
+
+    @Test
+    public void checkExpired() throws Exception {
+        requestListTokenKeys(tokenKey("test-key-id", this.keyPair));
+        Map<String, Object> claims = claims();
+        claims.put("exp", NOW.minusSeconds(1).getEpochSecond());
+
+        assertEquals(IllegalArgumentException.class, error(checkTokenRequest(getToken(this.keyPair, "test-key-id", claims))).getClass());
+    }
+
+    @Test
+    public void checkInvalidAudience() throws Exception {
+        requestListTokenKeys(tokenKey("test-key-id", this.keyPair));
+        Map<String, Object> claims = claims();
+        claims.put("aud", "test-audience");
+
+        assertEquals(IllegalArgumentException.class, error(checkTokenRequest(getToken(this.keyPair, "test-key-id", claims))).getClass());
+    }
+
+    @Test
+    public void checkInvalidIssuer() throws Exception {
+        requestListTokenKeys(tokenKey("test-key-id", this.keyPair));
+        Map<String, Object> claims = claims();
+        claims.put("iss", "https://evil.test/oauth/token");
+
+        assertEquals(IllegalArgumentException.class, error(checkTokenRequest(getToken(this.keyPair, "test-key-id", claims))).getClass());
+    }
+
+    @Test
+    public void checkInvalidSignature() throws Exception {
+        requestListTokenKeys(tokenKey("test-key-id", this.keyPair));
+
+        assertEquals("Token signature is not valid", error(checkTokenRequest(getToken(this.rotatedKeyPair, "test-key-id", claims()))).getMessage());
+    }
+
+    @Test
+    public void checkMissingScope() throws Exception {
+        requestListTokenKeys(tokenKey("test-key-id", this.keyPair));
+
+        CheckTokenRequest request = CheckTokenRequest.builder()
+            .clientId("test-client-id")
+            .clientSecret("test-client-secret")
+            .scope("cloud_controller.admin")
+            .token(getToken(this.keyPair, "test-key-id", claims()))
+            .build();
+
+        assertEquals(IllegalArgumentException.class, error(request).getClass());
+    }
+
+    @Test
+    public void checkRotatedKey() throws Exception {
+        when(this.tokens.listKeys(ListTokenKeysRequest.builder().build()))
+            .thenReturn(Mono.just(ListTokenKeysResponse.builder()
+                .key(tokenKey("test-key-id", this.keyPair))
+                .build()))
+            .thenReturn(Mono.just(ListTokenKeysResponse.builder()
+                .key(tokenKey("test-key-id", this.keyPair))
+                .key(tokenKey("test-rotated-key-id", this.rotatedKeyPair))
+                .build()));
+
+        this.validator.check(checkTokenRequest(getToken(this.keyPair, "test-key-id", claims()))).block();
+        this.clock.advance(Duration.ofMinutes(1));
+
+        assertEquals("test-user-name", this.validator.check(checkTokenRequest(getToken(this.rotatedKeyPair, "test-rotated-key-id", claims()))).block().getUserName());
+        verify(this.tokens, times(2)).listKeys(ListTokenKeysRequest.builder().build());
+    }
+
+    @Test
+    public void checkUnknownKeyRefreshLimited() throws Exception {
+        requestListTokenKeys(tokenKey("test-key-id", this.keyPair));
+
+        error(checkTokenRequest(getToken(this.keyPair, "test-unknown-key-id-1", claims())));
+        error(checkTokenRequest(getToken(this.keyPair, "test-unknown-key-id-2", claims())));
+
+        verify(this.tokens, times(1)).listKeys(ListTokenKeysRequest.builder().build());
+    }
+
+    private static CheckTokenRequest checkTokenRequest(String token) {
+        return CheckTokenRequest.builder()
+            .clientId("test-client-id")
+            .clientSecret("test-client-secret")
+            .scope("cloud_controller.read")
+            .token(token)
+            .build();
+    }
+
+    private static Map<String, Object> claims() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("aud", Arrays.asList("cloud_controller", "openid"));
+        claims.put("azp", "cf");
+        claims.put("cid", "cf");
+        claims.put("client_id", "cf");
+        claims.put("exp", NOW.plusSeconds(600).getEpochSecond());
+        claims.put("grant_type", "password");
+        claims.put("iat", NOW.getEpochSecond());
+        claims.put("iss", "https://uaa.test/oauth/token");
+        claims.put("jti", "test-jwt-id");
+        claims.put("scope", Arrays.asList("cloud_controller.read", "cloud_controller.write"));
+        claims.put("sub", "test-subject");
+        claims.put("user_name", "test-user-name");
+        claims.put("zid", "uaa");
+        return claims;
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String getToken(KeyPair keyPair, String keyId, Map<String, Object> claims) throws Exception {
+        Map<String, Object> header = new HashMap<>();
+        header.put("alg", "RS256");
+        header.put("kid", keyId);
+
+        String content = String.format("%s.%s", encode(OBJECT_MAPPER.writeValueAsBytes(header)), encode(OBJECT_MAPPER.writeValueAsBytes(claims)));
+
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(keyPair.getPrivate());
+        signature.update(content.getBytes(StandardCharsets.US_ASCII));
+
+        return String.format("%s.%s", content, encode(signature.sign()));
+    }
+
+    private static TokenKey tokenKey(String keyId, KeyPair keyPair) {
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+
+        return TokenKey.builder()
+            .algorithm("SHA256withRSA")
+            .e(encode(publicKey.getPublicExponent().toByteArray()))
+            .id(keyId)
+            .keyType(KeyType.RSA)
+            .n(encode(publicKey.getModulus().toByteArray()))
+            .use("sig")
+            .value("test-value")
+            .build();
+    }
+
+    private Throwable error(CheckTokenRequest request) {
+        return this.validator
+            .check(request)
+            .then(response -> Mono.<Throwable>error(new AssertionError("Expected token to be rejected")))
+            .otherwise(Mono::just)
+            .block();
+    }
+
+    private void requestListTokenKeys(TokenKey tokenKey) {
+        when(this.tokens.listKeys(ListTokenKeysRequest.builder().build()))
+            .thenReturn(Mono.just(ListTokenKeysResponse.builder()
+                .key(tokenKey)
+                .build()));
+    }
+
+    private static final class TestClock extends Clock {
+
+        private Instant instant = NOW;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        private void advance(Duration duration) {
+            this.instant = this.instant.plus(duration);
+        }
+
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public final class AbstractReactorOperationsTest {
+
+    private final List<TransportRequest> requests = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger unavailable = new AtomicInteger();
+
+    private final StubOperations operations = new StubOperations(DefaultConnectionContext.builder()
+        .authorizationProvider((AuthorizationHeaderProvider) () -> Mono.just("test-authorization"))
+        .host("test-host")
+        .httpTransport(this::exchange)
+        .retryPolicy(RetryPolicy.builder()
+            .maximumDelay(Duration.ofMillis(10))
+            .minimumDelay(Duration.ofMillis(1))
+            .build())
+        .build());
+
+    @Test
+    public void error() {
+        try {
+            this.operations.get("not-found").block();
+            fail();
+        } catch (HttpStatusException e) {
+            assertEquals(404, e.getStatus());
+        }
+    }
+
+    @Test
+    public void get() {
+        assertEquals("test-value", this.operations.get("test-path").block());
+
+        assertEquals(1, this.requests.size());
+        assertEquals("GET", this.requests.get(0).getMethod());
+        assertEquals("https://test-host/test-path", this.requests.get(0).getUri());
+        assertEquals("test-authorization", this.requests.get(0).getHeaders().get("Authorization"));
+    }
+
+    @Test
+    public void rateLimitPerIdentity() {
+        AuthorizationHeaderProvider throttled = () -> Mono.just("test-throttled-authorization");
+        AuthorizationHeaderProvider unthrottled = () -> Mono.just("test-authorization");
+        RateLimiter rateLimiter = RateLimiter.builder()
+            .burst(1)
+            .maximumRetries(0)
+            .requestsPerSecond(100)
+            .build();
+
+        ConnectionContext connectionContext = DefaultConnectionContext.builder()
+            .authorizationProvider((AuthorizationHeaderProvider) Mono::empty)
+            .host("test-host")
+            .httpTransport(this::exchange)
+            .rateLimiter(rateLimiter)
+            .build();
+
+        try {
+            new StubOperations(new AuthorizedConnectionContext(connectionContext, throttled)).get("test-path").block();
+            fail();
+        } catch (HttpStatusException e) {
+            assertEquals(429, e.getStatus());
+        }
+
+        assertEquals("test-value", new StubOperations(new AuthorizedConnectionContext(connectionContext, unthrottled)).get("test-path").block());
+
+        assertTrue(rateLimiter.getBucket(throttled).getRate() < 1);
+        assertEquals(100, rateLimiter.getBucket(unthrottled).getRate(), 0.001);
+        assertEquals(0, rateLimiter.getBucket(unthrottled).getDelayed());
+    }
+
+    @Test
+    public void retry() {
+        this.unavailable.set(1);
+
+        assertEquals("test-value", this.operations.get("test-path").block());
+        assertEquals(2, this.requests.size());
+    }
+
+    private static TransportResponse response(int status, String body) {
+        return TransportResponse.builder()
+            .body(Flux.just(Unpooled.wrappedBuffer(body.getBytes(StandardCharsets.UTF_8))))
+            .status(status)
+            .build();
+    }
+
+    private Mono<TransportResponse> exchange(TransportRequest request) {
+        return Mono.defer(() -> {
+            this.requests.add(request);
+
+            if (request.getUri().endsWith("not-found")) {
+                return Mono.just(response(404, "{}"));
+            }
+
+            if ("test-throttled-authorization".equals(request.getHeaders().get("Authorization"))) {
+                return Mono.just(TransportResponse.builder()
+                    .body(Flux.just(Unpooled.wrappedBuffer("{}".getBytes(StandardCharsets.UTF_8))))
+                    .header("X-RateLimit-Remaining", Collections.singletonList("0"))
+                    .header("X-RateLimit-Reset", Collections.singletonList(String.valueOf(Instant.now().plusSeconds(100).getEpochSecond())))
+                    .status(429)
+                    .build());
+            }
+
+            if (this.unavailable.getAndDecrement() > 0) {
+                return Mono.just(response(503, "{}"));
+            }
+
+            return Mono.just(response(200, "\"test-value\""));
+        });
+    }
+
+    private static final class StubOperations extends AbstractReactorOperations {
+
+        private StubOperations(ConnectionContext connectionContext) {
+            super(connectionContext, Mono.just("https://test-host"));
+        }
+
+        private Mono<String> get(String path) {
+            return doGet(String.class, builder -> builder.pathSegment(path), outbound -> outbound);
+        }
+
+    }
+
+}
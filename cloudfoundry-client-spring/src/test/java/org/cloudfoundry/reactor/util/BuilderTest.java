@@ -19,23 +19,73 @@ package org.cloudfoundry.reactor.util;
 import org.junit.Test;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public final class BuilderTest {
 
     @Test
     public void defaults() {
         DefaultConnectionContext connectionContext = DefaultConnectionContext.builder()
-            .authorizationProvider(Mono::just)
+            .authorizationProvider((AuthorizationHeaderProvider) Mono::empty)
             .host("test-host")
             .build();
 
         assertEquals("cf", connectionContext.getClientId());
         assertEquals("", connectionContext.getClientSecret());
+        assertNotNull(connectionContext.getCodecRegistry());
+        assertNotNull(connectionContext.getExchangeQueues());
         assertNotNull(connectionContext.getHttpClient());
+        assertSame(connectionContext.getHttpClient(), connectionContext.getHttpClient(ConnectionRole.API));
+        assertNotSame(connectionContext.getHttpClient(), connectionContext.getHttpClient(ConnectionRole.TRANSFER));
+        assertTrue(connectionContext.getHttpTransport() instanceof ReactorNettyHttpTransport);
         assertNotNull(connectionContext.getObjectMapper());
         assertNotNull(connectionContext.getRoot());
+        assertEquals(Duration.ofSeconds(30), connectionContext.getTimeouts().getConnect());
+        assertNull(connectionContext.getSocketOptions(ConnectionRole.API).getReceiveBufferSize());
+        assertEquals(10 * 1024 * 1024, connectionContext.getSocketOptions(ConnectionRole.TRANSFER).getReceiveBufferSize().intValue());
+        assertNull(connectionContext.getSocketOptions(ConnectionRole.WEBSOCKET).getReceiveBufferSize());
+    }
+
+    @Test
+    public void eventLoopPolicy() {
+        EventLoopPolicy eventLoopPolicy = EventLoopPolicy.builder()
+            .apiThreads(1)
+            .build();
+
+        DefaultConnectionContext connectionContext = DefaultConnectionContext.builder()
+            .authorizationProvider((AuthorizationHeaderProvider) Mono::empty)
+            .eventLoopPolicy(eventLoopPolicy)
+            .host("test-host")
+            .build();
+
+        assertTrue(eventLoopPolicy.getGroups().getPendingTasks(ConnectionRole.API).isEmpty());
+
+        assertNotSame(connectionContext.getHttpClient(), connectionContext.getHttpClient(ConnectionRole.API));
+        assertEquals(1, eventLoopPolicy.getGroups().getPendingTasks(ConnectionRole.API).size());
+        assertTrue(eventLoopPolicy.getGroups().getPendingTasks(ConnectionRole.TRANSFER).isEmpty());
+
+        connectionContext.dispose();
+
+        assertTrue(eventLoopPolicy.getGroups().get(ConnectionRole.API).isShuttingDown());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void nativeTransportConflict() {
+        DefaultConnectionContext.builder()
+            .authorizationProvider((AuthorizationHeaderProvider) Mono::empty)
+            .eventLoopPolicy(EventLoopPolicy.builder()
+                .preferNative(false)
+                .build())
+            .host("test-host")
+            .nativeTransport(true)
+            .build();
     }
 
 }
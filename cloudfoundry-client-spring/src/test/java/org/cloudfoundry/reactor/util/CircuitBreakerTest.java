@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.cloudfoundry.util.CircuitBreakerOpenException;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class CircuitBreakerTest {
+
+    private final TestTicker ticker = new TestTicker();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker("GET /v2/apps/{guid}/stats", CircuitBreakerPolicy.builder()
+        .minimumCalls(4)
+        .openDuration(Duration.ofMillis(100))
+        .probes(2)
+        .slowCallDuration(Duration.ofMillis(50))
+        .windowSize(4)
+        .build(), this.ticker);
+
+    @Test
+    public void closed() {
+        assertEquals("test-value", this.circuitBreaker.protect(Mono.just("test-value")).block());
+        assertEquals(CircuitBreaker.State.CLOSED, this.circuitBreaker.getState());
+    }
+
+    @Test
+    public void halfOpenClose() {
+        trip();
+        this.ticker.advance(Duration.ofMillis(150));
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, this.circuitBreaker.getState());
+
+        this.circuitBreaker.protect(Mono.just("test-value-1")).block();
+        this.circuitBreaker.protect(Mono.just("test-value-2")).block();
+
+        assertEquals(CircuitBreaker.State.CLOSED, this.circuitBreaker.getState());
+        assertEquals(0, this.circuitBreaker.getFailureRate(), 0);
+    }
+
+    @Test
+    public void halfOpenProbesLimited() {
+        trip();
+        this.ticker.advance(Duration.ofMillis(150));
+
+        assertTrue(this.circuitBreaker.tryAcquire());
+        assertTrue(this.circuitBreaker.tryAcquire());
+        assertFalse(this.circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void halfOpenReopen() {
+        trip();
+        this.ticker.advance(Duration.ofMillis(150));
+
+        fail();
+
+        assertEquals(CircuitBreaker.State.OPEN, this.circuitBreaker.getState());
+    }
+
+    @Test
+    public void open() {
+        trip();
+
+        assertEquals(CircuitBreaker.State.OPEN, this.circuitBreaker.getState());
+
+        try {
+            this.circuitBreaker.protect(Mono.just("test-value")).block();
+        } catch (CircuitBreakerOpenException e) {
+            assertEquals("Circuit breaker for GET /v2/apps/{guid}/stats is open", e.getMessage());
+        }
+
+        assertEquals(1, this.circuitBreaker.getRejected());
+    }
+
+    @Test
+    public void openMinimumCalls() {
+        fail();
+        fail();
+        fail();
+
+        assertEquals(CircuitBreaker.State.CLOSED, this.circuitBreaker.getState());
+    }
+
+    @Test
+    public void openSlowCalls() {
+        for (int i = 0; i < 4; i++) {
+            this.circuitBreaker.protect(Mono.defer(() -> {
+                this.ticker.advance(Duration.ofMillis(60));
+                return Mono.just("test-value");
+            })).block();
+        }
+
+        assertEquals(1.0, this.circuitBreaker.getSlowCallRate(), 0);
+        assertEquals(CircuitBreaker.State.OPEN, this.circuitBreaker.getState());
+    }
+
+    private void fail() {
+        try {
+            this.circuitBreaker.protect(Mono.error(new IOException("test-message"))).block();
+        } catch (RuntimeException e) {
+            // expected
+        }
+    }
+
+    private void trip() {
+        this.circuitBreaker.protect(Mono.just("test-value")).block();
+        fail();
+        fail();
+        fail();
+    }
+
+    private static final class TestTicker implements LongSupplier {
+
+        private final AtomicLong now = new AtomicLong();
+
+        @Override
+        public long getAsLong() {
+            return this.now.get();
+        }
+
+        private void advance(Duration duration) {
+            this.now.addAndGet(duration.toNanos());
+        }
+
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public final class CodecRegistryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void afterburner() {
+        CodecRegistry codecRegistry = new CodecRegistry(this.objectMapper, true);
+
+        assertNotSame(this.objectMapper, codecRegistry.getObjectMapper());
+        assertTrue(codecRegistry.getObjectMapper().getRegisteredModuleIds().stream()
+            .anyMatch(id -> id.toString().contains("Afterburner")));
+    }
+
+    @Test
+    public void readerCached() {
+        CodecRegistry codecRegistry = new CodecRegistry(this.objectMapper, false);
+
+        assertSame(this.objectMapper, codecRegistry.getObjectMapper());
+        assertSame(codecRegistry.getReader(Map.class), codecRegistry.getReader(Map.class));
+    }
+
+    @Test
+    public void warmUp() {
+        CodecRegistry codecRegistry = new CodecRegistry(this.objectMapper, false);
+
+        assertEquals(2, codecRegistry.warmUp("org.cloudfoundry.client.v2.info"));
+    }
+
+    @Test
+    public void writerCached() {
+        CodecRegistry codecRegistry = new CodecRegistry(this.objectMapper, false);
+
+        assertSame(codecRegistry.getWriter(Map.class), codecRegistry.getWriter(Map.class));
+    }
+
+}
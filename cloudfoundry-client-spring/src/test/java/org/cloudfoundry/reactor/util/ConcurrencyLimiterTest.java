@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.cloudfoundry.util.CircuitBreakerOpenException;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class ConcurrencyLimiterTest {
+
+    private final ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter("test-root", ConcurrencyLimit.builder()
+        .initialLimit(1)
+        .maximumLimit(4)
+        .maximumQueueSize(1)
+        .minimumLimit(1)
+        .build());
+
+    @Test
+    public void baselinePerEndpoint() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test-root", ConcurrencyLimit.builder()
+            .initialLimit(10)
+            .build());
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onSample("test-fast-endpoint", 0, 1_000_000, false, 10);
+            limiter.onSample("test-slow-endpoint", 0, 100_000_000, false, 10);
+        }
+
+        assertTrue(limiter.getLimit() > 10);
+    }
+
+    @Test
+    public void decrease() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test-root", ConcurrencyLimit.builder()
+            .initialLimit(10)
+            .build());
+
+        limiter.onSample("test-endpoint", 0, 100, false, 10);
+        limiter.onSample("test-endpoint", 100, 1_100, false, 10);
+
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    public void decreaseDropped() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test-root", ConcurrencyLimit.builder()
+            .initialLimit(10)
+            .build());
+
+        try {
+            limiter.sample(Mono.error(new IOException("test-message")), "test-endpoint").block();
+        } catch (RuntimeException e) {
+            // expected
+        }
+
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    public void decreaseOncePerWindow() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test-root", ConcurrencyLimit.builder()
+            .initialLimit(10)
+            .build());
+
+        limiter.onSample("test-endpoint", 0, 100, false, 10);
+        limiter.onSample("test-endpoint", 100, 1_100, true, 10);
+        limiter.onSample("test-endpoint", 200, 1_200, true, 10);
+        limiter.onSample("test-endpoint", 300, 1_300, true, 10);
+        assertEquals(9, limiter.getLimit());
+
+        limiter.onSample("test-endpoint", 1_100, 2_100, true, 10);
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    public void increase() {
+        for (int i = 0; i < 10; i++) {
+            this.concurrencyLimiter.onSample("test-endpoint", 0, 100, false, 4);
+        }
+
+        assertEquals(4, this.concurrencyLimiter.getLimit());
+    }
+
+    @Test
+    public void increaseUnused() {
+        for (int i = 0; i < 10; i++) {
+            this.concurrencyLimiter.onSample("test-endpoint", 0, 100, false, 0);
+        }
+
+        assertEquals(1, this.concurrencyLimiter.getLimit());
+    }
+
+    @Test
+    public void sampleCircuitBreakerOpen() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test-root", ConcurrencyLimit.builder()
+            .initialLimit(10)
+            .build());
+
+        try {
+            limiter.sample(Mono.error(new CircuitBreakerOpenException("test-endpoint")), "test-endpoint").block();
+        } catch (CircuitBreakerOpenException e) {
+            // expected
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+}
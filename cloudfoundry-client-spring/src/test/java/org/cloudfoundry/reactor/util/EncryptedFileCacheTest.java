@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+public final class EncryptedFileCacheTest {
+
+    private static final Map<String, String> ENTRY = Collections.singletonMap("test-key", "test-value");
+
+    private final Path directory;
+
+    public EncryptedFileCacheTest() throws IOException {
+        this.directory = Files.createTempDirectory("test-cache");
+    }
+
+    @Test
+    public void concurrentInitialization() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Callable<EncryptedFileCache> task = () -> new EncryptedFileCache(this.directory, "test-passphrase".toCharArray());
+
+        try {
+            List<EncryptedFileCache> fileCaches = new ArrayList<>();
+            for (Future<EncryptedFileCache> future : executor.invokeAll(Collections.nCopies(8, task))) {
+                fileCaches.add(future.get());
+            }
+
+            fileCaches.get(0).put("test-name", ENTRY);
+            fileCaches.get(0).flush();
+
+            for (EncryptedFileCache fileCache : fileCaches) {
+                assertEquals(Optional.of(ENTRY), fileCache.get("test-name"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void get() {
+        EncryptedFileCache fileCache = new EncryptedFileCache(this.directory, "test-passphrase".toCharArray());
+        fileCache.put("test-name", ENTRY);
+        fileCache.flush();
+
+        assertEquals(Optional.of(ENTRY), new EncryptedFileCache(this.directory, "test-passphrase".toCharArray()).get("test-name"));
+    }
+
+    @Test
+    public void getMissing() {
+        assertEquals(Optional.empty(), new EncryptedFileCache(this.directory, "test-passphrase".toCharArray()).get("test-name"));
+    }
+
+    @Test
+    public void getPending() {
+        EncryptedFileCache fileCache = new EncryptedFileCache(this.directory, "test-passphrase".toCharArray());
+        fileCache.put("test-name", ENTRY);
+
+        assertEquals(Optional.of(ENTRY), fileCache.get("test-name"));
+    }
+
+    @Test
+    public void getWrongPassphrase() {
+        EncryptedFileCache fileCache = new EncryptedFileCache(this.directory, "test-passphrase".toCharArray());
+        fileCache.put("test-name", ENTRY);
+        fileCache.flush();
+
+        assertEquals(Optional.empty(), new EncryptedFileCache(this.directory, "test-other-passphrase".toCharArray()).get("test-name"));
+    }
+
+    @Test
+    public void remove() {
+        EncryptedFileCache fileCache = new EncryptedFileCache(this.directory, "test-passphrase".toCharArray());
+        fileCache.put("test-name", ENTRY);
+        fileCache.remove("test-name");
+        fileCache.flush();
+
+        assertEquals(Optional.empty(), fileCache.get("test-name"));
+        assertEquals(Optional.empty(), new EncryptedFileCache(this.directory, "test-passphrase".toCharArray()).get("test-name"));
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public final class EndpointBalancerTest {
+
+    private final EndpointBalancer endpointBalancer = new EndpointBalancer("https://test-host:443", Arrays.asList("test-host-1", "test-host-2"), 443, LoadBalancingPolicy.builder()
+        .ejectionThreshold(2)
+        .build());
+
+    @Test
+    public void eject() {
+        List<BalancedEndpoint> endpoints = this.endpointBalancer.getEndpoints();
+
+        endpoints.get(0).onFailure();
+        assertFalse(endpoints.get(0).isEjected());
+
+        endpoints.get(0).onFailure();
+        assertTrue(endpoints.get(0).isEjected());
+        assertEquals(1, endpoints.get(0).getEjections());
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(endpoints.get(1), this.endpointBalancer.select());
+        }
+    }
+
+    @Test
+    public void ejectAll() {
+        this.endpointBalancer.getEndpoints().forEach(endpoint -> {
+            endpoint.onFailure();
+            endpoint.onFailure();
+        });
+
+        assertNotNull(this.endpointBalancer.select());
+    }
+
+    @Test
+    public void endpoints() {
+        List<BalancedEndpoint> endpoints = this.endpointBalancer.getEndpoints();
+
+        assertEquals(2, endpoints.size());
+        assertEquals("test-host-1", endpoints.get(0).getAddress());
+        assertEquals("test-host-1", endpoints.get(0).getHost());
+        assertEquals("https://test-host-1:443", endpoints.get(0).getRoot());
+    }
+
+    @Test
+    public void getServerName() {
+        this.endpointBalancer.getEndpoints();
+
+        assertEquals(Optional.empty(), this.endpointBalancer.getServerName(InetSocketAddress.createUnresolved("test-host-1", 443)));
+    }
+
+    @Test
+    public void isBalanced() {
+        assertTrue(this.endpointBalancer.isBalanced("https://test-host:443"));
+        assertFalse(this.endpointBalancer.isBalanced("https://test-uaa:443"));
+    }
+
+    @Test
+    public void resolveDns() {
+        EndpointBalancer endpointBalancer = new EndpointBalancer("https://localhost:443", Collections.singletonList("localhost"), 443, LoadBalancingPolicy.builder()
+            .resolveDns(true)
+            .build());
+
+        try {
+            BalancedEndpoint endpoint = endpointBalancer.getEndpoints().get(0);
+            String address = endpoint.getAddress().replace("[", "").replace("]", "");
+
+            assertEquals("localhost", endpoint.getHost());
+            assertEquals(Optional.of("localhost"), endpointBalancer.getServerName(new InetSocketAddress(address, 443)));
+            assertEquals(Optional.empty(), endpointBalancer.getServerName(new InetSocketAddress(address, 8443)));
+        } finally {
+            endpointBalancer.dispose();
+        }
+    }
+
+    @Test
+    public void rewrite() {
+        BalancedEndpoint endpoint = this.endpointBalancer.getEndpoints().get(1);
+
+        assertEquals("https://test-host-2:443/v2/apps?q=name%3Atest-name", this.endpointBalancer.rewrite(endpoint, "https://test-host:443/v2/apps?q=name%3Atest-name"));
+    }
+
+    @Test
+    public void select() {
+        List<BalancedEndpoint> endpoints = this.endpointBalancer.getEndpoints();
+
+        endpoints.get(0).track(MonoProcessor.create()).subscribe(value -> {
+        });
+
+        assertEquals(1, endpoints.get(0).getInFlight());
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(endpoints.get(1), this.endpointBalancer.select());
+        }
+    }
+
+    @Test
+    public void trackClientError() {
+        BalancedEndpoint endpoint = this.endpointBalancer.getEndpoints().get(0);
+
+        endpoint.track(Mono.just(response(404))).block();
+        endpoint.track(Mono.just(response(404))).block();
+
+        assertFalse(endpoint.isEjected());
+    }
+
+    @Test
+    public void trackServerError() {
+        BalancedEndpoint endpoint = this.endpointBalancer.getEndpoints().get(0);
+
+        endpoint.track(Mono.just(response(503))).block();
+        endpoint.track(Mono.just(response(503))).block();
+
+        assertTrue(endpoint.isEjected());
+        assertEquals(0, endpoint.getInFlight());
+    }
+
+    private static TransportResponse response(int status) {
+        return TransportResponse.builder()
+            .body(Flux.empty())
+            .status(status)
+            .build();
+    }
+
+}
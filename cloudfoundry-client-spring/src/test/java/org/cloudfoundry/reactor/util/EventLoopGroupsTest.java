@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.channel.EventLoopGroup;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public final class EventLoopGroupsTest {
+
+    private final EventLoopGroups eventLoopGroups = EventLoopPolicy.builder()
+        .apiThreads(2)
+        .transferThreads(1)
+        .webSocketThreads(1)
+        .build()
+        .getGroups();
+
+    @Test
+    public void dispose() {
+        EventLoopGroup api = this.eventLoopGroups.get(ConnectionRole.API);
+
+        this.eventLoopGroups.dispose();
+
+        assertTrue(api.isShuttingDown());
+        assertTrue(this.eventLoopGroups.getPendingTasks(ConnectionRole.TRANSFER).isEmpty());
+    }
+
+    @Test
+    public void get() {
+        EventLoopGroup api = this.eventLoopGroups.get(ConnectionRole.API);
+
+        assertSame(api, this.eventLoopGroups.get(ConnectionRole.API));
+        assertNotSame(api, this.eventLoopGroups.get(ConnectionRole.WEBSOCKET));
+        assertFalse(this.eventLoopGroups.isNative());
+
+        api.shutdownGracefully();
+        this.eventLoopGroups.get(ConnectionRole.WEBSOCKET).shutdownGracefully();
+    }
+
+    @Test
+    public void getPendingTasks() {
+        assertTrue(this.eventLoopGroups.getPendingTasks(ConnectionRole.TRANSFER).isEmpty());
+
+        EventLoopGroup api = this.eventLoopGroups.get(ConnectionRole.API);
+
+        assertEquals(Arrays.asList(0, 0), this.eventLoopGroups.getPendingTasks(ConnectionRole.API));
+        assertEquals(Collections.emptyList(), this.eventLoopGroups.getPendingTasks(ConnectionRole.WEBSOCKET));
+
+        api.shutdownGracefully();
+    }
+
+}
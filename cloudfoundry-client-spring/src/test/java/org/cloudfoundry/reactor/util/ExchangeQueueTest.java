@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public final class ExchangeQueueTest {
+
+    private final ExchangeQueue exchangeQueue = new ExchangeQueue("test-root", 1, Duration.ofMillis(500), Duration.ofSeconds(1));
+
+    @Test
+    public void acquire() {
+        assertEquals("test-value", this.exchangeQueue.acquire(Mono.just("test-value")).block());
+        assertEquals(0, this.exchangeQueue.getActive());
+        assertEquals(1, this.exchangeQueue.getAvailable());
+    }
+
+    @Test
+    public void acquireConcurrencyLimit() {
+        ExchangeQueue exchangeQueue = new ExchangeQueue("test-root", 10, Duration.ofMillis(500), Duration.ofSeconds(1));
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test-root", ConcurrencyLimit.builder()
+            .initialLimit(1)
+            .build());
+
+        MonoProcessor<String> first = MonoProcessor.create();
+        AtomicReference<String> second = new AtomicReference<>();
+        AtomicReference<String> unlimited = new AtomicReference<>();
+
+        exchangeQueue.acquire(first, Priority.INTERACTIVE, Optional.of(limiter)).subscribe(value -> {
+        });
+        exchangeQueue.acquire(Mono.just("test-value-2"), Priority.INTERACTIVE, Optional.of(limiter)).subscribe(second::set);
+        exchangeQueue.acquire(Mono.just("test-value-3"), Priority.INTERACTIVE).subscribe(unlimited::set);
+
+        assertEquals(1, limiter.getActive());
+        assertEquals(1, limiter.getPending());
+        assertEquals(1, exchangeQueue.getPending());
+        assertNull(second.get());
+        assertEquals("test-value-3", unlimited.get());
+
+        first.onNext("test-value-1");
+
+        assertEquals("test-value-2", second.get());
+        assertEquals(0, limiter.getActive());
+        assertEquals(0, limiter.getPending());
+        assertEquals(0, exchangeQueue.getActive());
+    }
+
+    @Test
+    public void acquireConcurrencyLimitRejected() {
+        ExchangeQueue exchangeQueue = new ExchangeQueue("test-root", 10, Duration.ofMillis(500), Duration.ofSeconds(1));
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test-root", ConcurrencyLimit.builder()
+            .initialLimit(1)
+            .maximumQueueSize(1)
+            .build());
+
+        exchangeQueue.acquire(MonoProcessor.create(), Priority.INTERACTIVE, Optional.of(limiter)).subscribe(value -> {
+        });
+        exchangeQueue.acquire(MonoProcessor.create(), Priority.INTERACTIVE, Optional.of(limiter)).subscribe(value -> {
+        });
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        exchangeQueue.acquire(Mono.just("test-value"), Priority.INTERACTIVE, Optional.of(limiter)).doOnError(error::set).subscribe(value -> {
+        });
+
+        assertTrue(error.get() instanceof RejectedExecutionException);
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    public void acquireError() {
+        try {
+            this.exchangeQueue.acquire(Mono.error(new IllegalStateException("test-message"))).block();
+        } catch (IllegalStateException e) {
+            assertEquals("test-message", e.getMessage());
+        }
+
+        assertEquals(0, this.exchangeQueue.getActive());
+    }
+
+    @Test
+    public void acquireWaits() {
+        MonoProcessor<String> first = MonoProcessor.create();
+        AtomicReference<String> second = new AtomicReference<>();
+
+        this.exchangeQueue.acquire(first).subscribe(value -> {
+        });
+        this.exchangeQueue.acquire(Mono.just("test-value-2")).subscribe(second::set);
+
+        assertEquals(1, this.exchangeQueue.getActive());
+        assertEquals(0, this.exchangeQueue.getAvailable());
+        assertEquals(1, this.exchangeQueue.getPending());
+        assertNull(second.get());
+
+        first.onNext("test-value-1");
+
+        assertEquals("test-value-2", second.get());
+        assertEquals(0, this.exchangeQueue.getActive());
+        assertEquals(0, this.exchangeQueue.getPending());
+    }
+
+    @Test
+    public void acquirePriority() {
+        MonoProcessor<String> first = MonoProcessor.create();
+        AtomicReference<String> background = new AtomicReference<>();
+        AtomicReference<String> interactive = new AtomicReference<>();
+
+        this.exchangeQueue.acquire(first).subscribe(value -> {
+        });
+        this.exchangeQueue.acquire(Mono.just("test-value-2"), Priority.BACKGROUND).subscribe(background::set);
+        this.exchangeQueue.acquire(MonoProcessor.<String>create(), Priority.INTERACTIVE).subscribe(interactive::set);
+
+        assertEquals(1, this.exchangeQueue.getLane(Priority.BACKGROUND).getPending());
+        assertEquals(1, this.exchangeQueue.getLane(Priority.INTERACTIVE).getPending());
+
+        first.onNext("test-value-1");
+
+        assertNull(background.get());
+        assertEquals(1, this.exchangeQueue.getLane(Priority.INTERACTIVE).getGranted());
+        assertEquals(1, this.exchangeQueue.getPending());
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void acquireTimeout() throws Throwable {
+        this.exchangeQueue.acquire(MonoProcessor.create()).subscribe(value -> {
+        });
+
+        try {
+            this.exchangeQueue.acquire(Mono.just("test-value")).block();
+        } catch (RuntimeException e) {
+            throw e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.reactor.util;
+
+import org.HdrHistogram.Histogram;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class HdrHistogramMetricsListenerTest {
+
+    private final HdrHistogramMetricsListener metricsListener = new HdrHistogramMetricsListener();
+
+    @Test
+    public void onExchange() {
+        this.metricsListener.onExchange(metrics(Duration.ofMillis(10), Duration.ofMillis(5)));
+        this.metricsListener.onExchange(metrics(Duration.ofMillis(20), null));
+
+        Map<String, Histogram> latencies = this.metricsListener.getLatencies();
+        assertEquals(1, latencies.size());
+        assertEquals(2, latencies.get("GET /v2/apps/{guid}").getTotalCount());
+        assertTrue(latencies.get("GET /v2/apps/{guid}").getValueAtPercentile(99) >= 19_000);
+
+        Map<String, Histogram> timesToFirstByte = this.metricsListener.getTimesToFirstByte();
+        assertEquals(1, timesToFirstByte.get("GET /v2/apps/{guid}").getTotalCount());
+    }
+
+    @Test
+    public void reset() {
+        this.metricsListener.onExchange(metrics(Duration.ofMillis(10), Duration.ofMillis(5)));
+        this.metricsListener.reset();
+
+        assertTrue(this.metricsListener.getLatencies().isEmpty());
+    }
+
+    private static ExchangeMetrics metrics(Duration latency, Duration timeToFirstByte) {
+        return ExchangeMetrics.builder()
+            .bytesReceived(100)
+            .bytesSent(10)
+            .latency(latency)
+            .method("GET")
+            .status(timeToFirstByte != null ? 200 : null)
+            .timeToFirstByte(timeToFirstByte)
+            .uriTemplate("/v2/apps/{guid}")
+            .warnings(0)
+            .build();
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class HedgePolicyTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private final TestTicker ticker = new TestTicker();
+
+    private final HedgeTracker tracker = new HedgeTracker(95.0, Duration.ofMillis(10), Duration.ofSeconds(1), 2, Duration.ofMillis(10), this.ticker, delay -> Mono.just(0L));
+
+    @Test
+    public void delay() {
+        HedgeTracker tracker = HedgePolicy.builder()
+            .maximumDelay(Duration.ofSeconds(1))
+            .minimumDelay(Duration.ofMillis(10))
+            .minimumSamples(2)
+            .build()
+            .getTracker();
+
+        assertEquals(Duration.ofSeconds(1), tracker.getDelay("test-endpoint"));
+
+        tracker.record("test-endpoint", Duration.ofMillis(100).toNanos());
+        tracker.record("test-endpoint", Duration.ofMillis(100).toNanos());
+
+        assertEquals(100, tracker.getDelay("test-endpoint").toMillis());
+    }
+
+    @Test
+    public void delayInterval() {
+        this.tracker.record("test-endpoint", Duration.ofMillis(500).toNanos());
+        this.tracker.record("test-endpoint", Duration.ofMillis(500).toNanos());
+
+        assertEquals(500, this.tracker.getDelay("test-endpoint").toMillis());
+
+        this.tracker.record("test-endpoint", Duration.ofMillis(100).toNanos());
+        this.tracker.record("test-endpoint", Duration.ofMillis(100).toNanos());
+
+        assertEquals(500, this.tracker.getDelay("test-endpoint").toMillis());
+
+        this.ticker.advance(Duration.ofMillis(50));
+
+        assertEquals(100, this.tracker.getDelay("test-endpoint").toMillis());
+    }
+
+    @Test
+    public void hedge() {
+        HedgePolicy hedgePolicy = HedgePolicy.builder().build();
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        MonoProcessor<String> slow = MonoProcessor.create();
+
+        String result = hedgePolicy.hedge("test-endpoint", onHeaders -> this.attempts.getAndIncrement() == 0 ? slow.doOnCancel(() -> cancelled.set(true)) : Mono.just("test-value"), this.tracker)
+            .block(Duration.ofSeconds(5));
+
+        assertEquals("test-value", result);
+        assertEquals(2, this.attempts.get());
+        assertEquals(1, this.tracker.getHedged());
+        assertEquals(1, this.tracker.getWon());
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    public void hedgeBudgetExhausted() {
+        HedgePolicy hedgePolicy = HedgePolicy.builder()
+            .budgetMaximum(0)
+            .build();
+
+        MonoProcessor<String> slow = MonoProcessor.create();
+        hedgePolicy.hedge("test-endpoint", onHeaders -> {
+            this.attempts.incrementAndGet();
+            return slow;
+        }, this.tracker).subscribe(value -> {
+        });
+
+        assertEquals(1, this.attempts.get());
+        assertEquals(0, this.tracker.getHedged());
+    }
+
+    @Test
+    public void hedgeHeadersReceived() {
+        HedgePolicy hedgePolicy = HedgePolicy.builder().build();
+
+        MonoProcessor<String> slow = MonoProcessor.create();
+        hedgePolicy.hedge("test-endpoint", onHeaders -> {
+            this.attempts.incrementAndGet();
+            onHeaders.run();
+            return slow;
+        }, this.tracker).subscribe(value -> {
+        });
+
+        assertEquals(1, this.attempts.get());
+        assertEquals(0, this.tracker.getHedged());
+    }
+
+    @Test
+    public void noHedge() {
+        HedgePolicy hedgePolicy = HedgePolicy.builder().build();
+
+        assertEquals("test-value", hedgePolicy.hedge("test-endpoint", onHeaders -> {
+            this.attempts.incrementAndGet();
+            return Mono.just("test-value");
+        }).block());
+
+        assertEquals(1, this.attempts.get());
+        assertEquals(0, hedgePolicy.getTracker().getHedged());
+    }
+
+    private static final class TestTicker implements LongSupplier {
+
+        private final AtomicLong now = new AtomicLong();
+
+        @Override
+        public long getAsLong() {
+            return this.now.get();
+        }
+
+        private void advance(Duration duration) {
+            this.now.addAndGet(duration.toNanos());
+        }
+
+    }
+
+}
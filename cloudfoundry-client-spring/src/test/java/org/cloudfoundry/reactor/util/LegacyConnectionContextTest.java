@@ -0,0 +1,50 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.io.netty.http.HttpClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public final class LegacyConnectionContextTest {
+
+    private final AuthorizationProvider authorizationProvider = (AuthorizationHeaderProvider) Mono::empty;
+
+    private final HttpClient httpClient = HttpClient.create();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final LegacyConnectionContext connectionContext = new LegacyConnectionContext(this.authorizationProvider, this.httpClient, this.objectMapper);
+
+    @Test
+    public void parts() {
+        assertSame(this.authorizationProvider, this.connectionContext.getAuthorizationProvider());
+        assertSame(this.httpClient, this.connectionContext.getHttpClient());
+        assertSame(this.httpClient, this.connectionContext.getHttpClient(ConnectionRole.TRANSFER));
+        assertSame(this.objectMapper, this.connectionContext.getCodecRegistry().getObjectMapper());
+    }
+
+    @Test
+    public void root() {
+        assertEquals("A context assembled from an HttpClient has no root", this.connectionContext.getRoot().otherwise(t -> Mono.just(t.getMessage())).block());
+    }
+
+}
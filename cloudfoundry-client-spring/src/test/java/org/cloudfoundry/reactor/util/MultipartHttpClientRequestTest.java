@@ -0,0 +1,69 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class MultipartHttpClientRequestTest {
+
+    private final CodecRegistry codecRegistry = new CodecRegistry(new ObjectMapper(), false);
+
+    @Test
+    public void done() {
+        byte[] archive = new byte[200 * 1024];
+
+        TransportRequest request = new MultipartHttpClientRequest(this.codecRegistry, TransportRequest.builder().method("PUT").role(ConnectionRole.TRANSFER).uri("https://test-host"))
+            .addPart(part -> part.setContentDispositionFormData("resources")
+                .addHeader("Content-Type", "application/json")
+                .send(Collections.singletonList("test-resource")))
+            .addPart(part -> part.setContentDispositionFormData("application", "application.zip")
+                .addHeader("Content-Type", "application/zip")
+                .sendInputStream(new ByteArrayInputStream(archive)))
+            .done()
+            .build();
+
+        String body = Flux.from(request.getBody().apply(UnpooledByteBufAllocator.DEFAULT))
+            .map(MultipartHttpClientRequestTest::read)
+            .reduce(new StringBuilder(), StringBuilder::append)
+            .block()
+            .toString();
+
+        assertEquals(Long.parseLong(request.getHeaders().get("Content-Length")), body.getBytes(StandardCharsets.ISO_8859_1).length);
+        assertTrue(body.contains("Content-Disposition: form-data; name=\"resources\"\r\nContent-Type: application/json\r\n\r\n[\"test-resource\"]\r\n"));
+        assertTrue(body.endsWith("--"));
+    }
+
+    private static String read(ByteBuf buffer) {
+        try {
+            return buffer.toString(StandardCharsets.ISO_8859_1);
+        } finally {
+            buffer.release();
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public final class PrioritySchedulerTest {
+
+    private final PriorityScheduler<String> priorityScheduler = new PriorityScheduler<>(Duration.ofHours(1));
+
+    @Test
+    public void poll() {
+        this.priorityScheduler.add(Priority.BACKGROUND, "test-background-1");
+        this.priorityScheduler.add(Priority.INTERACTIVE, "test-interactive-1");
+        this.priorityScheduler.add(Priority.BACKGROUND, "test-background-2");
+        this.priorityScheduler.add(Priority.INTERACTIVE, "test-interactive-2");
+
+        assertEquals(4, this.priorityScheduler.size());
+        assertEquals("test-interactive-1", this.priorityScheduler.poll());
+        assertEquals("test-interactive-2", this.priorityScheduler.poll());
+        assertEquals("test-background-1", this.priorityScheduler.poll());
+        assertEquals("test-background-2", this.priorityScheduler.poll());
+        assertNull(this.priorityScheduler.poll());
+        assertTrue(this.priorityScheduler.isEmpty());
+
+        assertEquals(2, this.priorityScheduler.getLane(Priority.INTERACTIVE).getGranted());
+        assertEquals(2, this.priorityScheduler.getLane(Priority.BACKGROUND).getGranted());
+        assertEquals(2, this.priorityScheduler.getLane(Priority.BACKGROUND).getWaitTimes().getTotalCount());
+    }
+
+    @Test
+    public void pollStarved() {
+        PriorityScheduler<String> priorityScheduler = new PriorityScheduler<>(Duration.ZERO);
+
+        priorityScheduler.add(Priority.BACKGROUND, "test-background");
+        priorityScheduler.add(Priority.INTERACTIVE, "test-interactive");
+
+        assertEquals("test-background", priorityScheduler.poll());
+        assertEquals("test-interactive", priorityScheduler.poll());
+        assertEquals(1, priorityScheduler.getLane(Priority.BACKGROUND).getPromoted());
+    }
+
+    @Test
+    public void remove() {
+        this.priorityScheduler.add(Priority.BACKGROUND, "test-background");
+        this.priorityScheduler.add(Priority.INTERACTIVE, "test-interactive");
+
+        assertTrue(this.priorityScheduler.remove("test-interactive"));
+
+        assertEquals(0, this.priorityScheduler.getLane(Priority.INTERACTIVE).getPending());
+        assertEquals(1, this.priorityScheduler.getLane(Priority.BACKGROUND).getPending());
+        assertEquals("test-background", this.priorityScheduler.poll());
+    }
+
+}
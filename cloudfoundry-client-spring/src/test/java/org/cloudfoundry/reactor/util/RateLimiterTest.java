@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class RateLimiterTest {
+
+    private static final Object IDENTITY = new Object();
+
+    private final RateLimiter rateLimiter = RateLimiter.builder()
+        .burst(1)
+        .requestsPerSecond(100)
+        .build();
+
+    @Test
+    public void limit() {
+        assertEquals("test-value-1", this.rateLimiter.limit(Mono.just("test-value-1"), IDENTITY).block());
+        assertEquals("test-value-2", this.rateLimiter.limit(Mono.just("test-value-2"), IDENTITY).block());
+
+        assertEquals(1, this.rateLimiter.getBucket(IDENTITY).getDelayed());
+    }
+
+    @Test
+    public void observe() {
+        this.rateLimiter.observe(response()
+            .header("X-RateLimit-Limit", Collections.singletonList("1000"))
+            .header("X-RateLimit-Remaining", Collections.singletonList("10"))
+            .header("X-RateLimit-Reset", Collections.singletonList(String.valueOf(Instant.now().plusSeconds(100).getEpochSecond())))
+            .build(), IDENTITY);
+
+        assertTrue(this.rateLimiter.getBucket(IDENTITY).getRate() < 1);
+    }
+
+    @Test
+    public void observeLimit() {
+        RateLimiter rateLimiter = RateLimiter.builder()
+            .burst(20)
+            .build();
+
+        rateLimiter.observe(response()
+            .header("X-RateLimit-Limit", Collections.singletonList("5"))
+            .build(), IDENTITY);
+
+        assertEquals(5, rateLimiter.getBucket(IDENTITY).getCapacity());
+    }
+
+    @Test
+    public void observeMalformed() {
+        this.rateLimiter.observe(response()
+            .header("X-RateLimit-Remaining", Collections.singletonList("test-remaining"))
+            .header("X-RateLimit-Reset", Collections.singletonList("test-reset"))
+            .build(), IDENTITY);
+
+        assertEquals(100, this.rateLimiter.getBucket(IDENTITY).getRate(), 0.001);
+    }
+
+    @Test
+    public void observeMissing() {
+        this.rateLimiter.observe(response().build(), IDENTITY);
+
+        assertEquals(100, this.rateLimiter.getBucket(IDENTITY).getRate(), 0.001);
+    }
+
+    private static TransportResponse.Builder response() {
+        return TransportResponse.builder()
+            .body(Flux.empty())
+            .status(200);
+    }
+
+}
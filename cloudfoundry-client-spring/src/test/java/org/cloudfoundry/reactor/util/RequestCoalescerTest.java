@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public final class RequestCoalescerTest {
+
+    private final Object identity = new Object();
+
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+
+    private final AtomicInteger subscriptions = new AtomicInteger();
+
+    @Test
+    public void cancel() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Mono<String> exchange = counted(MonoProcessor.<String>create().doOnCancel(() -> cancelled.set(true)));
+
+        AtomicReference<Subscription> first = new AtomicReference<>();
+        AtomicReference<Subscription> second = new AtomicReference<>();
+        this.requestCoalescer.coalesce(this.identity, "test-uri", exchange).doOnSubscribe(first::set).subscribe(value -> {
+        });
+        this.requestCoalescer.coalesce(this.identity, "test-uri", exchange).doOnSubscribe(second::set).subscribe(value -> {
+        });
+
+        first.get().cancel();
+
+        assertFalse(cancelled.get());
+        assertEquals(1, this.requestCoalescer.getInFlight());
+
+        second.get().cancel();
+
+        assertTrue(cancelled.get());
+        assertEquals(1, this.subscriptions.get());
+        assertEquals(0, this.requestCoalescer.getInFlight());
+    }
+
+    @Test
+    public void coalesce() {
+        MonoProcessor<String> response = MonoProcessor.create();
+        Mono<String> exchange = counted(response);
+
+        AtomicReference<String> first = new AtomicReference<>();
+        AtomicReference<String> second = new AtomicReference<>();
+        this.requestCoalescer.coalesce(this.identity, "test-uri", exchange).subscribe(first::set);
+        this.requestCoalescer.coalesce(this.identity, "test-uri", exchange).subscribe(second::set);
+
+        assertEquals(1, this.subscriptions.get());
+        assertEquals(1, this.requestCoalescer.getCoalesced());
+        assertEquals(1, this.requestCoalescer.getInFlight());
+        assertNull(first.get());
+
+        response.onNext("test-value");
+
+        assertEquals("test-value", first.get());
+        assertEquals("test-value", second.get());
+        assertEquals(0, this.requestCoalescer.getInFlight());
+    }
+
+    @Test
+    public void coalesceAfterCompletion() {
+        Mono<String> exchange = counted(Mono.just("test-value"));
+
+        assertEquals("test-value", this.requestCoalescer.coalesce(this.identity, "test-uri", exchange).block());
+        assertEquals("test-value", this.requestCoalescer.coalesce(this.identity, "test-uri", exchange).block());
+
+        assertEquals(2, this.subscriptions.get());
+        assertEquals(0, this.requestCoalescer.getCoalesced());
+    }
+
+    @Test
+    public void coalesceDifferentIdentity() {
+        Mono<String> exchange = counted(MonoProcessor.create());
+
+        this.requestCoalescer.coalesce(this.identity, "test-uri", exchange).subscribe(value -> {
+        });
+        this.requestCoalescer.coalesce(new Object(), "test-uri", exchange).subscribe(value -> {
+        });
+
+        assertEquals(2, this.subscriptions.get());
+        assertEquals(0, this.requestCoalescer.getCoalesced());
+        assertEquals(2, this.requestCoalescer.getInFlight());
+    }
+
+    @Test
+    public void coalesceError() {
+        MonoProcessor<String> response = MonoProcessor.create();
+        AtomicReference<Throwable> first = new AtomicReference<>();
+        AtomicReference<String> second = new AtomicReference<>();
+
+        this.requestCoalescer.coalesce(this.identity, "test-uri", counted(response))
+            .doOnError(first::set)
+            .subscribe(value -> {
+            });
+        this.requestCoalescer.coalesce(this.identity, "test-uri", counted(Mono.just("test-value")))
+            .subscribe(second::set);
+
+        response.onError(new IllegalStateException("test-message"));
+
+        assertEquals("test-message", first.get().getMessage());
+        assertEquals("test-value", second.get());
+        assertEquals(2, this.subscriptions.get());
+    }
+
+    private <T> Mono<T> counted(Mono<T> exchange) {
+        return Mono.defer(() -> {
+            this.subscriptions.incrementAndGet();
+            return exchange;
+        });
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public final class ResponseCacheTest {
+
+    private final AtomicInteger decodes = new AtomicInteger();
+
+    private final Object identity = new Object();
+
+    private final ResponseCache responseCache = new ResponseCache(2);
+
+    @Test
+    public void evict() {
+        populate("https://test-host/v2/apps/test-id-1", "test-etag-1");
+        populate("https://test-host/v2/apps/test-id-2", "test-etag-2");
+        populate("https://test-host/v2/apps/test-id-3", "test-etag-3");
+
+        assertEquals(1, this.responseCache.getEvictions());
+        assertEquals(2, this.responseCache.getSize());
+    }
+
+    @Test
+    public void invalidate() {
+        populate("https://test-host/v2/apps?q=name:test-name", "test-etag-1");
+        populate("https://test-host/v2/apps/test-id/summary", "test-etag-2");
+
+        this.responseCache.invalidate("https://test-host/v2/apps/test-id");
+
+        assertEquals(0, this.responseCache.getSize());
+    }
+
+    @Test
+    public void invalidateUnrelated() {
+        populate("https://test-host/v2/apps/test-id", "test-etag");
+
+        this.responseCache.invalidate("https://test-host/v2/apps-other");
+        this.responseCache.invalidate("https://test-host/v2/spaces/test-id");
+
+        assertEquals(1, this.responseCache.getSize());
+    }
+
+    @Test
+    public void miss() {
+        ResponseCache.Exchange<String> exchange = this.responseCache.exchange(this.identity, "https://test-host/v2/apps/test-id");
+        TransportRequest outbound = exchange.request(request());
+
+        assertEquals("test-value", exchange.response(this::decode).apply(Mono.just(response(200, null))).block());
+        assertEquals(0, this.responseCache.getSize());
+        assertEquals(1, this.responseCache.getMisses());
+        assertNull(outbound.getHeaders().get("If-None-Match"));
+    }
+
+    @Test
+    public void notModified() {
+        String cached = populate("https://test-host/v2/apps/test-id", "test-etag");
+        ResponseCache.Exchange<String> exchange = this.responseCache.exchange(this.identity, "https://test-host/v2/apps/test-id");
+        TransportRequest outbound = exchange.request(request());
+
+        assertSame(cached, exchange.response(this::decode).apply(Mono.just(response(304, null))).block());
+        assertEquals(1, this.decodes.get());
+        assertEquals(1, this.responseCache.getHits());
+        assertEquals("test-etag", outbound.getHeaders().get("If-None-Match"));
+    }
+
+    @Test
+    public void notModifiedDifferentIdentity() {
+        populate("https://test-host/v2/apps/test-id", "test-etag");
+        TransportRequest outbound = this.responseCache.exchange(new Object(), "https://test-host/v2/apps/test-id").request(request());
+
+        assertNull(outbound.getHeaders().get("If-None-Match"));
+    }
+
+    private static TransportRequest request() {
+        return TransportRequest.builder()
+            .method("GET")
+            .role(ConnectionRole.API)
+            .uri("https://test-host/v2/apps/test-id")
+            .build();
+    }
+
+    private static TransportResponse response(int status, String etag) {
+        TransportResponse.Builder builder = TransportResponse.builder()
+            .body(Flux.empty())
+            .status(status);
+
+        if (etag != null) {
+            builder.header("ETag", Collections.singletonList(etag));
+        }
+
+        return builder.build();
+    }
+
+    private Mono<String> decode(Mono<TransportResponse> inbound) {
+        return inbound
+            .map(response -> new String("test-value"))
+            .doOnSuccess(value -> this.decodes.incrementAndGet());
+    }
+
+    private String populate(String uri, String etag) {
+        return this.responseCache.<String>exchange(this.identity, uri)
+            .response(this::decode)
+            .apply(Mono.just(response(200, etag)))
+            .block();
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.reactor.util;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public final class RetryPolicyTest {
+
+    private final RetryPolicy retryPolicy = RetryPolicy.builder()
+        .budgetMaximum(2)
+        .maximumDelay(Duration.ofMillis(10))
+        .maximumRetries(3)
+        .minimumDelay(Duration.ofMillis(1))
+        .build();
+
+    @Test
+    public void budgetExhausted() {
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        try {
+            this.retryPolicy.retry(Mono.defer(() -> {
+                subscriptions.incrementAndGet();
+                return Mono.error(new IOException("test-message"));
+            })).block();
+            fail();
+        } catch (RuntimeException e) {
+            assertEquals("test-message", (e instanceof IOException ? e : e.getCause()).getMessage());
+        }
+
+        assertEquals(3, subscriptions.get());
+        assertEquals(2, this.retryPolicy.getBudget().getAttempts());
+        assertEquals(1, this.retryPolicy.getBudget().getExhausted());
+    }
+
+    @Test
+    public void notRetryable() {
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        try {
+            this.retryPolicy.retry(Mono.defer(() -> {
+                subscriptions.incrementAndGet();
+                return Mono.error(new IllegalStateException("test-message"));
+            })).block();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("test-message", e.getMessage());
+        }
+
+        assertEquals(1, subscriptions.get());
+        assertEquals(0, this.retryPolicy.getBudget().getAttempts());
+    }
+
+    @Test
+    public void retry() {
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        String value = this.retryPolicy.retry(Mono.defer(() -> {
+            if (subscriptions.incrementAndGet() < 2) {
+                return Mono.error(new IOException("test-message"));
+            }
+
+            return Mono.just("test-value");
+        })).block();
+
+        assertEquals("test-value", value);
+        assertEquals(2, subscriptions.get());
+        assertEquals(1, this.retryPolicy.getBudget().getAttempts());
+    }
+
+    @Test
+    public void retryAfterTooLong() {
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        try {
+            this.retryPolicy.retry(Mono.defer(() -> {
+                subscriptions.incrementAndGet();
+                return Mono.error(new HttpStatusException(TransportResponse.builder()
+                    .body(Flux.empty())
+                    .header("Retry-After", Collections.singletonList("3600"))
+                    .status(503)
+                    .build()));
+            })).block();
+            fail();
+        } catch (HttpStatusException e) {
+            assertEquals(503, e.getStatus());
+        }
+
+        assertEquals(1, subscriptions.get());
+        assertEquals(0, this.retryPolicy.getBudget().getAttempts());
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.channel.AdaptiveRecvByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public final class SocketOptionsTest {
+
+    @Test
+    public void configure() {
+        SocketOptions socketOptions = SocketOptions.builder()
+            .maximumReceiveAllocation(1024 * 1024)
+            .build();
+        EmbeddedChannel channel = new EmbeddedChannel();
+
+        socketOptions.configure(channel);
+
+        assertSame(socketOptions.getReceiveAllocator(), channel.config().getRecvByteBufAllocator());
+        assertTrue(channel.config().getRecvByteBufAllocator() instanceof AdaptiveRecvByteBufAllocator);
+    }
+
+}
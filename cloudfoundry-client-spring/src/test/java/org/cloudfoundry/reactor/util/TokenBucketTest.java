@@ -0,0 +1,84 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class TokenBucketTest {
+
+    private final TokenBucket tokenBucket = new TokenBucket(1, 2, Duration.ofSeconds(1));
+
+    @Test
+    public void refund() {
+        this.tokenBucket.take();
+        this.tokenBucket.take();
+        this.tokenBucket.refund();
+
+        assertEquals(Duration.ZERO, this.tokenBucket.take());
+    }
+
+    @Test
+    public void take() {
+        assertEquals(Duration.ZERO, this.tokenBucket.take());
+        assertEquals(Duration.ZERO, this.tokenBucket.take());
+
+        Duration wait = this.tokenBucket.take();
+        assertTrue(wait.compareTo(Duration.ofMillis(900)) > 0);
+        assertTrue(wait.compareTo(Duration.ofSeconds(1)) <= 0);
+        assertEquals(1, this.tokenBucket.getDelayed());
+        assertEquals(3, this.tokenBucket.getWaitTimes().getTotalCount());
+    }
+
+    @Test
+    public void update() {
+        this.tokenBucket.update(0, Instant.now().plusSeconds(10));
+
+        Duration wait = this.tokenBucket.take();
+        assertTrue(wait.compareTo(Duration.ofSeconds(9)) > 0);
+        assertTrue(this.tokenBucket.getRate() < 1);
+    }
+
+    @Test
+    public void updateLimit() {
+        this.tokenBucket.updateLimit(1);
+
+        assertEquals(1, this.tokenBucket.getCapacity());
+        assertEquals(1, this.tokenBucket.getTokens(), 0.01);
+    }
+
+    @Test
+    public void updateRemaining() {
+        this.tokenBucket.update(100, Instant.now().plusSeconds(10));
+
+        assertEquals(1, this.tokenBucket.getRate(), 0.001);
+        assertEquals(2, this.tokenBucket.getTokens(), 0.01);
+    }
+
+    @Test
+    public void updateReset() {
+        this.tokenBucket.update(0, Instant.now().minusSeconds(1));
+
+        assertEquals(1, this.tokenBucket.getRate(), 0.001);
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.reactor.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public final class UriTemplatesTest {
+
+    @Test
+    public void guid() {
+        assertEquals("/v2/apps/{guid}/summary", UriTemplates.normalize("https://api.run.pivotal.io/v2/apps/b8c2b5a2-1a4c-4e5a-9a3b-7c5e3f1d2a4b/summary"));
+    }
+
+    @Test
+    public void id() {
+        assertEquals("/v2/apps/{guid}/instances/{id}", UriTemplates.normalize("https://api.run.pivotal.io/v2/apps/B8C2B5A2-1A4C-4E5A-9A3B-7C5E3F1D2A4B/instances/3"));
+    }
+
+    @Test
+    public void noPath() {
+        assertEquals("/", UriTemplates.normalize("https://api.run.pivotal.io"));
+    }
+
+    @Test
+    public void query() {
+        assertEquals("/v2/apps", UriTemplates.normalize("https://api.run.pivotal.io/v2/apps?q=name%3Atest-name&page=2"));
+    }
+
+    @Test
+    public void unchanged() {
+        assertEquals("/v2/info", UriTemplates.normalize("https://api.run.pivotal.io/v2/info"));
+    }
+
+}
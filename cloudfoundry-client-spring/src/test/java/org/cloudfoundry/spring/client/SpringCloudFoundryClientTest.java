@@ -17,17 +17,21 @@
 package org.cloudfoundry.spring.client;
 
 import org.cloudfoundry.spring.AbstractRestTest;
+import org.cloudfoundry.spring.util.network.OAuth2TokenProvider;
+import org.cloudfoundry.spring.util.network.StubOAuth2TokenProvider;
 import org.junit.Test;
 
 import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 public final class SpringCloudFoundryClientTest extends AbstractRestTest {
 
     private final SpringCloudFoundryClient client = new SpringCloudFoundryClient("test-host", null, null, null, null, null, null, this.tokenProvider,
-        Collections.emptyList(), null, null);
+        Collections.emptyList(), null, null, null);
 
     @Test
     public void applicationUsageEvents() {
@@ -209,4 +213,15 @@ public final class SpringCloudFoundryClientTest extends AbstractRestTest {
         assertNotNull(this.client.users());
     }
 
+    @Test
+    public void withTokenProvider() {
+        OAuth2TokenProvider tokenProvider = new StubOAuth2TokenProvider("test-other-token");
+        SpringCloudFoundryClient other = this.client.withTokenProvider(tokenProvider);
+
+        assertEquals(tokenProvider.getToken(), other.getAccessToken());
+        assertNotEquals(this.client.getConnectionContext().getAuthorizationProvider(), other.getConnectionContext().getAuthorizationProvider());
+        assertSame(this.client.getConnectionContext().getExchangeQueues(), other.getConnectionContext().getExchangeQueues());
+        assertSame(this.client.getConnectionContext().getHttpClient(), other.getConnectionContext().getHttpClient());
+    }
+
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.spring.util.network;
+
+import org.cloudfoundry.uaa.tokens.GetTokenByClientCredentialsRequest;
+import org.cloudfoundry.uaa.tokens.GetTokenByClientCredentialsResponse;
+import org.cloudfoundry.uaa.tokens.GetTokenByPasswordRequest;
+import org.cloudfoundry.uaa.tokens.GetTokenByPasswordResponse;
+import org.cloudfoundry.uaa.tokens.Tokens;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class TokensOAuth2TokenProviderPoolTest {
+
+    private final Tokens tokens = mock(Tokens.class, RETURNS_SMART_NULLS);
+
+    private final TokensOAuth2TokenProviderPool pool = new TokensOAuth2TokenProviderPool(this.tokens, 2);
+
+    @Test
+    public void clientCredentials() {
+        when(this.tokens.getByClientCredentials(any(GetTokenByClientCredentialsRequest.class))).thenReturn(Mono.just(GetTokenByClientCredentialsResponse.builder()
+            .accessToken("test-token-1")
+            .expiresInSeconds(3600)
+            .scopes("test-scopes")
+            .tokenId("test-token-id")
+            .tokenType("bearer")
+            .build()));
+
+        assertEquals("test-token-1", this.pool.get("test-client-id", "test-client-secret").getToken().block());
+        assertEquals("test-token-1", this.pool.get("test-client-id", "test-client-secret").getToken().block());
+
+        verify(this.tokens, times(1)).getByClientCredentials(any(GetTokenByClientCredentialsRequest.class));
+    }
+
+    @Test
+    public void evicted() {
+        TokensOAuth2TokenProvider first = this.pool.get("test-client-id", "test-client-secret", "test-username-1", "test-password");
+        this.pool.get("test-client-id", "test-client-secret", "test-username-2", "test-password");
+        this.pool.get("test-client-id", "test-client-secret", "test-username-3", "test-password");
+
+        assertEquals(2, this.pool.getSize());
+        assertEquals(1, this.pool.getEvictions());
+        assertNotSame(first, this.pool.get("test-client-id", "test-client-secret", "test-username-1", "test-password"));
+    }
+
+    @Test
+    public void leastRecentlyUsed() {
+        TokensOAuth2TokenProvider first = this.pool.get("test-client-id", "test-client-secret", "test-username-1", "test-password");
+        this.pool.get("test-client-id", "test-client-secret", "test-username-2", "test-password");
+        this.pool.get("test-client-id", "test-client-secret", "test-username-1", "test-password");
+        this.pool.get("test-client-id", "test-client-secret", "test-username-3", "test-password");
+
+        assertSame(first, this.pool.get("test-client-id", "test-client-secret", "test-username-1", "test-password"));
+    }
+
+    @Test
+    public void password() {
+        when(this.tokens.getByPassword(any(GetTokenByPasswordRequest.class))).thenReturn(Mono.just(passwordResponse("test-token-1")), Mono.just(passwordResponse("test-token-2")));
+
+        assertEquals("test-token-1", this.pool.get("test-client-id", "test-client-secret", "test-username-1", "test-password").getToken().block());
+        assertEquals("test-token-2", this.pool.get("test-client-id", "test-client-secret", "test-username-2", "test-password").getToken().block());
+        assertEquals("test-token-1", this.pool.get("test-client-id", "test-client-secret", "test-username-1", "test-password").getToken().block());
+
+        verify(this.tokens, times(2)).getByPassword(any(GetTokenByPasswordRequest.class));
+    }
+
+    private static GetTokenByPasswordResponse passwordResponse(String accessToken) {
+        return GetTokenByPasswordResponse.builder()
+            .accessToken(accessToken)
+            .expiresInSeconds(3600)
+            .refreshToken("test-refresh-token")
+            .scopes("test-scopes")
+            .tokenId("test-token-id")
+            .tokenType("bearer")
+            .build();
+    }
+
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.spring.util.network;
+
+import org.cloudfoundry.reactor.util.EncryptedFileCache;
+import org.cloudfoundry.uaa.tokens.GetTokenByClientCredentialsRequest;
+import org.cloudfoundry.uaa.tokens.GetTokenByClientCredentialsResponse;
+import org.cloudfoundry.uaa.tokens.GetTokenByPasswordRequest;
+import org.cloudfoundry.uaa.tokens.GetTokenByPasswordResponse;
+import org.cloudfoundry.uaa.tokens.RefreshTokenRequest;
+import org.cloudfoundry.uaa.tokens.RefreshTokenResponse;
+import org.cloudfoundry.uaa.tokens.Tokens;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class TokensOAuth2TokenProviderTest {
+
+    private final TestClock clock = new TestClock();
+
+    private final Tokens tokens = mock(Tokens.class, RETURNS_SMART_NULLS);
+
+    private final TokensOAuth2TokenProvider tokenProvider = new TokensOAuth2TokenProvider(this.tokens, "test-client-id", "test-client-secret", "test-username", "test-password", null,
+        null, Duration.ofMinutes(1), this.clock);
+
+    @Test
+    public void cached() {
+        when(this.tokens.getByPassword(any(GetTokenByPasswordRequest.class))).thenReturn(Mono.just(passwordResponse("test-token-1")));
+
+        assertEquals("test-token-1", this.tokenProvider.getToken().block());
+        assertEquals("test-token-1", this.tokenProvider.getToken().block());
+
+        verify(this.tokens, times(1)).getByPassword(any(GetTokenByPasswordRequest.class));
+    }
+
+    @Test
+    public void clientCredentials() {
+        when(this.tokens.getByClientCredentials(any(GetTokenByClientCredentialsRequest.class))).thenReturn(Mono.just(GetTokenByClientCredentialsResponse.builder()
+            .accessToken("test-token-1")
+            .expiresInSeconds(3600)
+            .scopes("test-scopes")
+            .tokenId("test-token-id")
+            .tokenType("bearer")
+            .build()));
+
+        TokensOAuth2TokenProvider tokenProvider = new TokensOAuth2TokenProvider(this.tokens, "test-client-id", "test-client-secret");
+
+        assertEquals("test-token-1", tokenProvider.getToken().block());
+        verify(this.tokens, never()).getByPassword(any(GetTokenByPasswordRequest.class));
+    }
+
+    @Test
+    public void expired() {
+        when(this.tokens.getByPassword(any(GetTokenByPasswordRequest.class))).thenReturn(Mono.just(passwordResponse("test-token-1")));
+        when(this.tokens.refresh(any(RefreshTokenRequest.class))).thenReturn(Mono.just(RefreshTokenResponse.builder()
+            .accessToken("test-token-2")
+            .expiresInSeconds(3600)
+            .refreshToken("test-refresh-token")
+            .scopes("test-scopes")
+            .tokenId("test-token-id")
+            .tokenType("bearer")
+            .build()));
+
+        assertEquals("test-token-1", this.tokenProvider.getToken().block());
+
+        this.clock.advance(Duration.ofHours(1));
+        assertEquals("test-token-2", this.tokenProvider.getToken().block());
+
+        verify(this.tokens, times(1)).getByPassword(any(GetTokenByPasswordRequest.class));
+        verify(this.tokens, times(1)).refresh(any(RefreshTokenRequest.class));
+    }
+
+    @Test
+    public void expiring() {
+        when(this.tokens.getByPassword(any(GetTokenByPasswordRequest.class))).thenReturn(Mono.just(passwordResponse("test-token-1")));
+        when(this.tokens.refresh(any(RefreshTokenRequest.class))).thenReturn(Mono.just(RefreshTokenResponse.builder()
+            .accessToken("test-token-2")
+            .expiresInSeconds(3600)
+            .refreshToken("test-refresh-token")
+            .scopes("test-scopes")
+            .tokenId("test-token-id")
+            .tokenType("bearer")
+            .build()));
+
+        assertEquals("test-token-1", this.tokenProvider.getToken().block());
+
+        this.clock.advance(Duration.ofMinutes(59).plusSeconds(30));
+        assertEquals("test-token-2", this.tokenProvider.getToken().block());
+        assertEquals("test-token-2", this.tokenProvider.getToken().block());
+
+        verify(this.tokens, times(1)).refresh(any(RefreshTokenRequest.class));
+    }
+
+    @Test
+    public void failedAuthenticationNotCached() {
+        when(this.tokens.getByPassword(any(GetTokenByPasswordRequest.class)))
+            .thenReturn(Mono.error(new IllegalStateException("test-message")), Mono.just(passwordResponse("test-token-1")));
+
+        assertEquals("test-message", this.tokenProvider.getToken().otherwise(t -> Mono.just(t.getMessage())).block());
+
+        assertEquals("test-token-1", this.tokenProvider.getToken().block());
+    }
+
+    @Test
+    public void fileCache() throws IOException {
+        when(this.tokens.getByPassword(any(GetTokenByPasswordRequest.class))).thenReturn(Mono.just(passwordResponse("test-token-1")));
+        EncryptedFileCache fileCache = new EncryptedFileCache(Files.createTempDirectory("test-cache"), "test-passphrase".toCharArray());
+
+        assertEquals("test-token-1", new TokensOAuth2TokenProvider(this.tokens, "test-client-id", "test-client-secret", "test-username", "test-password", fileCache, "test-name", Duration.ofMinutes(1),
+            this.clock).getToken().block());
+        assertEquals("test-token-1", new TokensOAuth2TokenProvider(this.tokens, "test-client-id", "test-client-secret", "test-username", "test-password", fileCache, "test-name", Duration.ofMinutes(1),
+            this.clock).getToken().block());
+
+        verify(this.tokens, times(1)).getByPassword(any(GetTokenByPasswordRequest.class));
+    }
+
+    @Test
+    public void invalidate() {
+        when(this.tokens.getByPassword(any(GetTokenByPasswordRequest.class))).thenReturn(Mono.just(passwordResponse("test-token-1")), Mono.just(passwordResponse("test-token-2")));
+
+        assertEquals("test-token-1", this.tokenProvider.getToken().block());
+
+        assertTrue(this.tokenProvider.invalidate("bearer test-token-1").block());
+        assertTrue(this.tokenProvider.invalidate("bearer test-token-1").block());
+        assertFalse(this.tokenProvider.invalidate("Basic dGVzdA==").block());
+        assertEquals("test-token-2", this.tokenProvider.getToken().block());
+
+        verify(this.tokens, times(2)).getByPassword(any(GetTokenByPasswordRequest.class));
+    }
+
+    @Test
+    public void singleFlight() {
+        MonoProcessor<GetTokenByPasswordResponse> response = MonoProcessor.create();
+        when(this.tokens.getByPassword(any(GetTokenByPasswordRequest.class))).thenReturn(response);
+
+        MonoProcessor<String> first = MonoProcessor.create();
+        this.tokenProvider.getToken().subscribe(first);
+        MonoProcessor<String> second = MonoProcessor.create();
+        this.tokenProvider.getToken().subscribe(second);
+
+        response.onNext(passwordResponse("test-token-1"));
+
+        assertEquals("test-token-1", first.block());
+        assertEquals("test-token-1", second.block());
+        verify(this.tokens, times(1)).getByPassword(any(GetTokenByPasswordRequest.class));
+    }
+
+    private static GetTokenByPasswordResponse passwordResponse(String accessToken) {
+        return GetTokenByPasswordResponse.builder()
+            .accessToken(accessToken)
+            .expiresInSeconds(3600)
+            .refreshToken("test-refresh-token")
+            .scopes("test-scopes")
+            .tokenId("test-token-id")
+            .tokenType("bearer")
+            .build();
+    }
+
+    private static final class TestClock extends Clock {
+
+        private Instant instant = Instant.parse("2016-06-01T00:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        private void advance(Duration duration) {
+            this.instant = this.instant.plus(duration);
+        }
+
+    }
+
+}
@@ -18,6 +18,7 @@ package org.cloudfoundry.uaa.tokens;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.cloudfoundry.Nullable;
 import org.immutables.value.Value;
 
 import java.util.List;
@@ -39,12 +40,14 @@ abstract class _CheckTokenResponse {
      * The authorities
      */
     @JsonProperty("authorities")
+    @Nullable
     abstract List<String> getAuthorities();
 
     /**
      * The auth time
      */
     @JsonProperty("auth_time")
+    @Nullable
     abstract Long getAuthorizationTime();
 
     /**
@@ -69,6 +72,7 @@ abstract class _CheckTokenResponse {
      * The email
      */
     @JsonProperty("email")
+    @Nullable
     abstract String getEmail();
 
     /**
@@ -105,18 +109,21 @@ abstract class _CheckTokenResponse {
      * The origin
      */
     @JsonProperty("origin")
+    @Nullable
     abstract String getOrigin();
 
     /**
      * Whether token is revocable
      */
     @JsonProperty("revocable")
+    @Nullable
     abstract Boolean getRevocable();
 
     /**
      * The revocation signature
      */
     @JsonProperty("rev_sig")
+    @Nullable
     abstract String getRevocationSignature();
 
     /**
@@ -135,12 +142,14 @@ abstract class _CheckTokenResponse {
      * The user id
      */
     @JsonProperty("user_id")
+    @Nullable
     abstract String getUserId();
 
     /**
      * The user name
      */
     @JsonProperty("user_name")
+    @Nullable
     abstract String getUserName();
 
     /**
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.operations;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.impl.Base64UrlCodec;
+import org.cloudfoundry.uaa.UaaClient;
+import org.cloudfoundry.util.ExceptionUtils;
+import org.cloudfoundry.util.TokenKeyCache;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the claims of tokens verified with the UAA's token signing keys, which are kept in a {@link TokenKeyCache}.  Verified claims are reused for the same token until the token
+ * expires.  When the cache is full, the least recently used entry is evicted.
+ */
+final class ClaimsCache {
+
+    private static final Base64UrlCodec BASE64_URL = new Base64UrlCodec();
+
+    private static final int MAXIMUM_CLAIMS = 100;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Map<String, Claims> claims;
+
+    private final Clock clock;
+
+    private final int maximumClaims;
+
+    private final TokenKeyCache tokenKeyCache;
+
+    ClaimsCache() {
+        this(Clock.systemUTC());
+    }
+
+    ClaimsCache(Clock clock) {
+        this(MAXIMUM_CLAIMS, clock);
+    }
+
+    ClaimsCache(int maximumClaims, Clock clock) {
+        this.clock = clock;
+        this.maximumClaims = maximumClaims;
+        this.tokenKeyCache = new TokenKeyCache(clock);
+        this.claims = new LinkedHashMap<String, Claims>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > ClaimsCache.this.maximumClaims;
+            }
+
+        };
+    }
+
+    Mono<Claims> get(UaaClient uaaClient, String token) {
+        return Mono.defer(() -> {
+            Claims cached = getCached(token);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+
+            String keyId = getKeyId(token);
+
+            return this.tokenKeyCache.get(uaaClient.tokens(), keyId)
+                .otherwiseIfEmpty(ExceptionUtils.illegalState("No token signing key with id %s", keyId))
+                .map(key -> Jwts.parser().setSigningKey(key).parseClaimsJws(token).getBody())
+                .doOnSuccess(claims -> put(token, claims));
+        });
+    }
+
+    int getSize() {
+        synchronized (this.claims) {
+            return this.claims.size();
+        }
+    }
+
+    private static String getKeyId(String token) {
+        int index = token.indexOf('.');
+        if (index < 0) {
+            throw new IllegalArgumentException("Token is not a JWT");
+        }
+
+        try {
+            JsonNode header = OBJECT_MAPPER.readTree(BASE64_URL.decode(token.substring(0, index)));
+            return header != null && header.hasNonNull("kid") ? header.get("kid").asText() : null;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to parse token header", e);
+        }
+    }
+
+    private Claims getCached(String token) {
+        synchronized (this.claims) {
+            Claims cached = this.claims.get(token);
+
+            if (cached != null && isExpired(cached)) {
+                this.claims.remove(token);
+                return null;
+            }
+
+            return cached;
+        }
+    }
+
+    private boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && !expiration.toInstant().isAfter(this.clock.instant());
+    }
+
+    private void put(String token, Claims claims) {
+        if (claims == null || isExpired(claims)) {
+            return;
+        }
+
+        synchronized (this.claims) {
+            this.claims.put(token, claims);
+        }
+    }
+
+}
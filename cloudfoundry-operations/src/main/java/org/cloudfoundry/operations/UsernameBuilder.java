@@ -16,42 +16,27 @@
 
 package org.cloudfoundry.operations;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.impl.Base64Codec;
 import org.cloudfoundry.client.CloudFoundryClient;
 import org.cloudfoundry.uaa.UaaClient;
-import org.cloudfoundry.uaa.tokens.GetTokenKeyRequest;
-import org.cloudfoundry.uaa.tokens.GetTokenKeyResponse;
 import reactor.core.publisher.Mono;
 
-import java.security.GeneralSecurityException;
-import java.security.KeyFactory;
-import java.security.PublicKey;
-import java.security.spec.X509EncodedKeySpec;
-
-import static org.cloudfoundry.util.tuple.TupleUtils.function;
-
 final class UsernameBuilder {
 
-    private static final Base64Codec BASE64 = new Base64Codec();
-
-    private static final String BEGIN = "-----BEGIN PUBLIC KEY-----";
-
-    private static final String END = "-----END PUBLIC KEY-----";
+    private ClaimsCache claimsCache;
 
     private CloudFoundryClient cloudFoundryClient;
 
     private UaaClient uaaClient;
 
     Mono<String> build() {
-        return Mono
-            .when(
-                getSigningKey(this.uaaClient),
-                this.cloudFoundryClient.getAccessToken()
-            )
-            .map(function(UsernameBuilder::getUsername));
+        return this.cloudFoundryClient.getAccessToken()
+            .then(token -> this.claimsCache.get(this.uaaClient, token))
+            .map(claims -> claims.get("user_name", String.class));
+    }
+
+    UsernameBuilder claimsCache(ClaimsCache claimsCache) {
+        this.claimsCache = claimsCache;
+        return this;
     }
 
     UsernameBuilder cloudFoundryClient(CloudFoundryClient cloudFoundryClient) {
@@ -64,32 +49,4 @@ final class UsernameBuilder {
         return this;
     }
 
-    private static PublicKey generateKey(String pem) {
-        try {
-            return KeyFactory
-                .getInstance("RSA")
-                .generatePublic(new X509EncodedKeySpec(BASE64.decode(pem)));
-        } catch (GeneralSecurityException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    private static Mono<PublicKey> getSigningKey(UaaClient uaaClient) {
-        return requestTokenKey(uaaClient)
-            .map(GetTokenKeyResponse::getValue)
-            .map(pem -> pem.replace(BEGIN, "").replace(END, "").trim())
-            .map(UsernameBuilder::generateKey);
-    }
-
-    private static String getUsername(PublicKey publicKey, String token) {
-        Jws<Claims> jws = Jwts.parser().setSigningKey(publicKey).parseClaimsJws(token);
-        return jws.getBody().get("user_name", String.class);
-    }
-
-    private static Mono<GetTokenKeyResponse> requestTokenKey(UaaClient uaaClient) {
-        return uaaClient.tokens()
-            .getKey(GetTokenKeyRequest.builder()
-                .build());
-    }
-
 }
@@ -138,6 +138,11 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
         return new DefaultStacks(getCloudFoundryClientPublisher());
     }
 
+    @Value.Derived
+    ClaimsCache getClaimsCache() {
+        return new ClaimsCache();
+    }
+
     /**
      * The {@link CloudFoundryClient} to use for operations functionality
      */
@@ -213,6 +218,7 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
         return Mono
             .when(getCloudFoundryClientPublisher(), getUaaClientPublisher())
             .then(function((cloudFoundryClient, uaaClient) -> new UsernameBuilder()
+                .claimsCache(getClaimsCache())
                 .cloudFoundryClient(cloudFoundryClient)
                 .uaaClient(uaaClient)
                 .build()));
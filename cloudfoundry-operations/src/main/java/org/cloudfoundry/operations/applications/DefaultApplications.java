@@ -81,7 +81,9 @@ import org.cloudfoundry.doppler.Event;
 import org.cloudfoundry.doppler.LogMessage;
 import org.cloudfoundry.doppler.RecentLogsRequest;
 import org.cloudfoundry.doppler.StreamRequest;
+import org.cloudfoundry.util.CircuitBreakerOpenException;
 import org.cloudfoundry.util.DateUtils;
+import org.cloudfoundry.util.DeadlineUtils;
 import org.cloudfoundry.util.DelayTimeoutException;
 import org.cloudfoundry.util.ExceptionUtils;
 import org.cloudfoundry.util.JobUtils;
@@ -97,6 +99,7 @@ import reactor.core.tuple.Tuple6;
 
 import java.io.InputStream;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -105,6 +108,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 
@@ -120,6 +124,12 @@ public final class DefaultApplications implements Applications {
 
     private static final int CF_STAGING_NOT_FINISHED = 170002;
 
+    private static final Duration DEFAULT_STAGING_TIMEOUT = Duration.ofMinutes(15);
+
+    private static final Duration DEFAULT_STARTUP_TIMEOUT = Duration.ofMinutes(5);
+
+    private static final Duration DEFAULT_UPLOAD_TIMEOUT = Duration.ofMinutes(5);
+
     private static final int MAX_NUMBER_OF_RECENT_EVENTS = 50;
 
     private static final String STARTED_STATE = "STARTED";
@@ -281,26 +291,32 @@ public final class DefaultApplications implements Applications {
 
     @Override
     public Mono<Void> push(PushApplicationRequest request) {
-        return this.cloudFoundryClient
-            .then(cloudFoundryClient -> Mono.when(
-                Mono.just(cloudFoundryClient),
-                this.spaceId,
-                getOptionalStackId(cloudFoundryClient, request.getStack())
-            ))
-            .then(function((cloudFoundryClient, spaceId, stackId) -> Mono.when(
-                Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request, spaceId, stackId.orElse(null)),
-                Mono.just(spaceId)
-            )))
-            .then(function((cloudFoundryClient, applicationId, spaceId) -> prepareDomainsAndRoutes(cloudFoundryClient, request, applicationId, spaceId, this.randomWords)
-                .then(Mono.just(Tuple.of(cloudFoundryClient, applicationId)))))
-            .then(function((cloudFoundryClient, applicationId) -> uploadApplicationAndWait(cloudFoundryClient, applicationId, request.getApplication())
-                .then(Mono.just(Tuple.of(cloudFoundryClient, applicationId)))))
-            .then(function((cloudFoundryClient, applicationId) -> stopApplication(cloudFoundryClient, applicationId)
-                .then(Mono.just(Tuple.of(cloudFoundryClient, applicationId)))))
-            .filter(predicate((cloudFoundryClient, applicationId) -> !Optional.ofNullable(request.getNoStart()).orElse(false)))
-            .then(function((cloudFoundryClient, applicationId) -> startApplicationAndWait(cloudFoundryClient, request.getName(), applicationId, request.getStagingTimeout(),
-                request.getStartupTimeout())));
+        return Mono.defer(() -> {
+            Duration stagingTimeout = Optional.ofNullable(request.getStagingTimeout()).orElse(DEFAULT_STAGING_TIMEOUT);
+            Duration startupTimeout = Optional.ofNullable(request.getStartupTimeout()).orElse(DEFAULT_STARTUP_TIMEOUT);
+            Optional<Instant> deadline = Optional.ofNullable(request.getTotalTimeout()).map(timeout -> Instant.now().plus(timeout));
+
+            return this.cloudFoundryClient
+                .then(cloudFoundryClient -> Mono.when(
+                    Mono.just(cloudFoundryClient),
+                    this.spaceId,
+                    getOptionalStackId(cloudFoundryClient, request.getStack())
+                ))
+                .then(function((cloudFoundryClient, spaceId, stackId) -> Mono.when(
+                    Mono.just(cloudFoundryClient),
+                    getApplicationId(cloudFoundryClient, request, spaceId, stackId.orElse(null)),
+                    Mono.just(spaceId)
+                )))
+                .then(function((cloudFoundryClient, applicationId, spaceId) -> prepareDomainsAndRoutes(cloudFoundryClient, request, applicationId, spaceId, this.randomWords)
+                    .then(Mono.just(Tuple.of(cloudFoundryClient, applicationId)))))
+                .then(function((cloudFoundryClient, applicationId) -> uploadApplicationAndWait(cloudFoundryClient, applicationId, request.getApplication(), deadline)
+                    .then(Mono.just(Tuple.of(cloudFoundryClient, applicationId)))))
+                .then(function((cloudFoundryClient, applicationId) -> stopApplication(cloudFoundryClient, applicationId)
+                    .then(Mono.just(Tuple.of(cloudFoundryClient, applicationId)))))
+                .filter(predicate((cloudFoundryClient, applicationId) -> !Optional.ofNullable(request.getNoStart()).orElse(false)))
+                .then(function((cloudFoundryClient, applicationId) -> startApplicationAndWait(cloudFoundryClient, request.getName(), applicationId, stagingTimeout, startupTimeout, deadline)))
+                .compose(deadline.map(DeadlineUtils::<Void>timeout).orElse(Function.identity()));
+        });
     }
 
     @Override
@@ -594,12 +610,14 @@ public final class DefaultApplications implements Applications {
     private static Mono<ApplicationInstancesResponse> getApplicationInstances(CloudFoundryClient cloudFoundryClient, String applicationId) {
         return requestApplicationInstances(cloudFoundryClient, applicationId)
             .otherwise(ExceptionUtils.statusCode(CF_INSTANCES_ERROR), t -> Mono.just(ApplicationInstancesResponse.builder().build()))
-            .otherwise(ExceptionUtils.statusCode(CF_STAGING_NOT_FINISHED), t -> Mono.just(ApplicationInstancesResponse.builder().build()));
+            .otherwise(ExceptionUtils.statusCode(CF_STAGING_NOT_FINISHED), t -> Mono.just(ApplicationInstancesResponse.builder().build()))
+            .otherwise(CircuitBreakerOpenException.class, t -> Mono.just(ApplicationInstancesResponse.builder().build()));
     }
 
     private static Mono<ApplicationStatisticsResponse> getApplicationStatistics(CloudFoundryClient cloudFoundryClient, String applicationId) {
         return requestApplicationStatistics(cloudFoundryClient, applicationId)
-            .otherwise(ExceptionUtils.statusCode(CF_APP_STOPPED_STATS_ERROR), t -> Mono.just(ApplicationStatisticsResponse.builder().build()));
+            .otherwise(ExceptionUtils.statusCode(CF_APP_STOPPED_STATS_ERROR), t -> Mono.just(ApplicationStatisticsResponse.builder().build()))
+            .otherwise(CircuitBreakerOpenException.class, t -> Mono.just(ApplicationStatisticsResponse.builder().build()));
     }
 
     private static Mono<Tuple6<ApplicationStatisticsResponse, SummaryApplicationResponse, GetStackResponse, ApplicationInstancesResponse, List<InstanceDetail>, List<String>>>
@@ -817,6 +835,12 @@ public final class DefaultApplications implements Applications {
             .then();
     }
 
+    private static Duration remaining(Duration timeout, Optional<Instant> deadline) {
+        return deadline
+            .map(instant -> DeadlineUtils.min(timeout, instant))
+            .orElse(timeout);
+    }
+
     private static Map<String, Object> removeFromEnvironment(Map<String, Object> environment, String variableName) {
         Map<String, Object> modified = new HashMap<>(environment);
         modified.remove(variableName);
@@ -1166,9 +1190,14 @@ public final class DefaultApplications implements Applications {
     }
 
     private static Mono<Void> startApplicationAndWait(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration stagingTimeout, Duration startupTimeout) {
+        return startApplicationAndWait(cloudFoundryClient, application, applicationId, stagingTimeout, startupTimeout, Optional.empty());
+    }
+
+    private static Mono<Void> startApplicationAndWait(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration stagingTimeout, Duration startupTimeout,
+                                                      Optional<Instant> deadline) {
         return requestUpdateApplicationState(cloudFoundryClient, applicationId, STARTED_STATE)
-            .then(response -> waitForStaging(cloudFoundryClient, application, applicationId, stagingTimeout))
-            .then(waitForRunning(cloudFoundryClient, application, applicationId, startupTimeout));
+            .then(response -> waitForStaging(cloudFoundryClient, application, applicationId, remaining(stagingTimeout, deadline)))
+            .then(Mono.defer(() -> waitForRunning(cloudFoundryClient, application, applicationId, remaining(startupTimeout, deadline))));
     }
 
     private static Mono<AbstractApplicationResource> stopApplication(CloudFoundryClient cloudFoundryClient, String applicationId) {
@@ -1305,13 +1334,13 @@ public final class DefaultApplications implements Applications {
             .collectList();
     }
 
-    private static Mono<Void> uploadApplicationAndWait(CloudFoundryClient cloudFoundryClient, String applicationId, InputStream application) {
+    private static Mono<Void> uploadApplicationAndWait(CloudFoundryClient cloudFoundryClient, String applicationId, InputStream application, Optional<Instant> deadline) {
         return requestUploadApplication(cloudFoundryClient, applicationId, application)
-            .then(job -> JobUtils.waitForCompletion(cloudFoundryClient, job));
+            .then(job -> JobUtils.waitForCompletion(cloudFoundryClient, job, remaining(DEFAULT_UPLOAD_TIMEOUT, deadline)));
     }
 
     private static Mono<Void> waitForRunning(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration startupTimeout) {
-        Duration timeout = Optional.ofNullable(startupTimeout).orElse(Duration.ofMinutes(5));
+        Duration timeout = Optional.ofNullable(startupTimeout).orElse(DEFAULT_STARTUP_TIMEOUT);
 
         return requestApplicationInstances(cloudFoundryClient, applicationId)
             .flatMap(response -> Flux.fromIterable(response.getInstances().values()))
@@ -1326,7 +1355,7 @@ public final class DefaultApplications implements Applications {
     }
 
     private static Mono<Void> waitForStaging(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration stagingTimeout) {
-        Duration timeout = Optional.ofNullable(stagingTimeout).orElse(Duration.ofMinutes(15));
+        Duration timeout = Optional.ofNullable(stagingTimeout).orElse(DEFAULT_STAGING_TIMEOUT);
 
         return requestGetApplication(cloudFoundryClient, applicationId)
             .map(response -> ResourceUtils.getEntity(response).getPackageState())
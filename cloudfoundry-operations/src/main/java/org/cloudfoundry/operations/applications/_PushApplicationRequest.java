@@ -152,4 +152,10 @@ abstract class _PushApplicationRequest {
     @Nullable
     abstract Integer getTimeout();
 
+    /**
+     * How long to wait for the whole push, from the first request until the application is running.  Each phase waits for at most the time remaining.
+     */
+    @Nullable
+    abstract Duration getTotalTimeout();
+
 }
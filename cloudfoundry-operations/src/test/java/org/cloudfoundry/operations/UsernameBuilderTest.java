@@ -18,10 +18,11 @@ package org.cloudfoundry.operations;
 
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.impl.Base64Codec;
 import org.cloudfoundry.uaa.UaaClient;
-import org.cloudfoundry.uaa.tokens.GetTokenKeyRequest;
-import org.cloudfoundry.uaa.tokens.GetTokenKeyResponse;
+import org.cloudfoundry.uaa.tokens.KeyType;
+import org.cloudfoundry.uaa.tokens.ListTokenKeysRequest;
+import org.cloudfoundry.uaa.tokens.ListTokenKeysResponse;
+import org.cloudfoundry.uaa.tokens.TokenKey;
 import org.junit.Test;
 import reactor.core.publisher.Mono;
 
@@ -30,35 +31,99 @@ import java.security.KeyPairGenerator;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
 
 import static org.cloudfoundry.util.test.TestObjects.fill;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public final class UsernameBuilderTest extends AbstractOperationsTest {
 
-    private static final Base64Codec BASE64 = new Base64Codec();
+    private final TestClock clock = new TestClock();
 
-    private final String publicKey;
+    private final ClaimsCache claimsCache = new ClaimsCache(this.clock);
 
-    private final String token;
+    private final KeyPair keyPair;
+
+    private final KeyPair rotatedKeyPair;
 
     public UsernameBuilderTest() throws NoSuchAlgorithmException {
         KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
         keyPairGenerator.initialize(1024);
 
-        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        this.keyPair = keyPairGenerator.generateKeyPair();
+        this.rotatedKeyPair = keyPairGenerator.generateKeyPair();
+    }
+
+    @Test
+    public void cached() {
+        when(this.cloudFoundryClient.getAccessToken()).thenReturn(Mono.just(getToken(this.keyPair.getPrivate(), "test-key-id", "test-username")));
+        requestListTokenKeys(this.uaaClient, tokenKey("test-key-id", this.keyPair.getPublic()));
+
+        assertEquals("test-username", build());
+        assertEquals("test-username", build());
+
+        verify(this.tokens, times(1)).listKeys(ListTokenKeysRequest.builder().build());
+    }
+
+    @Test
+    public void evicted() {
+        ClaimsCache claimsCache = new ClaimsCache(2, this.clock);
+        requestListTokenKeys(this.uaaClient, tokenKey("test-key-id", this.keyPair.getPublic()));
+
+        for (String username : new String[]{"test-username-1", "test-username-2", "test-username-3"}) {
+            assertEquals(username, claimsCache.get(this.uaaClient, getToken(this.keyPair.getPrivate(), "test-key-id", username))
+                .map(claims -> claims.get("user_name", String.class))
+                .block());
+        }
+
+        assertEquals(2, claimsCache.getSize());
+    }
+
+    @Test
+    public void noKeyId() {
+        when(this.cloudFoundryClient.getAccessToken()).thenReturn(Mono.just(getToken(this.keyPair.getPrivate(), null, "test-username")));
+        requestListTokenKeys(this.uaaClient, tokenKey("test-key-id", this.keyPair.getPublic()));
+
+        assertEquals("test-username", build());
+    }
+
+    @Test
+    public void rotated() {
+        when(this.cloudFoundryClient.getAccessToken())
+            .thenReturn(Mono.just(getToken(this.keyPair.getPrivate(), "test-key-id", "test-username")))
+            .thenReturn(Mono.just(getToken(this.rotatedKeyPair.getPrivate(), "test-rotated-key-id", "test-rotated-username")));
+        when(this.tokens.listKeys(ListTokenKeysRequest.builder().build()))
+            .thenReturn(Mono.just(ListTokenKeysResponse.builder()
+                .key(tokenKey("test-key-id", this.keyPair.getPublic()))
+                .build()))
+            .thenReturn(Mono.just(ListTokenKeysResponse.builder()
+                .key(tokenKey("test-key-id", this.keyPair.getPublic()))
+                .key(tokenKey("test-rotated-key-id", this.rotatedKeyPair.getPublic()))
+                .build()));
+
+        assertEquals("test-username", build());
+        this.clock.advance(Duration.ofMinutes(1));
+        assertEquals("test-rotated-username", build());
 
-        this.publicKey = getPublicKey(keyPair.getPublic());
-        this.token = getToken(keyPair.getPrivate());
+        verify(this.tokens, times(2)).listKeys(ListTokenKeysRequest.builder().build());
     }
 
     @Test
     public void test() {
-        when(this.cloudFoundryClient.getAccessToken()).thenReturn(Mono.just(this.token));
-        requestTokenKey(this.uaaClient, this.publicKey);
+        when(this.cloudFoundryClient.getAccessToken()).thenReturn(Mono.just(getToken(this.keyPair.getPrivate(), "test-key-id", "test-username")));
+        requestListTokenKeys(this.uaaClient, tokenKey("test-key-id", this.keyPair.getPublic()));
 
         String username = new UsernameBuilder()
+            .claimsCache(this.claimsCache)
             .cloudFoundryClient(this.cloudFoundryClient)
             .uaaClient(this.uaaClient)
             .build()
@@ -67,26 +132,108 @@ public final class UsernameBuilderTest extends AbstractOperationsTest {
         assertEquals("test-username", username);
     }
 
-    private static String getPublicKey(PublicKey publicKey) {
-        return String.format("-----BEGIN PUBLIC KEY-----\n%s\n-----END PUBLIC KEY-----", BASE64.encode(publicKey.getEncoded()));
+    @Test
+    public void unknownKeyRefreshLimited() {
+        when(this.cloudFoundryClient.getAccessToken())
+            .thenReturn(Mono.just(getToken(this.keyPair.getPrivate(), "test-unknown-key-id-1", "test-username")))
+            .thenReturn(Mono.just(getToken(this.keyPair.getPrivate(), "test-unknown-key-id-2", "test-username")));
+        requestListTokenKeys(this.uaaClient, tokenKey("test-key-id", this.keyPair.getPublic()));
+
+        assertEquals("No token signing key with id test-unknown-key-id-1", error().getMessage());
+        assertEquals("No token signing key with id test-unknown-key-id-2", error().getMessage());
+
+        verify(this.tokens, times(1)).listKeys(ListTokenKeysRequest.builder().build());
+    }
+
+    @Test
+    public void unsupportedKeyType() {
+        when(this.cloudFoundryClient.getAccessToken()).thenReturn(Mono.just(getToken(this.keyPair.getPrivate(), "test-key-id", "test-username")));
+        requestListTokenKeys(this.uaaClient, fill(TokenKey.builder())
+            .id("test-key-id")
+            .keyType(KeyType.MAC)
+            .value("test-value")
+            .build());
+
+        assertEquals("No token signing key with id test-key-id", error().getMessage());
     }
 
-    private static String getToken(PrivateKey privateKey) {
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String getToken(PrivateKey privateKey, String keyId, String username) {
         return Jwts
             .builder()
+            .setHeaderParam("kid", keyId)
             .signWith(SignatureAlgorithm.RS256, privateKey)
-            .claim("user_name", "test-username")
+            .claim("user_name", username)
             .compact();
     }
 
-    private static void requestTokenKey(UaaClient uaaClient, String key) {
+    private static void requestListTokenKeys(UaaClient uaaClient, TokenKey tokenKey) {
         when(uaaClient.tokens()
-            .getKey(GetTokenKeyRequest.builder()
+            .listKeys(ListTokenKeysRequest.builder()
                 .build()))
             .thenReturn(Mono
-                .just(fill(GetTokenKeyResponse.builder())
-                    .value(key)
+                .just(ListTokenKeysResponse.builder()
+                    .key(tokenKey)
                     .build()));
     }
 
+    private static TokenKey tokenKey(String keyId, PublicKey publicKey) {
+        RSAPublicKey rsaPublicKey = (RSAPublicKey) publicKey;
+
+        return fill(TokenKey.builder())
+            .e(encode(rsaPublicKey.getPublicExponent().toByteArray()))
+            .id(keyId)
+            .keyType(KeyType.RSA)
+            .n(encode(rsaPublicKey.getModulus().toByteArray()))
+            .build();
+    }
+
+    private String build() {
+        return new UsernameBuilder()
+            .claimsCache(this.claimsCache)
+            .cloudFoundryClient(this.cloudFoundryClient)
+            .uaaClient(this.uaaClient)
+            .build()
+            .block();
+    }
+
+    private Throwable error() {
+        return new UsernameBuilder()
+            .claimsCache(this.claimsCache)
+            .cloudFoundryClient(this.cloudFoundryClient)
+            .uaaClient(this.uaaClient)
+            .build()
+            .then(username -> Mono.<Throwable>error(new AssertionError("Expected token to be rejected")))
+            .otherwise(Mono::just)
+            .block();
+    }
+
+    private static final class TestClock extends Clock {
+
+        private Instant instant = Instant.parse("2016-06-01T00:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        private void advance(Duration duration) {
+            this.instant = this.instant.plus(duration);
+        }
+
+    }
+
 }
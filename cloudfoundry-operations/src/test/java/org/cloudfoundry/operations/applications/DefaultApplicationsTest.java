@@ -99,6 +99,7 @@ import org.cloudfoundry.doppler.LogMessage;
 import org.cloudfoundry.doppler.RecentLogsRequest;
 import org.cloudfoundry.doppler.StreamRequest;
 import org.cloudfoundry.operations.AbstractOperationsApiTest;
+import org.cloudfoundry.util.CircuitBreakerOpenException;
 import org.cloudfoundry.util.DateUtils;
 import org.cloudfoundry.util.StringMap;
 import org.cloudfoundry.util.test.TestSubscriber;
@@ -117,6 +118,7 @@ import java.util.LinkedList;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
 import static org.cloudfoundry.util.test.TestObjects.fill;
@@ -323,6 +325,15 @@ public final class DefaultApplicationsTest {
                     .build()));
     }
 
+    private static void requestApplicationStatisticsCircuitBreakerOpen(CloudFoundryClient cloudFoundryClient, String applicationId) {
+        when(cloudFoundryClient.applicationsV2()
+            .statistics(ApplicationStatisticsRequest.builder()
+                .applicationId(applicationId)
+                .build()))
+            .thenReturn(Mono
+                .error(new CircuitBreakerOpenException("GET /v2/apps/{guid}/stats")));
+    }
+
     private static void requestApplicationStatisticsError(CloudFoundryClient cloudFoundryClient, String applicationId, Integer code) {
         when(cloudFoundryClient.applicationsV2()
             .statistics(ApplicationStatisticsRequest.builder()
@@ -477,6 +488,15 @@ public final class DefaultApplicationsTest {
             .thenReturn(Mono.empty());
     }
 
+    private static void requestAssociateRouteTimeout(CloudFoundryClient cloudFoundryClient, String applicationId, String routeId) {
+        when(cloudFoundryClient.applicationsV2()
+            .associateRoute(AssociateApplicationRouteRequest.builder()
+                .applicationId(applicationId)
+                .routeId(routeId)
+                .build()))
+            .thenReturn(Mono.never());
+    }
+
     private static void requestCopyBits(CloudFoundryClient cloudFoundryClient, String sourceApplicationId, String targetApplicationId) {
         when(cloudFoundryClient.applicationsV2()
             .copy(CopyApplicationRequest.builder()
@@ -2116,6 +2136,47 @@ public final class DefaultApplicationsTest {
 
     }
 
+    public static final class GetStatisticsCircuitBreakerOpen extends AbstractOperationsApiTest<ApplicationDetail> {
+
+        private final DefaultApplications applications = new DefaultApplications(Mono.just(this.cloudFoundryClient), Mono.just(this.dopplerClient), Mono.just(TEST_SPACE_ID));
+
+        @Before
+        public void setUp() throws Exception {
+            requestApplications(this.cloudFoundryClient, "test-app", TEST_SPACE_ID, "test-metadata-id");
+            requestApplicationStatisticsCircuitBreakerOpen(this.cloudFoundryClient, "test-metadata-id");
+            requestStack(this.cloudFoundryClient, "test-application-stackId");
+            requestApplicationSummary(this.cloudFoundryClient, "test-metadata-id");
+            requestApplicationInstances(this.cloudFoundryClient, "test-metadata-id");
+        }
+
+        @Override
+        protected void assertions(TestSubscriber<ApplicationDetail> testSubscriber) {
+            testSubscriber
+                .assertEquals(fill(ApplicationDetail.builder())
+                    .buildpack("test-application-summary-buildpack")
+                    .id("test-application-summary-id")
+                    .instanceDetail(InstanceDetail.builder()
+                        .since(new Date(1000))
+                        .state("test-application-instance-info-state")
+                        .build())
+                    .lastUploaded(new Date(0))
+                    .name("test-application-summary-name")
+                    .requestedState("test-application-summary-state")
+                    .stack("test-stack-entity-name")
+                    .url("test-route-host.test-domain-name")
+                    .build());
+        }
+
+        @Override
+        protected Mono<ApplicationDetail> invoke() {
+            return this.applications
+                .get(GetApplicationRequest.builder()
+                    .name("test-app")
+                    .build());
+        }
+
+    }
+
     public static final class GetStoppedError extends AbstractOperationsApiTest<ApplicationDetail> {
 
         private static final int CF_APP_STOPPED_STATS_ERROR = 200003;
@@ -3189,6 +3250,44 @@ public final class DefaultApplicationsTest {
 
     }
 
+    public static final class PushTotalTimeout extends AbstractOperationsApiTest<Void> {
+
+        private final InputStream applicationBits = new ByteArrayInputStream("test-application".getBytes());
+
+        private final DefaultApplications applications = new DefaultApplications(Mono.just(this.cloudFoundryClient), Mono.just(this.dopplerClient), Mono.just(TEST_SPACE_ID));
+
+        private final PushApplicationRequest pushApplicationRequest = PushApplicationRequest.builder()
+            .application(this.applicationBits)
+            .domain("test-domain")
+            .name("test-name")
+            .totalTimeout(Duration.ofSeconds(1))
+            .build();
+
+        @Before
+        public void setUp() throws Exception {
+            requestApplicationsEmpty(this.cloudFoundryClient, "test-name", TEST_SPACE_ID);
+            requestCreateApplication(this.cloudFoundryClient, this.pushApplicationRequest, TEST_SPACE_ID, null, "test-application-id");
+            requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
+            requestPrivateDomain(this.cloudFoundryClient, "test-domain", TEST_ORGANIZATION_ID, "test-domain-id");
+            requestRoutesEmpty(this.cloudFoundryClient, "test-domain-id", "test-name", null);
+            requestCreateRoute(this.cloudFoundryClient, "test-domain-id", "test-name", null, TEST_SPACE_ID, "test-route-id");
+            requestAssociateRouteTimeout(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        }
+
+        @Override
+        protected void assertions(TestSubscriber<Void> testSubscriber) {
+            testSubscriber
+                .assertError(TimeoutException.class, null);
+        }
+
+        @Override
+        protected Mono<Void> invoke() {
+            return this.applications
+                .push(this.pushApplicationRequest);
+        }
+
+    }
+
     public static final class PushUploadFails extends AbstractOperationsApiTest<Void> {
 
         private final InputStream applicationBits = new ByteArrayInputStream("test-application".getBytes());
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+/**
+ * An exception indicating that a request was rejected without being sent because the circuit breaker for its endpoint is open
+ */
+public final class CircuitBreakerOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = -3526813870286519392L;
+
+    /**
+     * Creates a new instance
+     *
+     * @param endpoint the endpoint whose circuit breaker is open
+     */
+    public CircuitBreakerOpenException(String endpoint) {
+        super(String.format("Circuit breaker for %s is open", endpoint));
+    }
+
+}
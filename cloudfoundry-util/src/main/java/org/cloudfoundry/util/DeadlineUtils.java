@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.util;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Utilities for sharing a deadline between a sequence of operations
+ */
+public final class DeadlineUtils {
+
+    private DeadlineUtils() {
+    }
+
+    /**
+     * Returns the smaller of a timeout and the time remaining until a deadline
+     *
+     * @param timeout  the timeout
+     * @param deadline the deadline
+     * @return the smaller of the timeout and the remaining time
+     */
+    public static Duration min(Duration timeout, Instant deadline) {
+        Duration remaining = remaining(deadline);
+        return (timeout.compareTo(remaining) <= 0) ? timeout : remaining;
+    }
+
+    /**
+     * Returns the time remaining until a deadline, or {@link Duration#ZERO} if it has passed
+     *
+     * @param deadline the deadline
+     * @return the remaining time
+     */
+    public static Duration remaining(Instant deadline) {
+        Duration remaining = Duration.between(Instant.now(), deadline);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    /**
+     * Applies the time remaining until a deadline, measured at subscription, as a timeout for use with {@link Mono#compose(Function)}
+     *
+     * @param deadline the deadline
+     * @param <T>      the type of the {@link Mono}
+     * @return a {@link Mono} that errors with a {@link TimeoutException} if it has not completed by the deadline
+     */
+    public static <T> Function<Mono<T>, Mono<T>> timeout(Instant deadline) {
+        return mono -> Mono.defer(() -> {
+            Duration remaining = remaining(deadline);
+
+            if (remaining.isZero()) {
+                return Mono.error(new TimeoutException());
+            }
+
+            return mono.timeout(remaining);
+        });
+    }
+
+}
@@ -26,6 +26,8 @@ import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -39,6 +41,23 @@ public final class DelayUtils {
     private DelayUtils() {
     }
 
+    /**
+     * Implements a decorrelated jitter backoff delay for use with {@link Mono#retryWhen(Function)}.  Each delay is chosen at random between the minimum and three times the previous delay, capped at
+     * the maximum, which spreads out retries from many clients that failed at the same time.
+     *
+     * @param minimum the minimum duration
+     * @param maximum the maximum duration
+     * @param timeout the maximum amount of time to delay for
+     * @return a delayed {@link Publisher}
+     */
+    public static Function<Flux<Throwable>, Publisher<?>> decorrelatedJitterBackOffError(Duration minimum, Duration maximum, Duration timeout) {
+        Instant finish = Instant.now().plus(timeout);
+        return errors -> {
+            AtomicReference<Duration> previous = new AtomicReference<>(minimum);
+            return getDelay(finish, errors.map(error -> previous.updateAndGet(delay -> calculateDecorrelatedJitter(minimum, maximum, delay))));
+        };
+    }
+
     /**
      * Implements an exponential backoff delay for use with {@link Mono#repeatWhenEmpty(Function)}
      *
@@ -49,7 +68,7 @@ public final class DelayUtils {
      */
     public static Function<Flux<Long>, Publisher<?>> exponentialBackOff(Duration minimum, Duration maximum, Duration timeout) {
         Instant finish = Instant.now().plus(timeout);
-        return iterations -> getDelay(minimum, maximum, finish, iterations);
+        return iterations -> getDelay(finish, iterations.map(iteration -> calculateDuration(minimum, maximum, iteration)));
     }
 
     /**
@@ -62,7 +81,7 @@ public final class DelayUtils {
      */
     public static Function<Flux<Throwable>, Publisher<?>> exponentialBackOffError(Duration minimum, Duration maximum, Duration timeout) {
         Instant finish = Instant.now().plus(timeout);
-        return errors -> getDelay(minimum, maximum, finish, errors.zipWith(Flux.range(0, Integer.MAX_VALUE), (error, iteration) -> iteration.longValue()));
+        return errors -> getDelay(finish, errors.zipWith(Flux.range(0, Integer.MAX_VALUE), (error, iteration) -> calculateDuration(minimum, maximum, iteration.longValue())));
     }
 
     /**
@@ -88,14 +107,19 @@ public final class DelayUtils {
             .doOnSubscribe(logDelay(Duration.ZERO));
     }
 
+    private static Duration calculateDecorrelatedJitter(Duration minimum, Duration maximum, Duration previous) {
+        long upper = Math.max(minimum.toMillis() + 1, previous.multipliedBy(3).toMillis());
+        Duration candidate = Duration.ofMillis(ThreadLocalRandom.current().nextLong(minimum.toMillis(), upper));
+        return min(candidate, maximum);
+    }
+
     private static Duration calculateDuration(Duration minimum, Duration maximum, Long iteration) {
         Duration candidate = minimum.multipliedBy((long) Math.pow(2, iteration));
         return min(candidate, maximum);
     }
 
-    private static Flux<?> getDelay(Duration minimum, Duration maximum, Instant finish, Flux<Long> iterations) {
-        return iterations
-            .map(iteration -> calculateDuration(minimum, maximum, iteration))
+    private static Flux<?> getDelay(Instant finish, Flux<Duration> delays) {
+        return delays
             .flatMap(delay -> {
                 if (Instant.now().isAfter(finish)) {
                     return Mono.error(new DelayTimeoutException());
@@ -34,6 +34,8 @@ import static org.cloudfoundry.util.DelayUtils.exponentialBackOff;
  */
 public final class JobUtils {
 
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(5);
+
     private JobUtils() {
     }
 
@@ -46,6 +48,19 @@ public final class JobUtils {
      * @return {@code onComplete} once job has completed
      */
     public static <R extends Resource<JobEntity>> Mono<Void> waitForCompletion(CloudFoundryClient cloudFoundryClient, R resource) {
+        return waitForCompletion(cloudFoundryClient, resource, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Waits for a job to complete
+     *
+     * @param cloudFoundryClient the client to use to request job status
+     * @param resource           the resource representing the job
+     * @param timeout            the maximum time to wait for the job to complete
+     * @param <R>                the Job resource type
+     * @return {@code onComplete} once job has completed
+     */
+    public static <R extends Resource<JobEntity>> Mono<Void> waitForCompletion(CloudFoundryClient cloudFoundryClient, R resource, Duration timeout) {
         Mono<JobEntity> job;
 
         if (JobUtils.isComplete(ResourceUtils.getEntity(resource))) {
@@ -54,7 +69,7 @@ public final class JobUtils {
             job = requestJob(cloudFoundryClient, ResourceUtils.getId(resource))
                 .map(GetJobResponse::getEntity)
                 .filter(JobUtils::isComplete)
-                .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), Duration.ofMinutes(5)));
+                .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), timeout));
         }
 
         return job
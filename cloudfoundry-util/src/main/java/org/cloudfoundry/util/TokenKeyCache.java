@@ -0,0 +1,159 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.cloudfoundry.uaa.tokens.KeyType;
+import org.cloudfoundry.uaa.tokens.ListTokenKeysRequest;
+import org.cloudfoundry.uaa.tokens.ListTokenKeysResponse;
+import org.cloudfoundry.uaa.tokens.TokenKey;
+import org.cloudfoundry.uaa.tokens.Tokens;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A cache of the UAA's RSA token signing keys, looked up by the {@code kid} of a token.  The keys are loaded with {@link Tokens#listKeys(ListTokenKeysRequest)} and reloaded when a token is signed
+ * with a key that is not known, so keys rotated by the UAA are picked up without a restart.  Concurrent reloads share a single request, and reloads are at least {@code MINIMUM_REFRESH_INTERVAL}
+ * apart so that tokens with unknown or absent key ids cannot send every lookup to the UAA.
+ */
+public final class TokenKeyCache {
+
+    private static final Duration MINIMUM_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    private final Clock clock;
+
+    private final AtomicReference<Map<String, PublicKey>> keys = new AtomicReference<>(Collections.emptyMap());
+
+    private final AtomicReference<Instant> lastRefresh = new AtomicReference<>(Instant.MIN);
+
+    private final AtomicReference<Mono<Map<String, PublicKey>>> refresh = new AtomicReference<>();
+
+    /**
+     * Creates a new instance
+     */
+    public TokenKeyCache() {
+        this(Clock.systemUTC());
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param clock the clock used to space reloads apart
+     */
+    public TokenKeyCache(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the key with an id, reloading the keys if it is not known.  A {@code null} id selects the only key if the UAA has exactly one.
+     *
+     * @param tokens the {@link Tokens} client used to load the keys
+     * @param keyId  the id of the key, or {@code null} if the token does not name one
+     * @return the key, or empty if no key has the id
+     */
+    public Mono<PublicKey> get(Tokens tokens, String keyId) {
+        return Optional.ofNullable(select(this.keys.get(), keyId))
+            .map(Mono::just)
+            .orElseGet(() -> refresh(tokens)
+                .then(keys -> Optional.ofNullable(select(keys, keyId))
+                    .map(Mono::just)
+                    .orElse(Mono.empty())));
+    }
+
+    private static byte[] decode(String encoded) {
+        return Base64.getUrlDecoder().decode(encoded);
+    }
+
+    private static Mono<ListTokenKeysResponse> requestTokenKeys(Tokens tokens) {
+        return tokens
+            .listKeys(ListTokenKeysRequest.builder()
+                .build());
+    }
+
+    private static PublicKey select(Map<String, PublicKey> keys, String keyId) {
+        return keyId == null && keys.size() == 1 ? keys.values().iterator().next() : keys.get(keyId);
+    }
+
+    private static PublicKey toKey(TokenKey tokenKey) {
+        try {
+            return KeyFactory
+                .getInstance("RSA")
+                .generatePublic(new RSAPublicKeySpec(new BigInteger(1, decode(tokenKey.getN())), new BigInteger(1, decode(tokenKey.getE()))));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, PublicKey> toKeys(ListTokenKeysResponse response) {
+        Map<String, PublicKey> keys = new HashMap<>();
+
+        response.getKeys().stream()
+            .filter(tokenKey -> tokenKey.getKeyType() == KeyType.RSA)
+            .forEach(tokenKey -> keys.put(tokenKey.getId(), toKey(tokenKey)));
+
+        return Collections.unmodifiableMap(keys);
+    }
+
+    private Mono<Map<String, PublicKey>> refresh(Tokens tokens) {
+        return Mono.defer(() -> {
+            Mono<Map<String, PublicKey>> current = this.refresh.get();
+            if (current != null) {
+                return current;
+            }
+
+            MonoProcessor<Map<String, PublicKey>> processor = MonoProcessor.create();
+            if (!this.refresh.compareAndSet(null, processor)) {
+                return refresh(tokens);
+            }
+
+            Instant now = this.clock.instant();
+            if (now.isBefore(this.lastRefresh.get().plus(MINIMUM_REFRESH_INTERVAL))) {
+                this.refresh.compareAndSet(processor, null);
+                processor.onNext(this.keys.get());
+                return processor;
+            }
+
+            this.lastRefresh.set(now);
+
+            requestTokenKeys(tokens)
+                .map(TokenKeyCache::toKeys)
+                .doOnSuccess(keys -> {
+                    this.keys.set(keys);
+                    this.refresh.compareAndSet(processor, null);
+                })
+                .doOnError(t -> this.refresh.compareAndSet(processor, null))
+                .subscribe(processor);
+
+            return processor;
+        });
+    }
+
+}
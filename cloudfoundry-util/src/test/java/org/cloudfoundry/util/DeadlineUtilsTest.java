@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.util;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class DeadlineUtilsTest {
+
+    @Test
+    public void min() {
+        Instant deadline = Instant.now().plus(Duration.ofHours(1));
+
+        assertEquals(Duration.ofMinutes(1), DeadlineUtils.min(Duration.ofMinutes(1), deadline));
+        assertTrue(DeadlineUtils.min(Duration.ofHours(2), deadline).compareTo(Duration.ofHours(1)) <= 0);
+    }
+
+    @Test
+    public void remainingPassed() {
+        assertEquals(Duration.ZERO, DeadlineUtils.remaining(Instant.now().minus(Duration.ofSeconds(1))));
+    }
+
+    @Test
+    public void timeout() {
+        assertEquals("test-value", Mono.just("test-value")
+            .compose(DeadlineUtils.timeout(Instant.now().plus(Duration.ofMinutes(1))))
+            .block());
+    }
+
+    @Test
+    public void timeoutPassed() {
+        Throwable error = Mono.just("test-value")
+            .compose(DeadlineUtils.<String>timeout(Instant.now().minus(Duration.ofSeconds(1))))
+            .map(value -> (Throwable) new IllegalStateException())
+            .otherwise(Mono::just)
+            .block();
+
+        assertTrue(error instanceof TimeoutException);
+    }
+
+}
@@ -17,6 +17,7 @@
 package org.cloudfoundry.uaa;
 
 import org.cloudfoundry.AbstractIntegrationTest;
+import org.cloudfoundry.reactor.util.HttpStatusException;
 import org.cloudfoundry.spring.client.SpringCloudFoundryClient;
 import org.cloudfoundry.uaa.tokens.AbstractTokenKey;
 import org.cloudfoundry.uaa.tokens.CheckTokenRequest;
@@ -43,7 +44,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.tuple.Tuple2;
-import reactor.io.netty.http.HttpException;
 
 import static org.cloudfoundry.util.tuple.TupleUtils.consumer;
 import static org.junit.Assert.assertEquals;
@@ -75,7 +75,7 @@ public final class TokensTest extends AbstractIntegrationTest {
                     .scope("scim.userids")
                     .build()))
             .subscribe(this.testSubscriber()
-                .assertError(HttpException.class, "HTTP request failed with code: 403"));
+                .assertError(HttpStatusException.class, "HTTP request failed with code: 403"));
     }
 
     @Ignore("TODO: use test authorizationCode")